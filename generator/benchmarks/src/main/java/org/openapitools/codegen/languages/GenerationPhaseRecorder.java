@@ -0,0 +1,131 @@
+package org.openapitools.codegen.languages;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.*;
+
+/**
+ * Records wall time, peak heap and written files for the sequential phases of one generation run,
+ * plus cumulative time spent in individual generator hooks.
+ *
+ * Phases are contiguous: {@link #begin(String)} closes the running phase and opens the next one.
+ * Peak heap is the sum of the peak usage of all heap memory pools, reset at every phase boundary.
+ */
+final class GenerationPhaseRecorder {
+
+    /**
+     * Measurements of one sequential phase.
+     */
+    record Phase(String name, long nanos, long peakHeapBytes, int files) {
+
+        double filesPerSecond() {
+            return nanos == 0 ? 0 : files * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    /**
+     * Cumulative measurements of one generator hook.
+     */
+    record Hook(String name, long nanos, int calls) {
+    }
+
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private final List<Phase> phases = new ArrayList<>();
+    private final Map<String, long[]> hooks = new LinkedHashMap<>();
+
+    private String currentPhase;
+    private long currentStart;
+    private int currentFiles;
+    private long overallPeakHeapBytes;
+
+    GenerationPhaseRecorder() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    /**
+     * Ends the running phase (if any) and starts a new one.
+     * Calling it again with the name of the running phase is a no-op.
+     *
+     * @param phase the name of the phase to start
+     */
+    void begin(String phase) {
+        if (phase.equals(currentPhase)) {
+            return;
+        }
+        end();
+        currentPhase = phase;
+        currentFiles = 0;
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        currentStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the running phase (if any).
+     */
+    void end() {
+        if (currentPhase == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - currentStart;
+        long peak = peakHeapBytes();
+        overallPeakHeapBytes = Math.max(overallPeakHeapBytes, peak);
+        phases.add(new Phase(currentPhase, nanos, peak, currentFiles));
+        currentPhase = null;
+    }
+
+    /**
+     * Returns true while the given phase is running.
+     *
+     * @param phase the phase name
+     * @return whether it is the running phase
+     */
+    boolean isRunning(String phase) {
+        return phase.equals(currentPhase);
+    }
+
+    /**
+     * Counts a file written during the running phase.
+     */
+    void fileWritten() {
+        currentFiles++;
+    }
+
+    /**
+     * Adds one call of a generator hook.
+     *
+     * @param hook the hook name
+     * @param startNanos the {@link System#nanoTime()} value taken when the hook was entered
+     */
+    void hookCompleted(String hook, long startNanos) {
+        long[] totals = hooks.computeIfAbsent(hook, k -> new long[2]);
+        totals[0] += System.nanoTime() - startNanos;
+        totals[1]++;
+    }
+
+    List<Phase> phases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    List<Hook> hooks() {
+        List<Hook> result = new ArrayList<>();
+        hooks.forEach((name, totals) -> result.add(new Hook(name, totals[0], (int) totals[1])));
+        return result;
+    }
+
+    long overallPeakHeapBytes() {
+        return overallPeakHeapBytes;
+    }
+
+    private long peakHeapBytes() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            total += pool.getPeakUsage().getUsed();
+        }
+        return total;
+    }
+}
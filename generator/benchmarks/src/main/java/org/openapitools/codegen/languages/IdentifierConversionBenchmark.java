@@ -0,0 +1,84 @@
+package org.openapitools.codegen.languages;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link DartAcdcIdentifierConverter} with the regex chains it replaced.
+ *
+ * Each benchmark converts the whole corpus in {@link NamingCorpus}; scores are reported per conversion.
+ * <pre>
+ * java -jar target/benchmarks.jar IdentifierConversionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class IdentifierConversionBenchmark {
+
+    private DartAcdcIdentifierConverter converter;
+    private String[] schemaNames;
+    private String[] enumValues;
+    private String[] pubNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schemaNames = NamingCorpus.SCHEMA_NAMES.clone();
+        enumValues = NamingCorpus.ENUM_VALUES.clone();
+        pubNames = NamingCorpus.PUB_NAMES.clone();
+        converter = new DartAcdcIdentifierConverter();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void underscoreRegex(Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(LegacyIdentifierConversions.underscore(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void underscoreSinglePass(Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(converter.underscore(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.ENUM_VALUE_COUNT)
+    public void camelCaseRegex(Blackhole blackhole) {
+        for (String value : enumValues) {
+            blackhole.consume(value.isEmpty() ? "" : LegacyIdentifierConversions.camelCase(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.ENUM_VALUE_COUNT)
+    public void camelCaseSinglePass(Blackhole blackhole) {
+        for (String value : enumValues) {
+            blackhole.consume(value.isEmpty() ? "" : converter.camelCase(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.PUB_NAME_COUNT)
+    public void packageNameRegex(Blackhole blackhole) {
+        for (String name : pubNames) {
+            blackhole.consume(LegacyIdentifierConversions.packageName(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.PUB_NAME_COUNT)
+    public void packageNameSinglePass(Blackhole blackhole) {
+        for (String name : pubNames) {
+            blackhole.consume(converter.packageName(name));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.servers.Server;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link DartAcdcGenerator} that reports phase boundaries and hook timings to a {@link GenerationPhaseRecorder}.
+ *
+ * DefaultGenerator drives the hooks in a fixed order, so they double as phase markers:
+ * preprocessOpenAPI opens and closes "preprocessOpenAPI", the first fromOperation opens "apis",
+ * postProcessSupportingFileData opens "supportingFiles" and postProcess closes the run.
+ */
+class InstrumentedDartAcdcGenerator extends DartAcdcGenerator {
+
+    static final String PHASE_CONFIGURE = "configure";
+    static final String PHASE_PREPROCESS = "preprocessOpenAPI";
+    static final String PHASE_MODELS = "models";
+    static final String PHASE_APIS = "apis";
+    static final String PHASE_SUPPORTING_FILES = "supportingFiles";
+
+    private final GenerationPhaseRecorder recorder;
+
+    InstrumentedDartAcdcGenerator(GenerationPhaseRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void preprocessOpenAPI(OpenAPI openAPI) {
+        recorder.begin(PHASE_PREPROCESS);
+        super.preprocessOpenAPI(openAPI);
+        recorder.begin(PHASE_MODELS);
+    }
+
+    @Override
+    public ModelsMap postProcessModels(ModelsMap objs) {
+        long start = System.nanoTime();
+        ModelsMap result = super.postProcessModels(objs);
+        recorder.hookCompleted("postProcessModels", start);
+        return result;
+    }
+
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        long start = System.nanoTime();
+        Map<String, ModelsMap> result = super.postProcessAllModels(objs);
+        recorder.hookCompleted("postProcessAllModels", start);
+        return result;
+    }
+
+    @Override
+    public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+        if (recorder.isRunning(PHASE_MODELS)) {
+            recorder.begin(PHASE_APIS);
+        }
+        long start = System.nanoTime();
+        CodegenOperation result = super.fromOperation(path, httpMethod, operation, servers);
+        recorder.hookCompleted("fromOperation", start);
+        return result;
+    }
+
+    @Override
+    public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        long start = System.nanoTime();
+        OperationsMap result = super.postProcessOperationsWithModels(objs, allModels);
+        recorder.hookCompleted("postProcessOperationsWithModels", start);
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+        recorder.begin(PHASE_SUPPORTING_FILES);
+        return super.postProcessSupportingFileData(objs);
+    }
+
+    @Override
+    public void postProcess() {
+        recorder.end();
+        super.postProcess();
+    }
+}
@@ -0,0 +1,152 @@
+package org.openapitools.codegen.languages;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for the naming hot paths of {@link DartAcdcGenerator}.
+ *
+ * These methods run once per schema, property, enum value and import during generation,
+ * so they dominate CPU time on large specs. Each benchmark converts the whole corpus in
+ * {@link NamingCorpus}; scores are reported per conversion.
+ *
+ * The generator caches model names, filenames and imports for the rest of a run, so the warm
+ * {@code toModelName}, {@code toModelFilename} and {@code toModelImport} benchmarks measure cache hits.
+ * Their {@code Cold} variants clear the caches before each invocation and measure the conversion itself.
+ *
+ * Run with the GC profiler to see allocation rates as well:
+ * <pre>
+ * java -jar target/benchmarks.jar NamingBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class NamingBenchmark {
+
+    private static final String PUB_NAME = "petstore_client";
+
+    /**
+     * A generator whose model name caches are empty at the start of each invocation.
+     */
+    @State(Scope.Thread)
+    public static class ColdGenerator {
+
+        DartAcdcGenerator generator;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generator = newGenerator();
+        }
+
+        @Setup(Level.Invocation)
+        public void clearCaches() {
+            generator.clearModelNameCaches();
+        }
+    }
+
+    private DartAcdcGenerator generator;
+    private String[] schemaNames;
+    private String[] enumValues;
+    private String[] pubNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schemaNames = NamingCorpus.SCHEMA_NAMES.clone();
+        enumValues = NamingCorpus.ENUM_VALUES.clone();
+        pubNames = NamingCorpus.PUB_NAMES.clone();
+        generator = newGenerator();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.ENUM_VALUE_COUNT)
+    public void toEnumVarName(Blackhole blackhole) {
+        for (String value : enumValues) {
+            blackhole.consume(generator.toEnumVarName(value, "String"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.ENUM_VALUE_COUNT)
+    public void toCamelCase(Blackhole blackhole) {
+        for (String value : enumValues) {
+            blackhole.consume(generator.toCamelCase(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void underscore(Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(generator.underscore(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.PUB_NAME_COUNT)
+    public void sanitizePubName(Blackhole blackhole) {
+        for (String name : pubNames) {
+            blackhole.consume(generator.sanitizePubName(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void toModelName(Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(generator.toModelName(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void toModelFilename(Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(generator.toModelFilename(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void toModelImport(Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(generator.toModelImport(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void toModelNameCold(ColdGenerator cold, Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(cold.generator.toModelName(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void toModelFilenameCold(ColdGenerator cold, Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(cold.generator.toModelFilename(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NamingCorpus.SCHEMA_NAME_COUNT)
+    public void toModelImportCold(ColdGenerator cold, Blackhole blackhole) {
+        for (String name : schemaNames) {
+            blackhole.consume(cold.generator.toModelImport(name));
+        }
+    }
+
+    private static DartAcdcGenerator newGenerator() {
+        DartAcdcGenerator generator = new DartAcdcGenerator();
+        generator.additionalProperties().put("pubName", PUB_NAME);
+        generator.processOpts();
+        return generator;
+    }
+}
@@ -0,0 +1,77 @@
+package org.openapitools.codegen.languages;
+
+/**
+ * Realistic inputs for the naming benchmarks.
+ *
+ * Schema names mix the shapes found in real specs: PascalCase, acronyms, snake/kebab case,
+ * dotted namespaces, inline model names produced by the inline model resolver and reserved words.
+ */
+final class NamingCorpus {
+
+    /**
+     * Number of {@link #SCHEMA_NAMES}, the operations per invocation of a benchmark converting all of them.
+     */
+    static final int SCHEMA_NAME_COUNT = 50;
+
+    /**
+     * Number of {@link #ENUM_VALUES}, the operations per invocation of a benchmark converting all of them.
+     */
+    static final int ENUM_VALUE_COUNT = 40;
+
+    /**
+     * Number of {@link #PUB_NAMES}, the operations per invocation of a benchmark converting all of them.
+     */
+    static final int PUB_NAME_COUNT = 12;
+
+    /**
+     * Schema names as they appear under components.schemas.
+     */
+    static final String[] SCHEMA_NAMES = sized(SCHEMA_NAME_COUNT,
+        "Pet", "Category", "Tag", "Order", "User", "ApiResponse",
+        "UserProfile", "UserAccountSettings", "PaymentMethod", "CreditCardPayment", "BankTransferPayment",
+        "HTTPResponse", "XMLHTTPRequest", "OAuth2TokenResponse", "APIKeyV2", "AWSS3BucketConfiguration",
+        "User2FA", "IPv4Address", "JSONWebKeySet", "SSOProviderConfig",
+        "user_account", "order_line_item", "shipping-address", "billing-contact-info",
+        "v1.ListPetsResponse", "v2.PetStatusHistoryEntry", "io.k8s.api.core.v1.PodSpec",
+        "createUser_request", "updatePetWithForm_request", "uploadFile_request", "inline_object_12",
+        "PaymentMethod_oneOf", "PaymentMethod_oneOf_1", "Notification_anyOf_2",
+        "ErrorDetails", "ValidationErrorItem", "PaginatedResultOfOrderSummary", "ProblemDetails",
+        "class", "enum", "Default", "Function", "List", "Map",
+        "A", "AValue", "ETag", "URLSigningKey", "GeoJSONFeatureCollection", "ISO3166CountryCode"
+    );
+
+    /**
+     * Enum values as they appear in enum arrays.
+     */
+    static final String[] ENUM_VALUES = sized(ENUM_VALUE_COUNT,
+        "active", "inactive", "pending", "ACTIVE", "Active",
+        "IN_PROGRESS", "PENDING_APPROVAL", "NOT_STARTED", "in-review", "on_hold",
+        "user.created", "user.deleted", "order.payment.succeeded", "application/json", "text/plain",
+        "1st-place", "2nd-place", "-1", "0", "42", "3.14", "123456789012345",
+        "en_US", "pt-BR", "zh-Hant-TW", "  spaced value  ", "UPPER lower Mixed",
+        "class", "default", "null", "true", "@#$", "", "a", "Z",
+        "x-rate-limit-remaining", "Content-Type", "CAD", "EUR", "USD"
+    );
+
+    /**
+     * Package names as users pass them through the pubName option.
+     */
+    static final String[] PUB_NAMES = sized(PUB_NAME_COUNT,
+        "petstore_client", "My API Client", "my-api-client", "Acme Platform API",
+        "billing-api (v2)", "123-service", "__internal__tools__", "My-API@2.0_Client!",
+        "OrdersService", "payments.gateway.client", "my-api-клиент", "@#$!"
+    );
+
+    private NamingCorpus() {
+    }
+
+    /**
+     * Checks that a corpus has the size its benchmarks report per invocation.
+     */
+    private static String[] sized(int count, String... values) {
+        if (values.length != count) {
+            throw new IllegalStateException("Expected " + count + " corpus entries, found " + values.length);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,204 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.Generator;
+import org.openapitools.codegen.api.TemplateProcessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * End-to-end scale benchmark: generates a dart-acdc client from synthetic documents of increasing size
+ * and reports wall time, peak heap and files/sec for every generator phase.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/benchmarks.jar org.openapitools.codegen.languages.ScaleBenchmark \
+ *   [--sizes 100,1000,10000,50000] [--allof 0.15] [--oneof 0.10] [--enum 0.15] \
+ *   [--multipart 0.05] [--cycles 0.05] [--seed 42] [--output dir] [--emit-spec dir] [--keep]
+ * </pre>
+ *
+ * Large sizes need a large heap (e.g. {@code -Xmx8g} for 50k schemas).
+ */
+public final class ScaleBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {100, 1_000, 10_000, 50_000};
+
+    private ScaleBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> arguments = parseArguments(args);
+
+        int[] sizes = arguments.containsKey("sizes")
+            ? Arrays.stream(arguments.get("sizes").split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+            : DEFAULT_SIZES;
+        SyntheticSpecBuilder.Options defaults = SyntheticSpecBuilder.Options.defaults(sizes[0]);
+        SyntheticSpecBuilder.Options options = new SyntheticSpecBuilder.Options(
+            sizes[0], sizes[0],
+            doubleArgument(arguments, "allof", defaults.allOfRatio()),
+            doubleArgument(arguments, "oneof", defaults.oneOfRatio()),
+            doubleArgument(arguments, "enum", defaults.enumRatio()),
+            doubleArgument(arguments, "multipart", defaults.multipartRatio()),
+            doubleArgument(arguments, "cycles", defaults.cycleRatio()),
+            Long.parseLong(arguments.getOrDefault("seed", String.valueOf(defaults.seed()))));
+
+        Path outputRoot = arguments.containsKey("output")
+            ? Path.of(arguments.get("output"))
+            : Files.createTempDirectory("dart-acdc-scale");
+        boolean keep = arguments.containsKey("keep") || arguments.containsKey("output");
+
+        for (int size : sizes) {
+            OpenAPI openAPI = new SyntheticSpecBuilder(options.withSize(size)).build();
+            if (arguments.containsKey("emit-spec")) {
+                Path spec = Path.of(arguments.get("emit-spec"), "synthetic-" + size + ".yaml");
+                Files.createDirectories(spec.getParent());
+                Files.writeString(spec, Yaml.pretty(openAPI));
+            }
+
+            Path outputDir = outputRoot.resolve("synthetic-" + size);
+            GenerationPhaseRecorder recorder = run(openAPI, outputDir);
+            report(size, recorder);
+
+            if (!keep) {
+                deleteRecursively(outputDir);
+            }
+        }
+    }
+
+    /**
+     * Generates a client for the given document, recording every phase.
+     *
+     * @param openAPI the document
+     * @param outputDir the output directory
+     * @return the recorder holding the measurements
+     */
+    static GenerationPhaseRecorder run(OpenAPI openAPI, Path outputDir) {
+        GenerationPhaseRecorder recorder = new GenerationPhaseRecorder();
+        InstrumentedDartAcdcGenerator config = new InstrumentedDartAcdcGenerator(recorder);
+        config.setOutputDir(outputDir.toString());
+        config.additionalProperties().put("pubName", "synthetic_client");
+
+        DefaultGenerator generator = new DefaultGenerator() {
+            @Override
+            public Generator opts(ClientOptInput opts) {
+                super.opts(opts);
+                templateProcessor = new CountingTemplateProcessor(templateProcessor, recorder);
+                return this;
+            }
+        };
+        generator.setGenerateMetadata(false);
+        generator.opts(new ClientOptInput().openAPI(openAPI).config(config));
+
+        System.gc();
+        recorder.begin(InstrumentedDartAcdcGenerator.PHASE_CONFIGURE);
+        generator.generate();
+        recorder.end();
+        return recorder;
+    }
+
+    private static void report(int size, GenerationPhaseRecorder recorder) {
+        System.out.printf("%n== %,d schemas / %,d operations ==%n", size, size);
+        System.out.printf("%-34s %12s %14s %8s %12s%n", "phase", "wall (ms)", "peak heap (MB)", "files", "files/sec");
+
+        long totalNanos = 0;
+        int totalFiles = 0;
+        for (GenerationPhaseRecorder.Phase phase : recorder.phases()) {
+            System.out.printf("%-34s %12.1f %14.1f %8d %12.1f%n", phase.name(), phase.nanos() / 1e6,
+                phase.peakHeapBytes() / (1024.0 * 1024.0), phase.files(), phase.filesPerSecond());
+            totalNanos += phase.nanos();
+            totalFiles += phase.files();
+        }
+        System.out.printf("%-34s %12.1f %14.1f %8d %12.1f%n", "total", totalNanos / 1e6,
+            recorder.overallPeakHeapBytes() / (1024.0 * 1024.0), totalFiles,
+            totalNanos == 0 ? 0 : totalFiles * 1e9 / totalNanos);
+
+        for (GenerationPhaseRecorder.Hook hook : recorder.hooks()) {
+            System.out.printf("  hook %-29s %12.1f %14s %8d calls%n", hook.name(), hook.nanos() / 1e6, "", hook.calls());
+        }
+    }
+
+    private static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                arguments.put(name, args[++i]);
+            } else {
+                arguments.put(name, "true");
+            }
+        }
+        return arguments;
+    }
+
+    private static double doubleArgument(Map<String, String> arguments, String name, double defaultValue) {
+        return arguments.containsKey(name) ? Double.parseDouble(arguments.get(name)) : defaultValue;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (var paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Template processor decorator that counts written files towards the running phase.
+     */
+    private static final class CountingTemplateProcessor implements TemplateProcessor {
+
+        private final TemplateProcessor delegate;
+        private final GenerationPhaseRecorder recorder;
+
+        CountingTemplateProcessor(TemplateProcessor delegate, GenerationPhaseRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public File write(Map<String, Object> data, String template, File target) throws IOException {
+            File written = delegate.write(data, template, target);
+            if (written != null) {
+                recorder.fileWritten();
+            }
+            return written;
+        }
+
+        @Override
+        public File writeToFile(String filename, byte[] contents) throws IOException {
+            File written = delegate.writeToFile(filename, contents);
+            if (written != null) {
+                recorder.fileWritten();
+            }
+            return written;
+        }
+
+        @Override
+        public void ignore(Path path, String context) {
+            delegate.ignore(path, context);
+        }
+
+        @Override
+        public void skip(Path path, String context) {
+            delegate.skip(path, context);
+        }
+
+        @Override
+        public void error(Path path, String context) {
+            delegate.error(path, context);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.*;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import java.util.*;
+
+/**
+ * Builds synthetic OpenAPI documents of arbitrary size for the scale benchmark.
+ *
+ * Every schema is one of: plain object, enum, allOf (extending an earlier object),
+ * oneOf with discriminator (over earlier objects) or a cyclic object (mutually referencing
+ * the previous cyclic object). Operations alternate between GET and POST, with a share of
+ * POSTs taking multipart/form-data bodies, and are grouped into tags of {@value #OPERATIONS_PER_TAG}.
+ *
+ * Generation is driven by a seeded {@link Random}, so the same options always produce the same document.
+ */
+final class SyntheticSpecBuilder {
+
+    private static final String REF_PREFIX = "#/components/schemas/";
+    private static final int OPERATIONS_PER_TAG = 50;
+    private static final String[] PROPERTY_TYPES = {"string", "integer", "number", "boolean", "date-time", "uuid"};
+
+    /**
+     * Shape of the synthetic document. Ratios are fractions of the schema (or operation) count.
+     */
+    record Options(int schemaCount, int operationCount, double allOfRatio, double oneOfRatio,
+                   double enumRatio, double multipartRatio, double cycleRatio, long seed) {
+
+        Options {
+            if (schemaCount < 1 || operationCount < 0) {
+                throw new IllegalArgumentException("schemaCount must be positive and operationCount non-negative");
+            }
+            if (allOfRatio + oneOfRatio + enumRatio + cycleRatio > 1.0) {
+                throw new IllegalArgumentException("allOf, oneOf, enum and cycle ratios must add up to at most 1.0");
+            }
+        }
+
+        /**
+         * Options with the default mix and as many operations as schemas.
+         *
+         * @param size the number of schemas and operations
+         * @return the options
+         */
+        static Options defaults(int size) {
+            return new Options(size, size, 0.15, 0.10, 0.15, 0.05, 0.05, 42L);
+        }
+
+        Options withSize(int size) {
+            return new Options(size, size, allOfRatio, oneOfRatio, enumRatio, multipartRatio, cycleRatio, seed);
+        }
+    }
+
+    private final Options options;
+    private final Random random;
+    private final Map<String, Schema> schemas = new LinkedHashMap<>();
+    private final List<String> objectNames = new ArrayList<>();
+    private final List<String> enumNames = new ArrayList<>();
+    private String previousCyclicName;
+
+    SyntheticSpecBuilder(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    /**
+     * Builds the document.
+     *
+     * @return a new OpenAPI document
+     */
+    OpenAPI build() {
+        for (int i = 0; i < options.schemaCount(); i++) {
+            addSchema(i);
+        }
+
+        Paths paths = new Paths();
+        for (int i = 0; i < options.operationCount(); i++) {
+            paths.addPathItem("/resources" + i + "/{id}", createPathItem(i));
+        }
+
+        return new OpenAPI()
+            .info(new Info().title("Synthetic API").version("1.0.0")
+                .description("Synthetic document with " + options.schemaCount() + " schemas"))
+            .components(new Components().schemas(schemas))
+            .paths(paths);
+    }
+
+    // ========== Schemas ==========
+
+    private void addSchema(int index) {
+        double roll = random.nextDouble();
+        double threshold = options.enumRatio();
+        if (roll < threshold) {
+            addEnum(index);
+            return;
+        }
+        threshold += options.allOfRatio();
+        if (roll < threshold && !objectNames.isEmpty()) {
+            addAllOf(index);
+            return;
+        }
+        threshold += options.oneOfRatio();
+        if (roll < threshold && objectNames.size() >= 2) {
+            addOneOf(index);
+            return;
+        }
+        threshold += options.cycleRatio();
+        if (roll < threshold) {
+            addCyclic(index);
+            return;
+        }
+        addObject("Resource" + index);
+    }
+
+    private void addEnum(int index) {
+        String name = "Status" + index;
+        StringSchema schema = new StringSchema();
+        int valueCount = 3 + random.nextInt(6);
+        for (int v = 0; v < valueCount; v++) {
+            schema.addEnumItem(v % 3 == 0 ? "VALUE_" + v : "value-" + v);
+        }
+        schemas.put(name, schema);
+        enumNames.add(name);
+    }
+
+    private void addAllOf(int index) {
+        String name = "Extended" + index;
+        ObjectSchema extension = new ObjectSchema();
+        extension.addProperty("extensionId", new StringSchema());
+        extension.addProperty("extensionCount", new IntegerSchema());
+
+        ComposedSchema schema = new ComposedSchema();
+        schema.addAllOfItem(ref(pick(objectNames)));
+        schema.addAllOfItem(extension);
+        schemas.put(name, schema);
+        objectNames.add(name);
+    }
+
+    private void addOneOf(int index) {
+        String name = "Variant" + index;
+        ComposedSchema schema = new ComposedSchema();
+        Discriminator discriminator = new Discriminator().propertyName("kind");
+        Set<String> members = new LinkedHashSet<>();
+        int memberCount = 2 + random.nextInt(2);
+        for (int m = 0; m < memberCount; m++) {
+            members.add(pick(objectNames));
+        }
+        for (String member : members) {
+            schema.addOneOfItem(ref(member));
+            discriminator.mapping(member.toLowerCase(Locale.ROOT), REF_PREFIX + member);
+        }
+        schema.discriminator(discriminator);
+        schemas.put(name, schema);
+    }
+
+    private void addCyclic(int index) {
+        String name = "Node" + index;
+        ObjectSchema schema = addObject(name);
+        if (previousCyclicName != null) {
+            schema.addProperty("previous", ref(previousCyclicName));
+            schemas.get(previousCyclicName).addProperty("next", ref(name));
+        } else {
+            schema.addProperty("parent", ref(name));
+        }
+        previousCyclicName = name;
+    }
+
+    private ObjectSchema addObject(String name) {
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperty("id", new StringSchema());
+        schema.addRequiredItem("id");
+
+        int propertyCount = 3 + random.nextInt(6);
+        for (int p = 0; p < propertyCount; p++) {
+            schema.addProperty("field" + p, primitive(PROPERTY_TYPES[random.nextInt(PROPERTY_TYPES.length)]));
+        }
+        if (!enumNames.isEmpty()) {
+            schema.addProperty("status", ref(pick(enumNames)));
+        }
+        if (!objectNames.isEmpty() && random.nextBoolean()) {
+            schema.addProperty("items", new ArraySchema().items(ref(pick(objectNames))));
+        }
+        if (random.nextInt(4) == 0) {
+            schema.addProperty("attributes", new MapSchema().additionalProperties(new StringSchema()));
+        }
+
+        schemas.put(name, schema);
+        objectNames.add(name);
+        return schema;
+    }
+
+    // ========== Operations ==========
+
+    private PathItem createPathItem(int index) {
+        String tag = "Group" + (index / OPERATIONS_PER_TAG);
+        String responseModel = schemaNameFor(index);
+
+        Operation operation = new Operation()
+            .addTagsItem(tag)
+            .addParametersItem(new Parameter().name("id").in("path").required(true).schema(new StringSchema()));
+
+        if (index % 2 == 0) {
+            operation.operationId("getResource" + index)
+                .addParametersItem(new Parameter().name("limit").in("query").schema(new IntegerSchema()))
+                .addParametersItem(new Parameter().name("X-Request-Id").in("header").schema(new StringSchema()))
+                .responses(responses("200", responseModel));
+            return new PathItem().get(operation);
+        }
+
+        operation.operationId("createResource" + index).responses(responses("201", responseModel));
+        if (random.nextDouble() < options.multipartRatio()) {
+            ObjectSchema form = new ObjectSchema();
+            form.addProperty("file", new BinarySchema());
+            form.addProperty("description", new StringSchema());
+            operation.requestBody(new RequestBody().required(true)
+                .content(new Content().addMediaType("multipart/form-data", new MediaType().schema(form))));
+        } else {
+            operation.requestBody(new RequestBody().required(true)
+                .content(new Content().addMediaType("application/json", new MediaType().schema(ref(responseModel)))));
+        }
+        return new PathItem().post(operation);
+    }
+
+    private String schemaNameFor(int index) {
+        if (!objectNames.isEmpty()) {
+            return objectNames.get(index % objectNames.size());
+        }
+        return schemas.keySet().iterator().next();
+    }
+
+    private static ApiResponses responses(String code, String model) {
+        return new ApiResponses().addApiResponse(code, new ApiResponse().description("OK")
+            .content(new Content().addMediaType("application/json", new MediaType().schema(ref(model)))));
+    }
+
+    // ========== Helpers ==========
+
+    private String pick(List<String> names) {
+        return names.get(random.nextInt(names.size()));
+    }
+
+    private static Schema<?> ref(String name) {
+        return new Schema<>().$ref(REF_PREFIX + name);
+    }
+
+    private static Schema<?> primitive(String type) {
+        switch (type) {
+            case "integer":
+                return new IntegerSchema();
+            case "number":
+                return new NumberSchema();
+            case "boolean":
+                return new BooleanSchema();
+            case "date-time":
+                return new DateTimeSchema();
+            case "uuid":
+                return new UUIDSchema();
+            default:
+                return new StringSchema();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates several configurations concurrently in one JVM, for example every sample config of a release.
+ *
+ * Each job is a regular generation with its own {@link DartAcdcGenerator} and {@link DartAcdcDefaultGenerator},
+ * so jobs share no generator state; they only share the loaded classes and the compiled templates of
+ * {@link DartAcdcTemplateCache#shared()}, so a template is compiled once for the whole batch. A failing job does not stop the others.
+ */
+final class DartAcdcBatchGeneration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcBatchGeneration.class);
+
+    /**
+     * A configuration to generate.
+     *
+     * @param name the name reported for the job, such as its config file
+     * @param configurator the configuration
+     * @param snapshot the snapshot of its spec, or null to parse the spec
+     */
+    record Job(String name, CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot) {
+    }
+
+    /**
+     * The outcome of a job.
+     *
+     * @param name the name of the job
+     * @param files the files generated, empty if the job failed
+     * @param written the number of files written
+     * @param unchanged the number of files left untouched
+     * @param deleted the number of stale files deleted
+     * @param failure the error that stopped the job, or null if it succeeded
+     */
+    record JobResult(String name, List<File> files, int written, int unchanged, int deleted, RuntimeException failure) {
+    }
+
+    private DartAcdcBatchGeneration() {
+    }
+
+    /**
+     * Generates the jobs.
+     *
+     * @param jobs the jobs
+     * @param threads the number of jobs generated at the same time
+     * @return the results, in job order
+     */
+    static List<JobResult> generate(List<Job> jobs, int threads) {
+        List<Callable<JobResult>> tasks = new ArrayList<>();
+        for (Job job : jobs) {
+            tasks.add(() -> generate(job));
+        }
+        LOGGER.info("Generating {} configurations on {} threads", jobs.size(), threads);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, jobs.size())), runnable -> {
+            Thread thread = new Thread(runnable, "dart-acdc-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<JobResult> results = new ArrayList<>();
+            for (Future<JobResult> result : executor.invokeAll(tasks)) {
+                results.add(result.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating configurations", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not generate configurations", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates one job on the calling thread.
+     *
+     * @param job the job
+     * @return its result
+     */
+    static JobResult generate(Job job) {
+        try {
+            // Worker threads inherit the caller's global settings object itself, so start from a fresh one
+            GlobalSettings.reset();
+            ClientOptInput input = DartAcdcSpecSnapshot.toClientOptInput(job.configurator(), job.snapshot());
+            if (DartAcdcShardedGeneration.isEnabled(DartAcdcClientOptInput.config(input))) {
+                // The batch already keeps every thread busy, so the packages are generated one after the other
+                List<File> files = new ArrayList<>();
+                int written = 0;
+                int unchanged = 0;
+                int deleted = 0;
+                for (DartAcdcShardedGeneration.GeneratedPackage generated
+                        : DartAcdcShardedGeneration.generate(job.configurator(), job.snapshot(), input, 1)) {
+                    files.addAll(generated.files());
+                    written += generated.written();
+                    unchanged += generated.unchanged();
+                    deleted += generated.deleted();
+                }
+                return new JobResult(job.name(), files, written, unchanged, deleted, null);
+            }
+            DartAcdcDefaultGenerator driver = new DartAcdcDefaultGenerator();
+            List<File> files = driver.opts(input).generate();
+            return new JobResult(job.name(), files,
+                driver.getWrittenCount(), driver.getUnchangedCount(), driver.getDeletedCount(), null);
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not generate {}", job.name(), e);
+            return new JobResult(job.name(), List.of(), 0, 0, 0, e);
+        } finally {
+            GlobalSettings.reset();
+        }
+    }
+}
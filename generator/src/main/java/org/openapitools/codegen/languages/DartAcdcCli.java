@@ -0,0 +1,427 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Command line entry point for dart-acdc generation with {@link DartAcdcDefaultGenerator}.
+ *
+ * Accepts the same config files as {@code openapi-generator generate -c}, or the spec, output
+ * directory and additional properties directly:
+ * <pre>
+ * java -cp "dart-acdc-generator.jar:openapi-generator-cli.jar" org.openapitools.codegen.languages.DartAcdcCli \
+ *   -c bin/configs/dart-acdc-petstore.yaml --incremental
+ * </pre>
+ * With several config files, they are generated concurrently as a batch (see {@link DartAcdcBatchGeneration}),
+ * each with the other options. With {@code --serve <port>}, it runs the local generation service instead
+ * (see {@link DartAcdcGenerationService}).
+ */
+public final class DartAcdcCli {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Usage: DartAcdcCli [options]",
+        "  -c, --config <file>                  generator config file (YAML or JSON); repeat to generate a batch",
+        "  -i, --input-spec <spec>              OpenAPI spec (file or URL)",
+        "  -o, --output <dir>                   output directory",
+        "  -p, --additional-properties <k=v,..> additional properties",
+        "  -t, --template-dir <dir>             custom template directory",
+        "      --incremental                    only re-render files whose inputs changed",
+        "      --parallel                       render model and API files in parallel",
+        "      --parallel-threads <n>           render threads (default: available processors)",
+        "      --remove-stale-files             delete files the previous run generated and this one does not",
+        "      --staged-output                  generate into a staging directory and swap it into place when done",
+        "      --prune-unused-models            only generate models reachable from an operation",
+        "      --deduplicate-models             merge structurally identical schemas into one model",
+        "      --low-memory                     release each model once rendered, to bound heap use on large specs",
+        "      --deterministic                  make the output independent of spec map order",
+        "      --large-enum-threshold <n>       generate enums with more than <n> values as sorted value tables",
+        "      --shard-by-tag                   generate one package per tag plus a core package of shared models",
+        "      --watch                          regenerate incrementally whenever the spec or templates change",
+        "      --spec-snapshot                  keep a snapshot of the parsed spec in the output directory, and load it",
+        "                                       instead of parsing the spec while it is unchanged",
+        "      --spec-snapshot-dir <dir>        keep spec snapshots in <dir> instead of the output directory",
+        "      --metrics                        write generation-metrics.json to the output directory",
+        "      --metrics-file <file>            write the generation metrics report to <file>",
+        "      --serve <port>                   run the local generation service on <port> instead (POST /generate)",
+        "      --serve-jobs <n>                 jobs the service generates at the same time (default: available processors)",
+        "  -h, --help                           show this help");
+
+    private DartAcdcCli() {
+    }
+
+    public static void main(String[] args) {
+        int status = run(args, System.out, System.err);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs the CLI.
+     *
+     * @param args command line arguments
+     * @param out standard output
+     * @param err error output
+     * @return the exit status
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        if (List.of(args).contains("--serve")) {
+            return serve(args, out, err);
+        }
+        List<Generation> generations;
+        try {
+            generations = parseBatchArguments(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+        if (generations == null) {
+            out.println(USAGE);
+            return 0;
+        }
+        if (generations.size() > 1) {
+            return batch(generations, out, err);
+        }
+
+        CodegenConfigurator configurator = generations.get(0).configurator();
+        DartAcdcSpecSnapshot snapshot = generations.get(0).snapshot();
+        ClientOptInput input = DartAcdcSpecSnapshot.toClientOptInput(configurator, snapshot);
+        generate(configurator, snapshot, input, out);
+        if (DartAcdcWatchMode.isEnabled(DartAcdcClientOptInput.config(input))) {
+            return watch(configurator, snapshot, input, out, err);
+        }
+        return 0;
+    }
+
+    /**
+     * Generates several configurations concurrently.
+     */
+    private static int batch(List<Generation> generations, PrintStream out, PrintStream err) {
+        List<DartAcdcBatchGeneration.Job> jobs = new ArrayList<>();
+        for (Generation generation : generations) {
+            jobs.add(new DartAcdcBatchGeneration.Job(generation.configFile(), generation.configurator(),
+                generation.snapshot()));
+        }
+
+        int status = 0;
+        for (DartAcdcBatchGeneration.JobResult result : DartAcdcBatchGeneration.generate(
+                jobs, Runtime.getRuntime().availableProcessors())) {
+            if (result.failure() != null) {
+                err.println(result.name() + ": failed: " + result.failure().getMessage());
+                status = 1;
+            } else {
+                out.println(result.name() + ": generated " + result.files().size() + " files ("
+                    + result.written() + " written, " + result.unchanged() + " unchanged, "
+                    + result.deleted() + " deleted)");
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Runs the generation service, until interrupted.
+     */
+    private static int serve(String[] args, PrintStream out, PrintStream err) {
+        int port = 0;
+        int jobs = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--serve" -> port = Integer.parseInt(value(args, ++i));
+                    case "--serve-jobs" -> jobs = Integer.parseInt(value(args, ++i));
+                    default -> throw new IllegalArgumentException("--serve only takes --serve-jobs, not " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        try (DartAcdcGenerationService service = new DartAcdcGenerationService(port, jobs)) {
+            out.println("Serving http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + service.port()
+                + DartAcdcGenerationService.PATH + " with " + jobs + " concurrent jobs");
+            new CountDownLatch(1).await();
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (IOException e) {
+            err.println("Could not start the generation service: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Regenerates on every change to the spec or the templates, until interrupted.
+     */
+    private static int watch(CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot, ClientOptInput input,
+                             PrintStream out, PrintStream err) {
+        Path spec = Path.of(DartAcdcClientOptInput.config(input).getInputSpec());
+        if (!spec.toFile().isFile()) {
+            err.println("Watch mode requires a local spec file: " + spec);
+            return 2;
+        }
+        Path templateDir = DartAcdcWatchMode.templateDir(DartAcdcClientOptInput.config(input));
+        try (DartAcdcWatchMode watchMode = new DartAcdcWatchMode(spec, templateDir,
+                () -> generate(configurator, snapshot, DartAcdcSpecSnapshot.toClientOptInput(configurator, snapshot), out),
+                out, err)) {
+            out.println("Watching " + spec + (templateDir == null ? "" : " and " + templateDir) + " for changes");
+            watchMode.run();
+            return 0;
+        } catch (IOException e) {
+            err.println("Could not watch " + spec + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs one generation and prints its counts.
+     */
+    private static void generate(CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot, ClientOptInput input,
+                                 PrintStream out) {
+        if (DartAcdcShardedGeneration.isEnabled(DartAcdcClientOptInput.config(input))) {
+            for (DartAcdcShardedGeneration.GeneratedPackage generated : DartAcdcShardedGeneration.generate(
+                configurator, snapshot, input, Runtime.getRuntime().availableProcessors())) {
+                out.println(generated.pubName() + ": generated " + generated.files().size() + " files ("
+                    + generated.written() + " written, " + generated.unchanged() + " unchanged, "
+                    + generated.deleted() + " deleted)");
+            }
+            return;
+        }
+
+        DartAcdcDefaultGenerator generator = new DartAcdcDefaultGenerator();
+        List<File> files = generator.opts(input).generate();
+        out.println("Generated " + files.size() + " files (" + generator.getWrittenCount() + " written, "
+            + generator.getUnchangedCount() + " unchanged, " + generator.getDeletedCount() + " deleted)");
+        if (generator.getPrunedModelCount() > 0) {
+            out.println("Pruned " + generator.getPrunedModelCount() + " schemas not used by any operation");
+        }
+        if (generator.getDeduplicatedModelCount() > 0) {
+            out.println("Merged " + generator.getDeduplicatedModelCount() + " schemas into an identical schema");
+        }
+    }
+
+    /**
+     * Builds a configurator from the command line arguments.
+     *
+     * @param args command line arguments
+     * @return the configurator, or null if help was requested
+     * @throws IllegalArgumentException on invalid arguments, or if several config files are given
+     */
+    static CodegenConfigurator parseArguments(String[] args) {
+        List<Generation> generations = parseBatchArguments(args);
+        if (generations != null && generations.size() > 1) {
+            throw new IllegalArgumentException("Only one --config is supported here");
+        }
+        return generations == null ? null : generations.get(0).configurator();
+    }
+
+    /**
+     * One configuration of the command line.
+     *
+     * @param configFile its config file, or null when given by options only
+     * @param configurator the configurator, with every option applied
+     * @param snapshot its spec snapshot, or null if snapshots are not enabled
+     */
+    record Generation(String configFile, CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot) {
+    }
+
+    /**
+     * Builds a configurator per config file from the command line arguments; every other option
+     * applies to each of them.
+     *
+     * @param args command line arguments
+     * @return the configurations, in config file order (a single one without config file), or null if help was requested
+     * @throws IllegalArgumentException on invalid arguments, or if a config file cannot be read
+     */
+    static List<Generation> parseBatchArguments(String[] args) {
+        List<String> configFiles = new ArrayList<>();
+        String inputSpec = null;
+        String output = null;
+        String additionalProperties = null;
+        String templateDir = null;
+        boolean incremental = false;
+        boolean parallel = false;
+        String parallelThreads = null;
+        boolean removeStaleFiles = false;
+        boolean stagedOutput = false;
+        boolean pruneUnusedModels = false;
+        boolean deduplicateModels = false;
+        boolean shardByTag = false;
+        boolean lowMemory = false;
+        boolean deterministic = false;
+        String largeEnumThreshold = null;
+        boolean watch = false;
+        boolean specSnapshot = false;
+        String specSnapshotDir = null;
+        Object metrics = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-c", "--config" -> configFiles.add(value(args, ++i));
+                case "-i", "--input-spec" -> inputSpec = value(args, ++i);
+                case "-o", "--output" -> output = value(args, ++i);
+                case "-p", "--additional-properties" -> additionalProperties = value(args, ++i);
+                case "-t", "--template-dir" -> templateDir = value(args, ++i);
+                case "--incremental" -> incremental = true;
+                case "--parallel" -> parallel = true;
+                case "--remove-stale-files" -> removeStaleFiles = true;
+                case "--staged-output" -> stagedOutput = true;
+                case "--prune-unused-models" -> pruneUnusedModels = true;
+                case "--deduplicate-models" -> deduplicateModels = true;
+                case "--shard-by-tag" -> shardByTag = true;
+                case "--low-memory" -> lowMemory = true;
+                case "--deterministic" -> deterministic = true;
+                case "--large-enum-threshold" -> largeEnumThreshold = value(args, ++i);
+                case "--watch" -> watch = true;
+                case "--spec-snapshot" -> specSnapshot = true;
+                case "--spec-snapshot-dir" -> specSnapshotDir = value(args, ++i);
+                case "--metrics" -> metrics = true;
+                case "--metrics-file" -> metrics = value(args, ++i);
+                case "--parallel-threads" -> {
+                    parallel = true;
+                    parallelThreads = value(args, ++i);
+                }
+                case "-h", "--help" -> {
+                    return null;
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (configFiles.isEmpty() && inputSpec == null) {
+            throw new IllegalArgumentException("Either --config or --input-spec is required");
+        }
+        if (configFiles.size() > 1 && (output != null || metrics instanceof String || watch)) {
+            throw new IllegalArgumentException("--output, --metrics-file and --watch take a single --config");
+        }
+
+        List<Generation> generations = new ArrayList<>();
+        for (String configFile : configFiles.isEmpty() ? Collections.singletonList((String) null) : configFiles) {
+            CodegenConfigurator configurator;
+            if (configFile != null) {
+                configurator = CodegenConfigurator.fromFile(configFile);
+                if (configurator == null) {
+                    throw new IllegalArgumentException("Could not read config file: " + configFile);
+                }
+            } else {
+                configurator = new CodegenConfigurator();
+            }
+            configurator.setGeneratorName("dart-acdc");
+
+            if (inputSpec != null) {
+                configurator.setInputSpec(inputSpec);
+            }
+            if (output != null) {
+                configurator.setOutputDir(output);
+            }
+            if (templateDir != null) {
+                configurator.setTemplateDir(templateDir);
+            }
+            if (additionalProperties != null) {
+                for (String pair : additionalProperties.split(",")) {
+                    int separator = pair.indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("Invalid additional property: " + pair);
+                    }
+                    configurator.addAdditionalProperty(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+                }
+            }
+            if (incremental || watch) {
+                configurator.addAdditionalProperty(DartAcdcDefaultGenerator.INCREMENTAL, true);
+            }
+            if (parallel) {
+                configurator.addAdditionalProperty(DartAcdcDefaultGenerator.PARALLEL, true);
+            }
+            if (parallelThreads != null) {
+                configurator.addAdditionalProperty(DartAcdcDefaultGenerator.PARALLEL_THREADS, parallelThreads);
+            }
+            if (removeStaleFiles) {
+                configurator.addAdditionalProperty(DartAcdcDefaultGenerator.REMOVE_STALE_FILES, true);
+            }
+            if (stagedOutput) {
+                configurator.addAdditionalProperty(DartAcdcDefaultGenerator.STAGED_OUTPUT, true);
+            }
+            if (pruneUnusedModels) {
+                configurator.addAdditionalProperty(DartAcdcGenerator.PRUNE_UNUSED_MODELS, true);
+            }
+            if (deduplicateModels) {
+                configurator.addAdditionalProperty(DartAcdcGenerator.DEDUPLICATE_MODELS, true);
+            }
+            if (shardByTag) {
+                configurator.addAdditionalProperty(DartAcdcShardedGeneration.SHARD_BY_TAG, true);
+            }
+            if (lowMemory) {
+                configurator.addAdditionalProperty(DartAcdcGenerator.LOW_MEMORY, true);
+            }
+            if (deterministic) {
+                configurator.addAdditionalProperty(DartAcdcGenerator.DETERMINISTIC_OUTPUT, true);
+            }
+            if (largeEnumThreshold != null) {
+                configurator.addAdditionalProperty(DartAcdcGenerator.LARGE_ENUM_THRESHOLD, largeEnumThreshold);
+            }
+            if (watch) {
+                configurator.addAdditionalProperty(DartAcdcWatchMode.WATCH, true);
+            }
+            if (metrics != null) {
+                configurator.addAdditionalProperty(DartAcdcGenerator.GENERATION_METRICS, metrics);
+            }
+            DartAcdcSpecSnapshot snapshot = specSnapshot || specSnapshotDir != null
+                ? specSnapshot(configFile, inputSpec, specSnapshotDir != null ? specSnapshotDir : output)
+                : null;
+            generations.add(new Generation(configFile, configurator, snapshot));
+        }
+        return generations;
+    }
+
+    /**
+     * Returns the spec snapshot of a configuration, read from the input spec and snapshot directory options or
+     * its config file without parsing the spec.
+     *
+     * @return the snapshot, or null without input spec
+     */
+    private static DartAcdcSpecSnapshot specSnapshot(String configFile, String inputSpec, String dir) {
+        String spec = inputSpec != null ? inputSpec : configSetting(configFile, "inputSpec");
+        String snapshotDir = dir != null ? dir : configSetting(configFile, "outputDir");
+        return spec == null ? null : new DartAcdcSpecSnapshot(spec, Path.of(snapshotDir == null ? "." : snapshotDir));
+    }
+
+    /**
+     * Returns a top-level setting of a config file, or null if it is not set.
+     */
+    private static String configSetting(String configFile, String name) {
+        if (configFile == null) {
+            return null;
+        }
+        ObjectMapper mapper = configFile.endsWith(".json") ? Json.mapper() : Yaml.mapper();
+        try {
+            JsonNode value = mapper.readTree(new File(configFile)).path(name);
+            return value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read config file: " + configFile, e);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
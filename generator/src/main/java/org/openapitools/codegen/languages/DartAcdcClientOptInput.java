@@ -0,0 +1,40 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+
+/**
+ * Reads the configuration and the document of a {@link ClientOptInput}.
+ *
+ * The getters are deprecated for removal from the public API, but OpenAPI Generator 7.10 has no replacement
+ * for drivers that prepare the input with a {@link org.openapitools.codegen.config.CodegenConfigurator} and
+ * inspect it before generating, so every dart-acdc driver reads them through here.
+ */
+final class DartAcdcClientOptInput {
+
+    private DartAcdcClientOptInput() {
+    }
+
+    /**
+     * Returns the generator configuration of an input.
+     *
+     * @param input the input
+     * @return the generator configuration
+     */
+    @SuppressWarnings("deprecation") // No replacement getter in OpenAPI Generator 7.10
+    static CodegenConfig config(ClientOptInput input) {
+        return input.getConfig();
+    }
+
+    /**
+     * Returns the parsed document of an input.
+     *
+     * @param input the input
+     * @return the OpenAPI document
+     */
+    @SuppressWarnings("deprecation") // No replacement getter in OpenAPI Generator 7.10
+    static OpenAPI openAPI(ClientOptInput input) {
+        return input.getOpenAPI();
+    }
+}
@@ -0,0 +1,520 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.Generator;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.templating.CommonTemplateContentLocator;
+import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Generator driver for dart-acdc.
+ *
+ * Behaves like {@link DefaultGenerator} and adds the features that need control over file output:
+ * - Incremental generation ({@value #INCREMENTAL}=true): model and API files whose inputs did not change
+ *   since the previous run are not rendered again; see {@link DartAcdcIncrementalGeneration}.
+ * - Parallel rendering ({@value #PARALLEL}=true): model and API files are rendered on
+ *   {@value #PARALLEL_THREADS} threads (default: available processors); output is identical to sequential mode.
+ * - Mustache templates are compiled once per JVM and reused while their content is unchanged; see
+ *   {@link DartAcdcTemplateCache}.
+ * - Low-memory generation ({@value DartAcdcGenerator#LOW_MEMORY}=true): models are released once rendered;
+ *   see {@link DartAcdcLowMemoryMode}.
+ * - Files whose content is unchanged are not rewritten. With {@value #REMOVE_STALE_FILES}=true, files listed in the
+ *   previous run's .openapi-generator/FILES that are no longer generated are deleted, except in selective
+ *   generation (models, apis, supportingFiles... global properties), which does not generate every file.
+ * - Staged output ({@value #STAGED_OUTPUT}=true): files are written on a dedicated thread into a staging directory,
+ *   which replaces the output directory once generation succeeded; see {@link DartAcdcStagedOutput}.
+ *
+ * Used by {@link DartAcdcCli}; the standard OpenAPI Generator CLI keeps using DefaultGenerator.
+ */
+public class DartAcdcDefaultGenerator extends DefaultGenerator {
+
+    /**
+     * Additional property enabling incremental generation.
+     */
+    public static final String INCREMENTAL = "incremental";
+
+    /**
+     * Additional property enabling parallel rendering of model and API files.
+     */
+    public static final String PARALLEL = "parallel";
+
+    /**
+     * Additional property setting the number of render threads in parallel mode.
+     */
+    public static final String PARALLEL_THREADS = "parallelThreads";
+
+    /**
+     * Additional property enabling the removal of files generated by the previous run but not by this one.
+     */
+    public static final String REMOVE_STALE_FILES = "removeStaleFiles";
+
+    /**
+     * Additional property enabling staged output: generate into a staging directory swapped into place at the end.
+     */
+    public static final String STAGED_OUTPUT = "stagedOutput";
+
+    // Driver options that do not affect generated content
+    private static final Set<String> DRIVER_PROPERTIES = Set.of(INCREMENTAL, PARALLEL, PARALLEL_THREADS, REMOVE_STALE_FILES, STAGED_OUTPUT,
+        DartAcdcGenerator.GENERATION_METRICS, DartAcdcGenerator.LOW_MEMORY, DartAcdcWatchMode.WATCH);
+
+    private static final String METADATA_DIR = ".openapi-generator";
+    private static final String FILES_METADATA = METADATA_DIR + "/FILES";
+    private static final String IGNORE_FILE = ".openapi-generator-ignore";
+
+    private static final String[] SELECTIVE_GENERATION_PROPERTIES = {
+        "models", "apis", "supportingFiles", "modelTests", "apiTests", "modelDocs", "apiDocs"
+    };
+
+    private final boolean dryRun;
+    private DartAcdcIncrementalGeneration incremental;
+    private DartAcdcStagedOutput staged;
+    private DartAcdcTemplateManager templateManager;
+    private DartAcdcTemplateCache templateCache = DartAcdcTemplateCache.shared();
+    private DartAcdcMustacheEngineAdapter mustacheEngine;
+    private DartAcdcGenerationMetrics metrics;
+    // Files listed in the previous run's metadata, or null when stale files are kept
+    private List<String> previousFiles;
+    // Whether the last run was up to date and left the output as it was
+    private boolean generatedNothing;
+    private int deletedFiles;
+
+    public DartAcdcDefaultGenerator() {
+        super();
+        this.dryRun = false;
+    }
+
+    public DartAcdcDefaultGenerator(Boolean dryRun) {
+        super(dryRun);
+        this.dryRun = Boolean.TRUE.equals(dryRun);
+    }
+
+    @Override
+    public Generator opts(ClientOptInput opts) {
+        // The generator derives its output paths (tests, metrics report) from the output directory in opts
+        staged = null;
+        CodegenConfig target = DartAcdcClientOptInput.config(opts);
+        if (!dryRun && target != null && isEnabled(target, STAGED_OUTPUT)) {
+            Path outputDir = Path.of(target.getOutputDir());
+            try {
+                staged = DartAcdcStagedOutput.create(outputDir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not stage the output of " + outputDir, e);
+            }
+            target.setOutputDir(staged.stagingDir().toString());
+        }
+        try {
+            return configure(opts);
+        } catch (RuntimeException e) {
+            if (staged != null) {
+                staged.discard();
+                target.setOutputDir(staged.outputDir().toString());
+                staged = null;
+            }
+            throw e;
+        }
+    }
+
+    private Generator configure(ClientOptInput opts) {
+        super.opts(opts);
+
+        // Dry runs keep their own template processor
+        if (!(templateProcessor instanceof TemplateManager)) {
+            return this;
+        }
+
+        metrics = config instanceof DartAcdcGenerator generator ? generator.getGenerationMetrics() : null;
+        incremental = isEnabled(config, INCREMENTAL)
+            ? new DartAcdcIncrementalGeneration(Path.of(config.getOutputDir()), contextHash(config))
+            : null;
+
+        Set<String> testTemplates = new HashSet<>();
+        testTemplates.addAll(config.modelTestTemplateFiles().keySet());
+        testTemplates.addAll(config.apiTestTemplateFiles().keySet());
+        Set<String> trackedTemplates = new HashSet<>(testTemplates);
+        trackedTemplates.addAll(config.modelTemplateFiles().keySet());
+        trackedTemplates.addAll(config.apiTemplateFiles().keySet());
+
+        TemplatingEngineAdapter engine = config.getTemplatingEngine();
+        mustacheEngine = null;
+        if (engine instanceof MustacheEngineAdapter mustache) {
+            mustacheEngine = new DartAcdcMustacheEngineAdapter(mustache, templateCache, templateDirs(config));
+            engine = mustacheEngine;
+        }
+        templateManager = new DartAcdcTemplateManager(
+            new TemplateManagerOptions(config.isEnableMinimalUpdate(), config.isSkipOverwrite()),
+            engine,
+            new TemplatePathLocator[]{new CommonTemplateContentLocator(), new GeneratorTemplateContentLocator(config)},
+            trackedTemplates,
+            testTemplates,
+            incremental,
+            renderThreads(config),
+            metrics,
+            DartAcdcLowMemoryMode.isEnabled(config),
+            writeBehind(config),
+            staged != null);
+        templateProcessor = templateManager;
+        if (metrics != null) {
+            // Files are still being rendered when the generator's postProcess hook runs
+            metrics.deferReport();
+        }
+        previousFiles = isEnabled(config, REMOVE_STALE_FILES) && !isSelectiveGeneration()
+            ? readPreviousFiles(config.getOutputDir())
+            : null;
+        return this;
+    }
+
+    @Override
+    public List<File> generate() {
+        DartAcdcStagedOutput run = staged;
+        if (run == null) {
+            return generateFiles();
+        }
+        staged = null;
+        try {
+            List<File> files = generateFiles();
+            if (generatedNothing) {
+                run.discard();
+                return run.outputFiles(files);
+            }
+            return run.commit(files);
+        } catch (IOException e) {
+            run.discard();
+            throw new UncheckedIOException("Could not swap the staged output into " + run.outputDir(), e);
+        } catch (RuntimeException e) {
+            // The output directory keeps the previous run's files
+            run.discard();
+            throw e;
+        } finally {
+            config.setOutputDir(run.outputDir().toString());
+        }
+    }
+
+    private List<File> generateFiles() {
+        generatedNothing = false;
+        if (incremental == null) {
+            return generateAndAwaitRenders();
+        }
+
+        incremental.startRun(openAPI);
+        if (incremental.isUpToDate()) {
+            LOGGER.info("Inputs unchanged since the last run, nothing to generate in {}", config.getOutputDir());
+            GlobalSettings.reset();
+            generatedNothing = true;
+            return incremental.previousFiles();
+        }
+
+        incremental.setOpenAPI(openAPI);
+        List<File> files = generateAndAwaitRenders();
+        try {
+            incremental.save(files);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + DartAcdcIncrementalGeneration.MANIFEST_FILE_NAME, e);
+        }
+        return files;
+    }
+
+    private List<File> generateAndAwaitRenders() {
+        if (templateManager == null) {
+            return super.generate();
+        }
+        List<File> files;
+        try {
+            files = super.generate();
+        } catch (RuntimeException e) {
+            templateManager.cancelRenders();
+            throw e;
+        }
+        templateManager.awaitRenders();
+        deletedFiles = removeStaleFiles(files);
+        LOGGER.info("Files: {} written, {} unchanged, {} deleted",
+            templateManager.writtenCount(), templateManager.unchangedCount(), deletedFiles);
+        if (mustacheEngine != null) {
+            long renders = mustacheEngine.renderCount();
+            long compiled = mustacheEngine.compiledCount();
+            long reused = renders - compiled;
+            LOGGER.info("Templates: {} renders, {} compiled, {} from the template cache", renders, compiled, reused);
+            if (metrics != null) {
+                metrics.count("templateCacheHits", reused);
+                metrics.count("templateCacheMisses", compiled);
+            }
+        }
+        if (metrics != null) {
+            metrics.finish();
+        }
+        return files;
+    }
+
+    /**
+     * Deletes the files listed in the previous run's metadata that this run neither generated nor kept
+     * (skipped or ignored). Metadata, the ignore file and tests (which the generator never overwrites,
+     * so they may have been edited) are never deleted.
+     *
+     * @return the number of files deleted
+     */
+    private int removeStaleFiles(List<File> files) {
+        if (previousFiles == null) {
+            return 0;
+        }
+        Path outputDir = Path.of(config.getOutputDir()).toAbsolutePath().normalize();
+        List<Path> testFolders = List.of(
+            Path.of(config.modelTestFileFolder()).toAbsolutePath().normalize(),
+            Path.of(config.apiTestFileFolder()).toAbsolutePath().normalize());
+        Set<Path> current = new HashSet<>(templateManager.keptFiles());
+        for (File file : files) {
+            current.add(file.toPath().toAbsolutePath().normalize());
+        }
+
+        int deleted = 0;
+        for (String previous : previousFiles) {
+            if (previous.equals(IGNORE_FILE) || previous.startsWith(METADATA_DIR + "/")) {
+                continue;
+            }
+            Path path = outputDir.resolve(previous).normalize();
+            if (!path.startsWith(outputDir) || current.contains(path) || !Files.isRegularFile(path)
+                || testFolders.stream().anyMatch(path::startsWith)) {
+                continue;
+            }
+            try {
+                Files.delete(path);
+                LOGGER.info("Deleted {} (no longer generated)", previous);
+                deleted++;
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete stale file {}: {}", path, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private List<String> readPreviousFiles(String outputDir) {
+        Path metadata = Path.of(outputDir).resolve(FILES_METADATA);
+        if (!Files.isRegularFile(metadata)) {
+            return List.of();
+        }
+        try {
+            List<String> files = new ArrayList<>();
+            for (String line : Files.readAllLines(metadata)) {
+                String file = line.trim();
+                if (!file.isEmpty() && !file.startsWith("#")) {
+                    files.add(file);
+                }
+            }
+            return files;
+        } catch (IOException e) {
+            LOGGER.warn("Could not read {}: {}", metadata, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Renders with the compiled templates of the given cache instead of the JVM's. Must be called before
+     * {@link #opts(ClientOptInput)}.
+     *
+     * @param templateCache the compiled templates
+     * @return this generator
+     */
+    DartAcdcDefaultGenerator templateCache(DartAcdcTemplateCache templateCache) {
+        this.templateCache = templateCache;
+        return this;
+    }
+
+    /**
+     * Returns the number of files written by the last run (created or changed).
+     *
+     * @return the written file count, 0 for dry runs
+     */
+    int getWrittenCount() {
+        return templateManager == null ? 0 : templateManager.writtenCount();
+    }
+
+    /**
+     * Returns the number of files the last run left untouched because they were up to date.
+     *
+     * @return the unchanged file count, 0 for dry runs
+     */
+    int getUnchangedCount() {
+        return templateManager == null ? 0 : templateManager.unchangedCount();
+    }
+
+    /**
+     * Returns the number of stale files deleted by the last run.
+     *
+     * @return the deleted file count
+     */
+    int getDeletedCount() {
+        return deletedFiles;
+    }
+
+    /**
+     * Returns the number of schemas the last run pruned because no operation uses them.
+     *
+     * @return the pruned schema count
+     */
+    int getPrunedModelCount() {
+        return config instanceof DartAcdcGenerator generator ? generator.getPrunedModelCount() : 0;
+    }
+
+    /**
+     * Returns the number of schemas the last run merged into an identical schema.
+     *
+     * @return the merged schema count
+     */
+    int getDeduplicatedModelCount() {
+        return config instanceof DartAcdcGenerator generator ? generator.getDeduplicatedModelCount() : 0;
+    }
+
+    /**
+     * Returns the incremental generation state of the current run, or null when disabled.
+     *
+     * @return the incremental state
+     */
+    DartAcdcIncrementalGeneration getIncrementalGeneration() {
+        return incremental;
+    }
+
+    /**
+     * Hashes the options that affect generated content, as configured before processOpts.
+     */
+    private static String contextHash(CodegenConfig config) {
+        SortedMap<String, String> options = new TreeMap<>();
+        config.additionalProperties().forEach((key, value) -> {
+            if (!DRIVER_PROPERTIES.contains(key)) {
+                options.put("additionalProperties." + key, optionValue(value));
+            }
+        });
+        putAll(options, "typeMapping", config.typeMapping());
+        putAll(options, "importMapping", config.importMapping());
+        putAll(options, "schemaMapping", config.schemaMapping());
+        putAll(options, "instantiationTypes", config.instantiationTypes());
+        putAll(options, "reservedWordsMappings", config.reservedWordsMappings());
+        putAll(options, "nameMapping", config.nameMapping());
+        putAll(options, "parameterNameMapping", config.parameterNameMapping());
+        putAll(options, "modelNameMapping", config.modelNameMapping());
+        putAll(options, "enumNameMapping", config.enumNameMapping());
+        putAll(options, "operationIdNameMapping", config.operationIdNameMapping());
+        putAll(options, "inlineSchemaNameMapping", config.inlineSchemaNameMapping());
+        putAll(options, "inlineSchemaOption", config.inlineSchemaOption());
+        putAll(options, "openapiNormalizer", config.openapiNormalizer());
+        options.put("languageSpecificPrimitives", new TreeSet<>(config.languageSpecificPrimitives()).toString());
+        for (String property : SELECTIVE_GENERATION_PROPERTIES) {
+            options.put("globalProperty." + property, String.valueOf(GlobalSettings.getProperty(property)));
+        }
+        return DartAcdcIncrementalGeneration.contextHash(config.templateDir(), options);
+    }
+
+    /**
+     * Renders an option value for hashing. Values such as template lambdas have no stable string form
+     * (identity hash codes), so only their type is taken into account.
+     */
+    private static String optionValue(Object value) {
+        if (value == null || value instanceof CharSequence || value instanceof Number
+            || value instanceof Boolean || value instanceof Enum) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Collection<?> collection) {
+            List<String> values = new ArrayList<>();
+            collection.forEach(element -> values.add(optionValue(element)));
+            return values.toString();
+        }
+        if (value instanceof Map<?, ?> map) {
+            SortedMap<String, String> values = new TreeMap<>();
+            map.forEach((key, element) -> values.put(String.valueOf(key), optionValue(element)));
+            return values.toString();
+        }
+        return value.getClass().getName();
+    }
+
+    private static void putAll(SortedMap<String, String> options, String prefix, Map<String, String> values) {
+        if (values != null) {
+            values.forEach((key, value) -> options.put(prefix + "." + key, value));
+        }
+    }
+
+    /**
+     * Returns the number of render threads, or 0 for sequential rendering.
+     */
+    private int renderThreads(CodegenConfig config) {
+        if (!isEnabled(config, PARALLEL)) {
+            return 0;
+        }
+        if (config.isEnablePostProcessFile()) {
+            // Post-processing runs on the returned file right away, before a queued render has written it
+            LOGGER.info("Parallel rendering is disabled when post-processing files");
+            return 0;
+        }
+        Object threads = config.additionalProperties().get(PARALLEL_THREADS);
+        if (threads == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            int count = Integer.parseInt(String.valueOf(threads).trim());
+            if (count < 1) {
+                throw new NumberFormatException();
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(PARALLEL_THREADS + " must be a positive integer, got: " + threads);
+        }
+    }
+
+    /**
+     * Returns true if files are written on a writer thread, which is the case with staged output.
+     */
+    private boolean writeBehind(CodegenConfig config) {
+        if (staged == null) {
+            return false;
+        }
+        if (config.isEnablePostProcessFile()) {
+            // Post-processing runs on the returned file right away, before the writer thread has written it
+            LOGGER.info("Staged output writes files on the calling thread when post-processing files");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the template directories {@link GeneratorTemplateContentLocator} resolves templates from.
+     */
+    private static String templateDirs(CodegenConfig config) {
+        return config.templateDir() + File.pathSeparator + config.embeddedTemplateDir()
+            + File.pathSeparator + config.getLibrary();
+    }
+
+    /**
+     * Returns true if global properties restrict generation to some kinds of files, so that a file missing from
+     * this run is not stale.
+     */
+    private static boolean isSelectiveGeneration() {
+        for (String property : SELECTIVE_GENERATION_PROPERTIES) {
+            if (GlobalSettings.getProperty(property) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEnabled(CodegenConfig config, String property) {
+        return isEnabled(config, property, false);
+    }
+
+    private static boolean isEnabled(CodegenConfig config, String property, boolean defaultValue) {
+        Object value = config.additionalProperties().get(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value));
+    }
+}
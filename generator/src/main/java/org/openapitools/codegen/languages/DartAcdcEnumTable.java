@@ -0,0 +1,188 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenModel;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Table-based generation of large enums ({@value DartAcdcGenerator#LARGE_ENUM_THRESHOLD}=n), for enum schemas
+ * with thousands of values such as country, currency or category codes.
+ *
+ * A regular enum gets one identifier and one doc comment per value, and the generator builds one enumVar per
+ * value, with collision-resistant names. An enum of string or integer values with more than n values is generated
+ * as a class over a sorted, deduplicated value table instead:
+ * - the table is rendered once, as a Dart list literal packed into lines, so the generator keeps a single
+ *   string per enum and the file only grows with the values themselves;
+ * - values need no identifiers, so there are no names to resolve collisions for;
+ * - lookups from JSON binary-search the table, which is sorted in the code unit order Dart compares strings in.
+ *
+ * Enums of other types, and enums at or below the threshold, are generated as regular Dart enums.
+ */
+final class DartAcdcEnumTable {
+
+    static final String VENDOR_EXTENSION_TABLE = "x-enum-table";
+    static final String VENDOR_EXTENSION_TABLE_TYPE = "x-enum-table-type";
+    static final String VENDOR_EXTENSION_TABLE_SIZE = "x-enum-table-size";
+    static final String VENDOR_EXTENSION_TABLE_VALUES = "x-enum-table-values";
+
+    private static final int LINE_WIDTH = 100;
+    private static final String INDENT = "    ";
+
+    private DartAcdcEnumTable() {
+    }
+
+    /**
+     * Returns the number of values above which enums are generated as tables.
+     *
+     * @param config the generator configuration
+     * @return the threshold, or -1 if large-enum generation is disabled
+     */
+    static int threshold(CodegenConfig config) {
+        Object value = config.additionalProperties().get(DartAcdcGenerator.LARGE_ENUM_THRESHOLD);
+        if (value == null || value.toString().isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.max(-1, Integer.parseInt(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(DartAcdcGenerator.LARGE_ENUM_THRESHOLD + " must be a number: " + value, e);
+        }
+    }
+
+    /**
+     * Turns an enum model into a table if it has more values than the threshold and a supported type.
+     *
+     * @param model the enum model
+     * @param values its values
+     * @param threshold the threshold, -1 to keep every enum regular
+     * @return true if the model is generated as a table
+     */
+    static boolean apply(CodegenModel model, List<Object> values, int threshold) {
+        if (threshold < 0 || values.size() <= threshold) {
+            return false;
+        }
+        String type;
+        String table;
+        int size;
+        if ("string".equals(model.dataType)) {
+            type = "String";
+            String[] sorted = new String[values.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = String.valueOf(values.get(i));
+            }
+            Arrays.sort(sorted);
+            size = deduplicate(sorted);
+            table = render(sorted, size);
+        } else if ("integer".equals(model.dataType)) {
+            type = "int";
+            long[] sorted = new long[values.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                Object value = values.get(i);
+                try {
+                    sorted[i] = value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+            Arrays.sort(sorted);
+            size = deduplicate(sorted);
+            table = render(sorted, size);
+        } else {
+            return false;
+        }
+
+        model.vendorExtensions.put(VENDOR_EXTENSION_TABLE, true);
+        model.vendorExtensions.put(VENDOR_EXTENSION_TABLE_TYPE, type);
+        model.vendorExtensions.put(VENDOR_EXTENSION_TABLE_SIZE, size);
+        model.vendorExtensions.put(VENDOR_EXTENSION_TABLE_VALUES, table);
+        return true;
+    }
+
+    // ========== Table ==========
+
+    private static int deduplicate(String[] sorted) {
+        int size = 0;
+        for (String value : sorted) {
+            if (size == 0 || !sorted[size - 1].equals(value)) {
+                sorted[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    private static int deduplicate(long[] sorted) {
+        int size = 0;
+        for (long value : sorted) {
+            if (size == 0 || sorted[size - 1] != value) {
+                sorted[size++] = value;
+            }
+        }
+        return size;
+    }
+
+    private static String render(String[] sorted, int size) {
+        TableBuilder table = new TableBuilder();
+        for (int i = 0; i < size; i++) {
+            table.add(dartString(sorted[i]));
+        }
+        return table.toString();
+    }
+
+    private static String render(long[] sorted, int size) {
+        TableBuilder table = new TableBuilder();
+        for (int i = 0; i < size; i++) {
+            table.add(Long.toString(sorted[i]));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Packs list elements into indented lines of at most {@link #LINE_WIDTH} characters.
+     */
+    private static final class TableBuilder {
+
+        private final StringBuilder out = new StringBuilder();
+        private int lineStart;
+
+        void add(String literal) {
+            if (out.length() > lineStart && out.length() - lineStart + literal.length() + 2 > LINE_WIDTH) {
+                out.append('\n');
+                lineStart = out.length();
+            }
+            out.append(out.length() == lineStart ? INDENT : " ").append(literal).append(',');
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+    }
+
+    /**
+     * Returns a single-quoted Dart string literal.
+     */
+    static String dartString(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('\'');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> literal.append("\\\\");
+                case '\'' -> literal.append("\\'");
+                case '$' -> literal.append("\\$");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == 0x7f) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('\'').toString();
+    }
+}
@@ -0,0 +1,374 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase instrumentation of a generation run.
+ *
+ * Every phase (preprocessing, each fromModel, post-processing hooks, each template render) is emitted as a
+ * {@code dartacdc.GenerationPhase} JFR event when a recording enables it, and is aggregated (count, time,
+ * allocations, slowest subjects) when the metrics report is enabled. The report is written as JSON at the
+ * end of the run, together with counts of schemas, properties, alternatives, imports and enum vars.
+ *
+ * Phases wrap the code they time:
+ * <pre>
+ * return metrics.time("fromModel", name, () -&gt; createModel(name, schema));
+ * </pre>
+ * When neither JFR nor the report needs them, the code runs without recording anything.
+ */
+final class DartAcdcGenerationMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcGenerationMetrics.class);
+
+    /**
+     * Default report file name, in the output directory.
+     */
+    static final String REPORT_FILE_NAME = "generation-metrics.json";
+
+    // Slowest subjects kept per phase in the report
+    private static final int SLOWEST_PER_PHASE = 5;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private static final EventType PHASE_TYPE = EventType.getEventType(PhaseEvent.class);
+    private static final EventType SUMMARY_TYPE = EventType.getEventType(SummaryEvent.class);
+
+    private final Map<String, PhaseStats> phases = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private volatile boolean aggregating;
+    private volatile Path reportFile;
+    private volatile boolean reportDeferred;
+    private long runStart = System.nanoTime();
+
+    /**
+     * JFR event for one generation phase.
+     */
+    @Name("dartacdc.GenerationPhase")
+    @Label("Dart-ACDC Generation Phase")
+    @Category({"Dart-ACDC", "Generator"})
+    @Description("A phase of dart-acdc code generation, such as fromModel for one schema or rendering one file")
+    @StackTrace(false)
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Subject")
+        @Description("Schema, operation group or file the phase ran for")
+        String subject;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+
+    /**
+     * JFR event summarizing a generation run.
+     */
+    @Name("dartacdc.GenerationSummary")
+    @Label("Dart-ACDC Generation Summary")
+    @Category({"Dart-ACDC", "Generator"})
+    @StackTrace(false)
+    static final class SummaryEvent extends Event {
+        @Label("Schemas")
+        long schemas;
+
+        @Label("Properties")
+        long properties;
+
+        @Label("Alternatives")
+        long alternatives;
+
+        @Label("Imports")
+        long imports;
+
+        @Label("Enum Vars")
+        long enumVars;
+    }
+
+    /**
+     * The code timed by a phase.
+     *
+     * @param <T> the result type
+     * @param <E> the checked exception the code throws, if any
+     */
+    @FunctionalInterface
+    interface Body<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * An open phase; closing it records the event and the aggregates.
+     */
+    private final class Phase {
+        private final String name;
+        private final String subject;
+        private final PhaseEvent event;
+        private final long start;
+        private final long startAllocated;
+
+        private Phase(String name, String subject, PhaseEvent event) {
+            this.name = name;
+            this.subject = subject;
+            this.event = event;
+            this.startAllocated = allocatedBytes();
+            this.start = System.nanoTime();
+            event.begin();
+        }
+
+        void close() {
+            long elapsed = System.nanoTime() - start;
+            long allocated = Math.max(0, allocatedBytes() - startAllocated);
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = name;
+                event.subject = subject;
+                event.allocated = allocated;
+                event.commit();
+            }
+            if (aggregating) {
+                phases.computeIfAbsent(name, k -> new PhaseStats()).add(subject, elapsed, allocated);
+            }
+        }
+    }
+
+    /**
+     * Starts a run, clearing the aggregates of a previous one.
+     *
+     * @param reportFile where to write the JSON report, or null to only emit JFR events
+     */
+    void start(Path reportFile) {
+        phases.clear();
+        counts.clear();
+        this.reportFile = reportFile;
+        this.aggregating = reportFile != null;
+        this.runStart = System.nanoTime();
+    }
+
+    /**
+     * Runs code as a phase.
+     *
+     * @param name the phase name (aggregation key)
+     * @param subject what the phase runs for (schema, template, file), or null
+     * @param body the code to time
+     * @return the result of the code
+     * @throws E when the code throws it
+     */
+    <T, E extends Exception> T time(String name, String subject, Body<T, E> body) throws E {
+        Phase phase = phase(name, subject);
+        try {
+            return body.run();
+        } finally {
+            if (phase != null) {
+                phase.close();
+            }
+        }
+    }
+
+    /**
+     * Runs code without a result as a phase.
+     *
+     * @param name the phase name (aggregation key)
+     * @param subject what the phase runs for (schema, template, file), or null
+     * @param body the code to time
+     */
+    void time(String name, String subject, Runnable body) {
+        time(name, subject, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Opens a phase, or returns null when nothing records it.
+     */
+    private Phase phase(String name, String subject) {
+        if (!aggregating && !PHASE_TYPE.isEnabled()) {
+            return null;
+        }
+        return new Phase(name, subject, new PhaseEvent());
+    }
+
+    /**
+     * Adds to a counter of the report.
+     *
+     * @param counter the counter name
+     * @param amount the amount to add
+     */
+    void count(String counter, long amount) {
+        counts.computeIfAbsent(counter, k -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Returns true when counters are reported, so that callers can skip computing them otherwise.
+     *
+     * @return whether the report or the JFR summary event is enabled
+     */
+    boolean isCounting() {
+        return aggregating || SUMMARY_TYPE.isEnabled();
+    }
+
+    /**
+     * Leaves writing the report to the caller of {@link #finish()}, for drivers that render after the
+     * generator's postProcess hook.
+     */
+    void deferReport() {
+        reportDeferred = true;
+    }
+
+    boolean isReportDeferred() {
+        return reportDeferred;
+    }
+
+    /**
+     * Ends the run: commits the summary event and writes the report, if enabled.
+     */
+    void finish() {
+        SummaryEvent summary = new SummaryEvent();
+        if (summary.shouldCommit()) {
+            summary.schemas = counter("schemas");
+            summary.properties = counter("properties");
+            summary.alternatives = counter("alternatives");
+            summary.imports = counter("imports");
+            summary.enumVars = counter("enumVars");
+            summary.commit();
+        }
+
+        Path file = reportFile;
+        if (file == null) {
+            return;
+        }
+        try {
+            DartAcdcStagedOutput.replace(file.toAbsolutePath(), MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(report()));
+            LOGGER.info("Wrote generation metrics to {}", file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write generation metrics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the report: total time, per-phase aggregates sorted by total time, and counters.
+     *
+     * @return the report as nested maps
+     */
+    Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("totalMillis", millis(System.nanoTime() - runStart));
+
+        List<Map.Entry<String, PhaseStats>> sorted = new ArrayList<>(phases.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, PhaseStats> e) -> e.getValue().nanos.sum()).reversed()
+            .thenComparing(Map.Entry::getKey));
+        Map<String, Object> phaseReport = new LinkedHashMap<>();
+        for (Map.Entry<String, PhaseStats> entry : sorted) {
+            phaseReport.put(entry.getKey(), entry.getValue().toReport());
+        }
+        report.put("phases", phaseReport);
+
+        Map<String, Long> countReport = new TreeMap<>();
+        counts.forEach((key, value) -> countReport.put(key, value.sum()));
+        report.put("counts", countReport);
+        return report;
+    }
+
+    private long counter(String name) {
+        LongAdder adder = counts.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+                if (!bean.isThreadAllocatedMemoryEnabled()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            LOGGER.debug("Thread allocation accounting not available", e);
+        }
+        return null;
+    }
+
+    /**
+     * Aggregates of one phase.
+     */
+    private static final class PhaseStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+        private final PriorityQueue<Sample> slowest = new PriorityQueue<>(Comparator.comparingLong(Sample::nanos));
+
+        void add(String subject, long elapsed, long allocatedBytes) {
+            count.increment();
+            nanos.add(elapsed);
+            allocated.add(allocatedBytes);
+            if (subject != null) {
+                synchronized (slowest) {
+                    if (slowest.size() < SLOWEST_PER_PHASE) {
+                        slowest.add(new Sample(subject, elapsed));
+                    } else if (slowest.peek().nanos() < elapsed) {
+                        slowest.poll();
+                        slowest.add(new Sample(subject, elapsed));
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            long total = nanos.sum();
+            long calls = count.sum();
+            report.put("count", calls);
+            report.put("totalMillis", millis(total));
+            report.put("meanMillis", calls == 0 ? 0.0 : millis(total / calls));
+            report.put("allocatedBytes", allocated.sum());
+            List<Sample> samples;
+            synchronized (slowest) {
+                samples = new ArrayList<>(slowest);
+            }
+            if (!samples.isEmpty()) {
+                samples.sort(Comparator.comparingLong(Sample::nanos).reversed().thenComparing(Sample::subject));
+                List<Map<String, Object>> slowestReport = new ArrayList<>();
+                for (Sample sample : samples) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("subject", sample.subject());
+                    entry.put("millis", millis(sample.nanos()));
+                    slowestReport.add(entry);
+                }
+                report.put("slowest", slowestReport);
+            }
+            return report;
+        }
+    }
+
+    private record Sample(String subject, long nanos) {
+    }
+}
@@ -0,0 +1,283 @@
+package org.openapitools.codegen.languages;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Local HTTP generation service: keeps one JVM warm and generates many clients concurrently.
+ *
+ * {@code POST /generate} takes an OpenAPI document (YAML or JSON) as the request body and the additional
+ * properties as query parameters, and answers with a zip of the generated package:
+ *
+ * <pre>
+ * curl --data-binary @openapi.yaml 'http://localhost:8080/generate?pubName=my_api' -o my_api.zip
+ * </pre>
+ *
+ * Each request is a {@link DartAcdcBatchGeneration} job generated into its own temporary directory, with its
+ * own generator and driver, so concurrent jobs share no generator state; they share the loaded classes and the
+ * compiled templates of {@link DartAcdcTemplateCache#shared()}. At most the given number of jobs run at a time,
+ * further requests wait for a free slot. The service only listens on the loopback address.
+ *
+ * Only the generator options of {@link #PROPERTIES} are accepted: options naming local paths (template
+ * directories, output or report paths) would let a caller read and render any file the service can read.
+ *
+ * Responses: 200 with the zip, 400 for an empty document or an unsupported or invalid property, 405 for other
+ * methods than POST, 413 for a document larger than the maximum size, and 422 with the error message when
+ * generation fails.
+ */
+final class DartAcdcGenerationService implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcGenerationService.class);
+
+    static final String PATH = "/generate";
+
+    /**
+     * Default maximum size of the OpenAPI document of a request.
+     */
+    static final int MAX_SPEC_BYTES = 32 * 1024 * 1024;
+
+    /**
+     * Additional properties a request may set; none of them names a path.
+     */
+    static final Set<String> PROPERTIES = Set.of(
+        "pubName", "pubVersion", "pubDescription", "pubHomepage",
+        CodegenConstants.SKIP_OPERATION_EXAMPLE,
+        DartAcdcGenerator.GENERATION_METRICS,
+        DartAcdcGenerator.PRUNE_UNUSED_MODELS,
+        DartAcdcGenerator.DEDUPLICATE_MODELS,
+        DartAcdcGenerator.LOW_MEMORY,
+        DartAcdcGenerator.DETERMINISTIC_OUTPUT,
+        DartAcdcGenerator.LARGE_ENUM_THRESHOLD);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger jobCount = new AtomicInteger();
+    private final int maxSpecBytes;
+
+    /**
+     * Starts the service.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @param jobs the number of jobs generated at the same time
+     * @throws IOException if the port cannot be bound
+     */
+    DartAcdcGenerationService(int port, int jobs) throws IOException {
+        this(port, jobs, MAX_SPEC_BYTES);
+    }
+
+    /**
+     * Starts the service.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @param jobs the number of jobs generated at the same time
+     * @param maxSpecBytes the maximum size of a request's OpenAPI document
+     * @throws IOException if the port cannot be bound
+     */
+    DartAcdcGenerationService(int port, int jobs, int maxSpecBytes) throws IOException {
+        this.maxSpecBytes = maxSpecBytes;
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, jobs), runnable -> {
+            Thread thread = new Thread(runnable, "dart-acdc-service-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Returns the port the service listens on.
+     *
+     * @return the port
+     */
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ========== Requests ==========
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "Use POST " + PATH);
+                return;
+            }
+            String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+            if (contentLength != null && parseLength(contentLength) > maxSpecBytes) {
+                respond(exchange, 413, "The OpenAPI document must not exceed " + maxSpecBytes + " bytes");
+                return;
+            }
+            byte[] spec;
+            try (InputStream in = exchange.getRequestBody()) {
+                // A chunked body has no length; read at most one byte more than the limit
+                spec = in.readNBytes(maxSpecBytes + 1);
+            }
+            if (spec.length > maxSpecBytes) {
+                respond(exchange, 413, "The OpenAPI document must not exceed " + maxSpecBytes + " bytes");
+                return;
+            }
+            Map<String, String> properties;
+            try {
+                properties = properties(exchange.getRequestURI().getRawQuery());
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, e.getMessage());
+                return;
+            }
+            if (spec.length == 0) {
+                respond(exchange, 400, "The request body must be an OpenAPI document");
+                return;
+            }
+            generate(exchange, spec, properties);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Could not answer {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Generates one request into a temporary directory and sends the package as a zip.
+     */
+    private void generate(HttpExchange exchange, byte[] spec, Map<String, String> properties) throws IOException {
+        String name = "job-" + jobCount.incrementAndGet();
+        Path workDir = Files.createTempDirectory("dart-acdc-" + name + "-");
+        try {
+            Path specFile = Files.write(workDir.resolve("openapi.yaml"), spec);
+            Path outputDir = workDir.resolve("output");
+            CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("dart-acdc")
+                .setInputSpec(specFile.toString())
+                .setOutputDir(outputDir.toString());
+            properties.forEach(configurator::addAdditionalProperty);
+
+            long start = System.nanoTime();
+            DartAcdcBatchGeneration.JobResult result = DartAcdcBatchGeneration.generate(
+                new DartAcdcBatchGeneration.Job(name, configurator, null));
+            if (result.failure() != null) {
+                respond(exchange, 422, "Generation failed: " + result.failure().getMessage());
+                return;
+            }
+            LOGGER.info("Generated {} files for {} in {} ms", result.files().size(), name,
+                (System.nanoTime() - start) / 1_000_000);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/zip");
+            exchange.sendResponseHeaders(200, 0);
+            try (ZipOutputStream zip = new ZipOutputStream(exchange.getResponseBody())) {
+                zip(outputDir, zip);
+            }
+        } finally {
+            delete(workDir);
+        }
+    }
+
+    /**
+     * Reads the additional properties of a query string. Only {@link #PROPERTIES} are accepted, and a
+     * generation metrics report may only be written to the generated package, as other paths are outside the job.
+     */
+    static Map<String, String> properties(String rawQuery) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return properties;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String key = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+            String value = separator < 0 ? "true" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            if (key.isBlank()) {
+                throw new IllegalArgumentException("Invalid additional property: " + pair);
+            }
+            if (!PROPERTIES.contains(key)) {
+                throw new IllegalArgumentException("Unsupported additional property: " + key);
+            }
+            if (DartAcdcGenerator.GENERATION_METRICS.equals(key) && !"true".equals(value) && !"false".equals(value)) {
+                throw new IllegalArgumentException(DartAcdcGenerator.GENERATION_METRICS + " must be true or false");
+            }
+            properties.put(key, value);
+        }
+        return properties;
+    }
+
+    private static long parseLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // ========== Files ==========
+
+    /**
+     * Adds the files of a directory to a zip, in path order, with paths relative to the directory.
+     */
+    private static void zip(Path dir, ZipOutputStream zip) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            files = paths.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            zip.putNextEntry(new ZipEntry(dir.relativize(file).toString().replace('\\', '/')));
+            Files.copy(file, zip);
+            zip.closeEntry();
+        }
+    }
+
+    private static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -15,7 +15,10 @@ import io.swagger.v3.oas.models.Operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -52,44 +55,127 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
     private static final String RESERVED_WORD_VAR_SUFFIX = "_";
     private static final String NUMERIC_PACKAGE_PREFIX = "api_";
 
+    /**
+     * Additional property enabling the generation metrics report: true, or the report file path.
+     */
+    public static final String GENERATION_METRICS = "generationMetrics";
+
+    /**
+     * Additional property limiting generation to the models reachable from an operation.
+     */
+    public static final String PRUNE_UNUSED_MODELS = "pruneUnusedModels";
+
+    /**
+     * Additional property merging structurally identical schemas into one model.
+     */
+    public static final String DEDUPLICATE_MODELS = "deduplicateModels";
+
+    /**
+     * Additional property enabling low-memory generation, see {@link DartAcdcLowMemoryMode}.
+     */
+    public static final String LOW_MEMORY = "lowMemory";
+
+    /**
+     * Additional property making the output independent of the order of spec maps: discriminator mappings
+     * are sorted. Case mapping always uses the root locale, with or without it.
+     */
+    public static final String DETERMINISTIC_OUTPUT = "deterministicOutput";
+
+    /**
+     * Additional property generating enums with more values than the given number as sorted value tables,
+     * see {@link DartAcdcEnumTable}.
+     */
+    public static final String LARGE_ENUM_THRESHOLD = "largeEnumThreshold";
+
+    /**
+     * Additional property restricting generation to the package of one tag, see {@link DartAcdcShardPlan}:
+     * the APIs of the tag and the models only it uses. Shared models are imported from {@link #SHARED_MODELS_PUB_NAME}.
+     */
+    public static final String SHARD_TAG = "shardTag";
+
+    /**
+     * Additional property restricting generation to the models shared by several tags, see {@link DartAcdcShardPlan}.
+     */
+    public static final String SHARD_CORE = "shardCore";
+
+    /**
+     * Additional property naming the package the models shared by several tags are generated in.
+     */
+    public static final String SHARED_MODELS_PUB_NAME = "sharedModelsPubName";
+
     // Pre-compiled regex patterns for performance
-    // Package name sanitization patterns
-    private static final Pattern PATTERN_SPACES_HYPHENS = Pattern.compile("[ -]");
-    private static final Pattern PATTERN_NON_ALPHANUMERIC_PACKAGE = Pattern.compile("[^a-z0-9_]");
-    private static final Pattern PATTERN_CONSECUTIVE_UNDERSCORES = Pattern.compile("_+");
-    private static final Pattern PATTERN_LEADING_TRAILING_UNDERSCORES = Pattern.compile("^_+|_+$");
     private static final Pattern PATTERN_STARTS_WITH_DIGIT = Pattern.compile("^[0-9].*");
 
     // Enum value patterns
     private static final Pattern PATTERN_NUMERIC_VALUE = Pattern.compile("^-?\\d+(\\.\\d+)?$");
     private static final Pattern PATTERN_NON_DIGITS = Pattern.compile("[^0-9]");
 
-    // CamelCase conversion patterns
-    private static final Pattern PATTERN_SEPARATORS = Pattern.compile("[-_./\\s]+");
-    private static final Pattern PATTERN_WHITESPACE = Pattern.compile("\\s+");
-    private static final Pattern PATTERN_NON_ALPHANUMERIC_CAMEL = Pattern.compile("[^a-zA-Z0-9]");
+    /**
+     * Whether a multipart/form-data request body is being processed, for context-aware type mapping of
+     * file/binary types. Set and cleared within fromRequestBody; parallel rendering never reads it.
+     * Kept per generator rather than per thread, so that concurrent jobs in one JVM share no state.
+     */
+    private boolean multipartContext;
 
-    // Underscore conversion patterns
-    private static final Pattern PATTERN_LOWERCASE_UPPERCASE = Pattern.compile("([a-z0-9])([A-Z])");
-    private static final Pattern PATTERN_UPPERCASE_SEQUENCE = Pattern.compile("([A-Z])([A-Z][a-z])");
+    /**
+     * Sealed class hierarchy of the document: which models extend which oneOf/anyOf parent.
+     * Built in preprocessOpenAPI, before any model is processed; immutable, so it may be read from
+     * parallel rendering threads.
+     */
+    private volatile DartAcdcSealedHierarchy sealedHierarchy = DartAcdcSealedHierarchy.EMPTY;
 
     /**
-     * ThreadLocal to track whether we're currently processing a multipart/form-data request body.
-     * This allows context-aware type mapping for file/binary types.
+     * Per-run caches for model name resolution, keyed by schema name.
+     * toModelImport -> toModelFilename -> toModelName is evaluated for every import of every model
+     * and operation; each schema name is resolved once and served from these maps afterwards.
+     * All caches are cleared in processOpts; the import cache is also cleared when pubName changes.
+     * Concurrent so that template lambdas may resolve names from parallel rendering threads.
      */
-    private static final ThreadLocal<Boolean> IS_MULTIPART_CONTEXT = ThreadLocal.withInitial(() -> false);
+    private final Map<String, String> modelNameCache = new ConcurrentHashMap<>();
+    private final Map<String, String> modelFilenameCache = new ConcurrentHashMap<>();
+    private final Map<String, String> modelImportCache = new ConcurrentHashMap<>();
+    private volatile String modelImportCachePubName;
 
     /**
-     * Map to track which schemas should extend sealed classes.
-     * Key: schema name (e.g., "Dog"), Value: parent sealed class name (e.g., "Animal")
+     * Model names of the models imported from {@link #SHARED_MODELS_PUB_NAME}; set in preprocessOpenAPI
+     * when generating the package of a tag, empty otherwise.
      */
-    private final Map<String, String> sealedClassExtensions = new HashMap<>();
+    private volatile Set<String> sharedModelNames = Set.of();
+
+    /**
+     * Per-run import resolution index, keyed by raw import entry (a model name or an import path).
+     * Maps each entry to its canonical package import, or to {@link #EXCLUDED_IMPORT} when it must not
+     * be imported (primitive types, non-package paths), so that every distinct entry is parsed once.
+     * Cleared together with the import cache, then seeded with the primitive type imports of the package.
+     */
+    private final Map<String, String> importIndex = new ConcurrentHashMap<>();
+    private static final String EXCLUDED_IMPORT = "";
+
+    /**
+     * Per-phase timings and counts of the current run, see {@link DartAcdcGenerationMetrics}.
+     */
+    private final DartAcdcGenerationMetrics metrics = new DartAcdcGenerationMetrics();
+
+    /**
+     * Number of schemas removed by {@link #PRUNE_UNUSED_MODELS} in the current run.
+     */
+    private int prunedModelCount;
+
+    /**
+     * Number of schemas merged by {@link #DEDUPLICATE_MODELS} in the current run.
+     */
+    private int deduplicatedModelCount;
+
+    /**
+     * Single-pass converter behind underscore, toCamelCase and sanitizePubName.
+     */
+    private final DartAcdcIdentifierConverter identifierConverter = new DartAcdcIdentifierConverter();
 
     /**
      * Dart reserved keywords that require escaping.
      * These cannot be used as identifiers in Dart code.
      */
-    protected static final Set<String> DART_RESERVED_WORDS = new HashSet<>(Arrays.asList(
+    protected static final Set<String> DART_RESERVED_WORDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
         // Keywords
         "abstract", "as", "assert", "async", "await",
         "break", "case", "catch", "class", "const",
@@ -104,7 +190,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         "super", "switch", "sync", "this", "throw",
         "true", "try", "typedef", "var", "void",
         "while", "with", "yield"
-    ));
+    )));
 
     /**
      * Constructor - configures the generator with Dart-ACDC specific settings.
@@ -266,14 +352,20 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public String toModelName(String name) {
+        String cached = modelNameCache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
         // First apply standard sanitization from parent class
         String sanitized = super.toModelName(name);
 
         // If the sanitized name is a Dart reserved keyword (case-insensitive check), suffix with "Model"
-        if (isReservedWord(sanitized.toLowerCase())) {
-            return sanitized + RESERVED_WORD_MODEL_SUFFIX;
+        if (isReservedWord(sanitized.toLowerCase(Locale.ROOT))) {
+            sanitized = sanitized + RESERVED_WORD_MODEL_SUFFIX;
         }
 
+        modelNameCache.put(name, sanitized);
         return sanitized;
     }
 
@@ -286,9 +378,16 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public String toModelFilename(String name) {
+        String cached = modelFilenameCache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
         // Convert the model name to snake_case for Dart file naming conventions
         // e.g., "UserProfile" -> "user_profile"
-        return underscore(toModelName(name));
+        String filename = underscore(toModelName(name));
+        modelFilenameCache.put(name, filename);
+        return filename;
     }
 
     /**
@@ -300,18 +399,77 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public String toModelImport(String name) {
+        String pubName = importPubName();
+
+        String cached = modelImportCache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Convert model name to filename
+        String filename = toModelFilename(name);
+
+        // Generate Dart package import path
+        // Format: package:{pubName}/models/{filename}.dart, in the shared package for shared models
+        String modelImport = "package:" + (sharedModelNames.contains(name) ? sharedModelsPubName() : pubName)
+            + "/models/" + filename + ".dart";
+        modelImportCache.put(name, modelImport);
+        return modelImport;
+    }
+
+    /**
+     * Returns the package imports are generated for, clearing the import caches when it changed.
+     *
+     * @return the pubName, or the default package name
+     */
+    private String importPubName() {
         // Get the pubName from additional properties, or use default
         String pubName = (String) additionalProperties.get("pubName");
         if (pubName == null || pubName.isEmpty()) {
             pubName = DEFAULT_PACKAGE_NAME;
         }
 
-        // Convert model name to filename
-        String filename = toModelFilename(name);
+        // pubName can be changed through additionalProperties after processOpts (e.g., in tests)
+        if (!pubName.equals(modelImportCachePubName)) {
+            modelImportCache.clear();
+            importIndex.clear();
+            // Primitive type imports are excluded up front rather than parsed on first use
+            for (String primitive : PRIMITIVE_TYPES) {
+                importIndex.put("package:" + pubName + "/models/" + primitive + ".dart", EXCLUDED_IMPORT);
+            }
+            modelImportCachePubName = pubName;
+        }
+        return pubName;
+    }
 
-        // Generate Dart package import path
-        // Format: package:{pubName}/models/{filename}.dart
-        return "package:" + pubName + "/models/" + filename + ".dart";
+    /**
+     * Resolves an import entry through the import index.
+     * Import paths are kept as they are; anything else is taken as a model name.
+     *
+     * @param entry a model name or an import path
+     * @return the canonical package import, or null if the entry must not be imported
+     */
+    private String resolveImport(String entry) {
+        importPubName();
+        String resolved = importIndex.get(entry);
+        if (resolved == null) {
+            String importPath = entry.startsWith("package:") ? entry : toModelImport(entry);
+            resolved = importPath != null && importPath.startsWith("package:") && !isPrimitiveTypeImport(importPath)
+                ? importPath
+                : EXCLUDED_IMPORT;
+            importIndex.put(entry, resolved);
+        }
+        return resolved.isEmpty() ? null : resolved;
+    }
+
+    /**
+     * Returns true when an import path is a package import that may be emitted.
+     *
+     * @param importPath the import path
+     * @return false for model names, non-package paths and primitive types
+     */
+    private boolean isImportable(String importPath) {
+        return importPath != null && importPath.startsWith("package:") && resolveImport(importPath) != null;
     }
 
     /**
@@ -334,20 +492,9 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
             return DEFAULT_PACKAGE_NAME;
         }
 
-        // Convert to lowercase
-        String sanitized = name.toLowerCase();
-
-        // Replace spaces and hyphens with underscores
-        sanitized = PATTERN_SPACES_HYPHENS.matcher(sanitized).replaceAll("_");
-
-        // Remove all characters except a-z, 0-9, and _
-        sanitized = PATTERN_NON_ALPHANUMERIC_PACKAGE.matcher(sanitized).replaceAll("");
-
-        // Collapse consecutive underscores to single underscore
-        sanitized = PATTERN_CONSECUTIVE_UNDERSCORES.matcher(sanitized).replaceAll("_");
-
-        // Remove leading/trailing underscores
-        sanitized = PATTERN_LEADING_TRAILING_UNDERSCORES.matcher(sanitized).replaceAll("");
+        // Lowercase, map spaces/hyphens to underscores, drop invalid characters,
+        // collapse underscore runs and strip leading/trailing underscores in one pass
+        String sanitized = identifierConverter.packageName(name);
 
         // If empty after sanitization, use default
         if (sanitized.isEmpty()) {
@@ -355,7 +502,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         }
 
         // Prefix with 'api_' if name starts with a digit
-        if (PATTERN_STARTS_WITH_DIGIT.matcher(sanitized).matches()) {
+        if (Character.isDigit(sanitized.charAt(0))) {
             sanitized = NUMERIC_PACKAGE_PREFIX + sanitized;
         }
 
@@ -371,12 +518,111 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
     public void processOpts() {
         super.processOpts();
 
+        // Case mapping of every generated name, pubName included, must not depend on the machine's locale:
+        // under a Turkish or Azeri locale, "Integer" would become "ınteger" in file and import names
+        identifierConverter.setLocale(Locale.ROOT);
+
         // Sanitize pubName if provided
         if (additionalProperties.containsKey("pubName")) {
             String pubName = (String) additionalProperties.get("pubName");
             String sanitizedPubName = sanitizePubName(pubName);
             additionalProperties.put("pubName", sanitizedPubName);
         }
+
+        // No template renders operation examples, and they can outweigh the whole document
+        if (DartAcdcLowMemoryMode.isEnabled(this)
+            && !additionalProperties.containsKey(CodegenConstants.SKIP_OPERATION_EXAMPLE)) {
+            setSkipOperationExample(true);
+        }
+
+        // Options processed above (pubName, model name prefix/suffix, mappings) feed the name caches
+        clearModelNameCaches();
+        sharedModelNames = Set.of();
+
+        metrics.start(generationMetricsFile());
+    }
+
+    /**
+     * Returns true when {@link #DETERMINISTIC_OUTPUT} is enabled.
+     *
+     * @return whether the output must only depend on the spec and options
+     */
+    boolean isDeterministicOutput() {
+        return Boolean.parseBoolean(String.valueOf(additionalProperties.get(DETERMINISTIC_OUTPUT)));
+    }
+
+    /**
+     * Returns the generation metrics report file: {@code generationMetrics=true} writes
+     * generation-metrics.json in the output directory, any other value except false is a path.
+     *
+     * @return the report file, or null when the report is disabled
+     */
+    private Path generationMetricsFile() {
+        Object value = additionalProperties.get(GENERATION_METRICS);
+        if (value == null || "false".equalsIgnoreCase(value.toString()) || value.toString().isEmpty()) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(value) || "true".equalsIgnoreCase(value.toString())) {
+            return Paths.get(outputFolder, DartAcdcGenerationMetrics.REPORT_FILE_NAME);
+        }
+        return Paths.get(value.toString());
+    }
+
+    /**
+     * Writes the generation metrics report, unless the driver renders after this hook and writes it itself.
+     */
+    @Override
+    public void postProcess() {
+        super.postProcess();
+        if (!metrics.isReportDeferred()) {
+            metrics.finish();
+        }
+    }
+
+    /**
+     * Returns the generation metrics of the current run.
+     *
+     * @return the generation metrics
+     */
+    DartAcdcGenerationMetrics getGenerationMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the number of schemas pruned because no operation uses them.
+     *
+     * @return the pruned schema count, 0 unless {@link #PRUNE_UNUSED_MODELS} is enabled
+     */
+    int getPrunedModelCount() {
+        return prunedModelCount;
+    }
+
+    /**
+     * Returns the number of schemas merged into an identical schema.
+     *
+     * @return the merged schema count, 0 unless {@link #DEDUPLICATE_MODELS} is enabled
+     */
+    int getDeduplicatedModelCount() {
+        return deduplicatedModelCount;
+    }
+
+    /**
+     * Returns the package shared models are imported from, or null when no models are shared.
+     */
+    private String sharedModelsPubName() {
+        Object pubName = additionalProperties.get(SHARED_MODELS_PUB_NAME);
+        return pubName == null || String.valueOf(pubName).isEmpty() ? null : String.valueOf(pubName);
+    }
+
+    /**
+     * Clears the per-run model name, filename and import caches.
+     */
+    void clearModelNameCaches() {
+        modelNameCache.clear();
+        modelFilenameCache.clear();
+        modelImportCache.clear();
+        importIndex.clear();
+        modelImportCachePubName = null;
     }
 
     /**
@@ -435,41 +681,14 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      * @param input the string to convert
      * @return camelCase version of the string
      */
-    private String toCamelCase(String input) {
+    String toCamelCase(String input) {
         if (input == null || input.isEmpty()) {
             return "";
         }
 
-        // Replace various separators with spaces
-        String processed = PATTERN_SEPARATORS.matcher(input).replaceAll(" ").trim();
-
-        if (processed.isEmpty()) {
-            return "";
-        }
-
-        // Split into words
-        String[] words = PATTERN_WHITESPACE.split(processed);
-        StringBuilder result = new StringBuilder();
-
-        for (int i = 0; i < words.length; i++) {
-            String word = words[i];
-            if (word.isEmpty()) {
-                continue;
-            }
-
-            if (i == 0) {
-                // First word: lowercase
-                result.append(word.toLowerCase());
-            } else {
-                // Subsequent words: capitalize first letter
-                result.append(capitalize(word.toLowerCase()));
-            }
-        }
-
-        // Remove any remaining non-alphanumeric characters
-        String sanitized = PATTERN_NON_ALPHANUMERIC_CAMEL.matcher(result.toString()).replaceAll("");
-
-        return sanitized;
+        // Split on separators, lowercase words, capitalize all but the first and drop
+        // non-alphanumeric characters in one pass
+        return identifierConverter.camelCase(input);
     }
 
     /**
@@ -482,7 +701,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         if (str == null || str.isEmpty()) {
             return str;
         }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
+        return str.substring(0, 1).toUpperCase(Locale.ROOT) + str.substring(1);
     }
 
     /**
@@ -492,7 +711,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      * @param name the name in PascalCase or camelCase
      * @return the name in snake_case
      */
-    private String underscore(String name) {
+    String underscore(String name) {
         if (name == null || name.isEmpty()) {
             return name;
         }
@@ -500,21 +719,25 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         // Insert underscore before uppercase letters (except at the start)
         // and convert to lowercase
         // e.g., "UserProfile" -> "user_profile", "HTTPResponse" -> "http_response"
-        String result = PATTERN_LOWERCASE_UPPERCASE.matcher(name).replaceAll("$1_$2");
-        result = PATTERN_UPPERCASE_SEQUENCE.matcher(result).replaceAll("$1_$2");
-        result = result.toLowerCase();
-
-        return result;
+        return identifierConverter.underscore(name);
     }
 
     /**
-     * Preprocesses the OpenAPI specification to flatten allOf compositions and detect circular references.
+     * Preprocesses the OpenAPI specification to prune unused schemas (when enabled), flatten allOf
+     * compositions, detect circular references and index the sealed class hierarchy of oneOf/anyOf schemas.
      * This runs before model generation to optimize the schema structure for code generation.
      *
      * @param openAPI the OpenAPI specification
      */
     @Override
     public void preprocessOpenAPI(io.swagger.v3.oas.models.OpenAPI openAPI) {
+        metrics.time("preprocessOpenAPI", null, () -> preprocessSchemas(openAPI));
+    }
+
+    /**
+     * Preprocesses the schemas, see {@link #preprocessOpenAPI(io.swagger.v3.oas.models.OpenAPI)}.
+     */
+    private void preprocessSchemas(io.swagger.v3.oas.models.OpenAPI openAPI) {
         super.preprocessOpenAPI(openAPI);
 
         LOGGER.info("Preprocessing OpenAPI spec for allOf composition");
@@ -522,16 +745,88 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         Map<String, Schema> schemas = extractSchemas(openAPI);
         if (schemas == null) {
             LOGGER.info("No schemas to preprocess");
+            sealedHierarchy = DartAcdcSealedHierarchy.EMPTY;
             return;
         }
 
         LOGGER.info("Found {} schemas to process", schemas.size());
 
+        // Drop the schemas no operation uses before doing any work on them
+        prunedModelCount = 0;
+        if (Boolean.parseBoolean(String.valueOf(additionalProperties.get(PRUNE_UNUSED_MODELS)))) {
+            prunedModelCount = metrics.time("preprocessOpenAPI.pruning", null,
+                () -> DartAcdcModelPruner.prune(openAPI, schemas));
+            metrics.count("prunedSchemas", prunedModelCount);
+            LOGGER.info("Pruned {} schemas not reachable from any operation, {} left", prunedModelCount, schemas.size());
+        }
+
         // First pass: flatten allOf compositions
-        flattenAllOfCompositions(schemas);
+        metrics.time("preprocessOpenAPI.allOfFlattening", null, () -> flattenAllOfCompositions(schemas));
+
+        // Merge the schemas that are identical once flattened
+        deduplicatedModelCount = 0;
+        if (Boolean.parseBoolean(String.valueOf(additionalProperties.get(DEDUPLICATE_MODELS)))) {
+            deduplicatedModelCount = metrics.time("preprocessOpenAPI.deduplication", null,
+                () -> DartAcdcSchemaDeduplicator.deduplicate(openAPI, schemas));
+            metrics.count("deduplicatedSchemas", deduplicatedModelCount);
+            LOGGER.info("Merged {} schemas into an identical schema, {} left", deduplicatedModelCount, schemas.size());
+        }
 
         // Second pass: detect and mark circular references
-        detectAllCircularReferences(schemas);
+        metrics.time("preprocessOpenAPI.cycleDetection", null, () -> detectAllCircularReferences(schemas));
+
+        // Third pass: index which models extend which oneOf/anyOf sealed class
+        sealedHierarchy = metrics.time("preprocessOpenAPI.sealedHierarchy", null,
+            () -> DartAcdcSealedHierarchy.build(schemas, ref -> toModelName(extractSchemaNameFromRef(ref))));
+        LOGGER.info("Indexed {} sealed class extensions", sealedHierarchy.childCount());
+
+        // Fourth pass: when generating one package of a sharded client, skip the models of the others
+        if (additionalProperties.get(SHARD_TAG) != null || isShardCore()) {
+            metrics.time("preprocessOpenAPI.sharding", null, () -> restrictToShard(openAPI, schemas));
+        }
+    }
+
+    /**
+     * Restricts model generation to the package selected by {@link #SHARD_TAG} or {@link #SHARD_CORE}.
+     * The models of the other packages are mapped to themselves through the schema mapping, so that they
+     * are referenced as usual but not generated; shared models are imported from {@link #SHARED_MODELS_PUB_NAME}.
+     * Without a shared package, the package of a tag also generates the shared models.
+     *
+     * @param openAPI the OpenAPI specification
+     * @param schemas its schemas
+     */
+    @SuppressWarnings("rawtypes")
+    private void restrictToShard(io.swagger.v3.oas.models.OpenAPI openAPI, Map<String, Schema> schemas) {
+        DartAcdcShardPlan plan = DartAcdcShardPlan.build(openAPI, schemas, this::sanitizeTag);
+        Set<String> generated;
+        if (isShardCore()) {
+            generated = plan.coreSchemas();
+        } else {
+            String tag = String.valueOf(additionalProperties.get(SHARD_TAG));
+            // Inline schemas are named by now; the operations of other tags would only be processed to be dropped
+            DartAcdcShardPlan.retainOperations(openAPI, tag, this::sanitizeTag);
+            generated = new HashSet<>(plan.schemasOf(tag));
+            if (sharedModelsPubName() == null) {
+                generated.addAll(plan.coreSchemas());
+            } else {
+                Set<String> shared = new HashSet<>();
+                for (String schemaName : plan.coreSchemas()) {
+                    shared.add(toModelName(schemaName));
+                }
+                sharedModelNames = shared;
+            }
+        }
+
+        for (String schemaName : schemas.keySet()) {
+            if (!generated.contains(schemaName)) {
+                schemaMapping.putIfAbsent(schemaName, toModelName(schemaName));
+            }
+        }
+        LOGGER.info("Generating {} of {} models in this package", generated.size(), schemas.size());
+    }
+
+    private boolean isShardCore() {
+        return Boolean.parseBoolean(String.valueOf(additionalProperties.get(SHARD_CORE)));
     }
 
     /**
@@ -550,96 +845,77 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
 
     /**
      * Flattens all allOf compositions in the schema map.
+     * Schemas are flattened in dependency order: the parents referenced by an allOf are flattened
+     * before their children, so every merge sees fully flattened parents and each schema is
+     * composed exactly once regardless of its position in the map.
      *
      * @param schemas the schemas to process (modified in place)
      */
     @SuppressWarnings("rawtypes")
     private void flattenAllOfCompositions(Map<String, Schema> schemas) {
-        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
-            String schemaName = entry.getKey();
-            Schema schema = entry.getValue();
-
-            if (schema.getAllOf() != null && !schema.getAllOf().isEmpty()) {
-                LOGGER.info("Processing allOf for schema: {}", schemaName);
-                Schema flattenedSchema = composeAllOfSchemaPreprocess(schemaName, schema, schemas);
-                schemas.put(schemaName, flattenedSchema);
-                LOGGER.info("Replaced schema {} with flattened version", schemaName);
-            }
-        }
-    }
+        Set<String> flattened = new HashSet<>();
+        Set<String> inProgress = new HashSet<>();
 
-    /**
-     * Detects circular references in all schemas and marks affected properties as nullable.
-     *
-     * @param schemas all schemas to check for circular references
-     */
-    @SuppressWarnings("rawtypes")
-    private void detectAllCircularReferences(Map<String, Schema> schemas) {
-        LOGGER.info("Detecting circular references");
-        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
-            String schemaName = entry.getKey();
-            Schema schema = entry.getValue();
-            detectCircularReferences(schemaName, schema, schemas, new HashSet<>());
+        for (String schemaName : new ArrayList<>(schemas.keySet())) {
+            flattenAllOfSchema(schemaName, schemas, flattened, inProgress);
         }
     }
 
     /**
-     * Detects circular references in a schema by traversing the property graph.
-     * Marks properties involved in circular references as nullable.
+     * Flattens a single schema after flattening the schemas its allOf references.
+     * Results are cached in the schema map itself; the flattened set records which entries are final.
      *
-     * @param schemaName the current schema name
-     * @param schema the current schema
-     * @param allSchemas all available schemas for reference resolution
-     * @param visitedPath set of schema names in the current path (for cycle detection)
+     * @param schemaName the schema to flatten
+     * @param schemas all schemas (flattened entries are replaced in place)
+     * @param flattened names of schemas whose entry in the map is already final
+     * @param inProgress names of schemas on the current dependency path (cycle guard)
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private void detectCircularReferences(String schemaName, Schema schema, Map<String, Schema> allSchemas, Set<String> visitedPath) {
-        if (schema == null || schema.getProperties() == null) {
+    private void flattenAllOfSchema(String schemaName, Map<String, Schema> schemas,
+                                    Set<String> flattened, Set<String> inProgress) {
+        if (flattened.contains(schemaName)) {
             return;
         }
 
-        // Add current schema to path
-        visitedPath.add(schemaName);
-
-        Map<String, Schema> properties = (Map<String, Schema>) schema.getProperties();
-
-        for (Map.Entry<String, Schema> propEntry : properties.entrySet()) {
-            String propName = propEntry.getKey();
-            Schema propSchema = propEntry.getValue();
+        Schema schema = schemas.get(schemaName);
+        if (schema == null || schema.getAllOf() == null || schema.getAllOf().isEmpty()) {
+            flattened.add(schemaName);
+            return;
+        }
 
-            // Check if this property references another schema
-            String referencedSchemaName = null;
-
-            if (propSchema.get$ref() != null) {
-                // Direct reference
-                String ref = propSchema.get$ref();
-                referencedSchemaName = extractSchemaNameFromRef(ref);
-            } else if ("array".equals(propSchema.getType()) && propSchema.getItems() != null && propSchema.getItems().get$ref() != null) {
-                // Array of references
-                String ref = propSchema.getItems().get$ref();
-                referencedSchemaName = extractSchemaNameFromRef(ref);
-            }
+        if (!inProgress.add(schemaName)) {
+            LOGGER.warn("Cyclic allOf chain detected at schema '{}'. Merging it in its current form.", schemaName);
+            return;
+        }
 
-            if (referencedSchemaName != null) {
-                // Check if this creates a cycle
-                if (visitedPath.contains(referencedSchemaName)) {
-                    // Circular reference detected!
-                    LOGGER.info("Circular reference detected: {} -> {} (in property '{}')", schemaName, referencedSchemaName, propName);
-
-                    // Mark property as nullable
-                    propSchema.setNullable(true);
-                    LOGGER.info("Marked property '{}' in schema '{}' as nullable", propName, schemaName);
-                } else {
-                    // Continue traversal
-                    Schema referencedSchema = allSchemas.get(referencedSchemaName);
-                    if (referencedSchema != null) {
-                        // Create a new visited set for this branch (copy current path)
-                        Set<String> newPath = new HashSet<>(visitedPath);
-                        detectCircularReferences(referencedSchemaName, referencedSchema, allSchemas, newPath);
-                    }
-                }
+        // Flatten referenced parents first so they are merged in their final form
+        for (Schema allOfSchema : (List<Schema>) schema.getAllOf()) {
+            if (allOfSchema.get$ref() != null) {
+                flattenAllOfSchema(extractSchemaNameFromRef(allOfSchema.get$ref()), schemas, flattened, inProgress);
             }
         }
+
+        LOGGER.info("Processing allOf for schema: {}", schemaName);
+        Schema flattenedSchema = composeAllOfSchemaPreprocess(schemaName, schema, schemas);
+        schemas.put(schemaName, flattenedSchema);
+        LOGGER.info("Replaced schema {} with flattened version", schemaName);
+
+        inProgress.remove(schemaName);
+        flattened.add(schemaName);
+    }
+
+    /**
+     * Detects circular references in all schemas and marks affected properties as nullable.
+     * Builds the schema dependency graph once and resolves cycles from its strongly connected
+     * components, so the cost is linear in the number of schemas and references.
+     *
+     * @param schemas all schemas to check for circular references
+     */
+    @SuppressWarnings("rawtypes")
+    private void detectAllCircularReferences(Map<String, Schema> schemas) {
+        LOGGER.info("Detecting circular references");
+        int marked = new DartAcdcSchemaGraph(schemas).markCycleClosingPropertiesNullable();
+        LOGGER.info("Marked {} circular reference properties as nullable", marked);
     }
 
     /**
@@ -860,6 +1136,13 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public CodegenModel fromModel(String name, Schema schema) {
+        return metrics.time("fromModel", name, () -> createModel(name, schema));
+    }
+
+    /**
+     * Creates the model of a schema, see {@link #fromModel(String, Schema)}.
+     */
+    private CodegenModel createModel(String name, Schema schema) {
         CodegenModel model = super.fromModel(name, schema);
 
         // Check if this schema has enum values and no properties (standalone enum)
@@ -881,7 +1164,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         }
 
         // Check if this model should extend a sealed class
-        String parentSealedClass = sealedClassExtensions.get(model.classname);
+        String parentSealedClass = sealedHierarchy.parentOf(model.classname);
         if (parentSealedClass != null) {
             model.parent = parentSealedClass;
             model.vendorExtensions.put("x-extends-sealed-class", true);
@@ -914,9 +1197,6 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         List<Schema> oneOfSchemas = (List<Schema>) schema.getOneOf();
         List<Map<String, Object>> alternatives = processCompositionAlternatives(name, oneOfSchemas, "oneOf");
 
-        // Track which schemas should extend this sealed class
-        registerSealedClassExtensions(name, oneOfSchemas);
-
         model.vendorExtensions.put("x-one-of-alternatives", alternatives);
         LOGGER.info("Processed oneOf for '{}': {} alternatives", name, alternatives.size());
     }
@@ -943,9 +1223,6 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         List<Schema> anyOfSchemas = (List<Schema>) schema.getAnyOf();
         List<Map<String, Object>> alternatives = processCompositionAlternatives(name, anyOfSchemas, "anyOf");
 
-        // Track which schemas should extend this sealed class
-        registerSealedClassExtensions(name, anyOfSchemas);
-
         model.vendorExtensions.put("x-any-of-alternatives", alternatives);
         LOGGER.info("Processed anyOf for '{}': {} alternatives", name, alternatives.size());
     }
@@ -998,6 +1275,9 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
                 );
                 discriminatorMapping.add(mappingEntry);
             }
+            if (isDeterministicOutput()) {
+                discriminatorMapping.sort(Comparator.comparing(entry -> (String) entry.get("mappingKey")));
+            }
 
             model.vendorExtensions.put("x-discriminator-mapping", discriminatorMapping);
         }
@@ -1092,26 +1372,6 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         }
     }
 
-    /**
-     * Registers schemas referenced in oneOf/anyOf to extend the parent sealed class.
-     *
-     * @param parentName the parent sealed class name
-     * @param schemas the list of referenced schemas
-     */
-    @SuppressWarnings("rawtypes")
-    private void registerSealedClassExtensions(String parentName, List<Schema> schemas) {
-        for (Schema schema : schemas) {
-            if (schema.get$ref() != null) {
-                // Only register for references (not inline primitives or objects)
-                String ref = schema.get$ref();
-                String childSchemaName = extractSchemaNameFromRef(ref);
-                String childModelName = toModelName(childSchemaName);
-                sealedClassExtensions.put(childModelName, parentName);
-                LOGGER.info("Registered {} to extend sealed class {}", childModelName, parentName);
-            }
-        }
-    }
-
     /**
      * Checks if an OpenAPI type is a primitive type (string, integer, number, boolean).
      * Arrays and objects are not considered primitive.
@@ -1161,46 +1421,44 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        return metrics.time("postProcessModels", modelName(objs), () -> processModels(objs));
+    }
+
+    /**
+     * Post-processes the models of one bundle, see {@link #postProcessModels(ModelsMap)}.
+     */
+    private ModelsMap processModels(ModelsMap objs) {
         ModelsMap result = super.postProcessModels(objs);
+        boolean lowMemory = DartAcdcLowMemoryMode.isEnabled(this);
+        int largeEnumThreshold = DartAcdcEnumTable.threshold(this);
 
         // Process each model to add enum variables with collision-resistant naming
         for (ModelMap modelMap : result.getModels()) {
             CodegenModel model = modelMap.getModel();
 
-            // Fix model imports: convert from simple model names to proper import paths
-            if (model.imports != null && !model.imports.isEmpty()) {
-                Set<String> fixedImports = new HashSet<>();
+            // Resolve model imports in one pass: model names become package imports, primitive types
+            // and non-package paths are dropped, and the result is sorted as it is collected
+            Set<String> imports = new TreeSet<>();
+            if (model.imports != null) {
                 for (Object importObj : model.imports) {
-                    if (importObj instanceof String) {
-                        String importStr = (String) importObj;
-                        // Check if this is already a full path (starts with package:)
-                        if (importStr.startsWith("package:")) {
-                            fixedImports.add(importStr);
-                        } else {
-                            // Convert model name to import path
-                            String importPath = toModelImport(importStr);
-                            if (importPath != null && !importPath.isEmpty()) {
-                                fixedImports.add(importPath);
-                            }
-                        }
-                    } else if (importObj instanceof Map) {
+                    if (importObj instanceof String importStr) {
+                        addResolvedImport(imports, resolveImport(importStr));
+                    } else if (importObj instanceof Map<?, ?> importMap) {
                         // Similar to operations fix - extract import path from map
-                        Map<?, ?> importMap = (Map<?, ?>) importObj;
                         Object importPath = importMap.get("import");
-                        if (importPath != null) {
-                            fixedImports.add(importPath.toString());
+                        if (importPath != null && isImportable(importPath.toString())) {
+                            imports.add(importPath.toString());
                         }
                     }
                 }
-                model.imports.clear();
-                model.imports.addAll(fixedImports);
             }
 
             if (model.isEnum && model.allowableValues != null) {
                 @SuppressWarnings("unchecked")
                 List<Object> values = (List<Object>) model.allowableValues.get("values");
 
-                if (values != null && !values.isEmpty()) {
+                if (values != null && !values.isEmpty()
+                    && !DartAcdcEnumTable.apply(model, values, largeEnumThreshold)) {
                     // Determine datatype from model
                     String datatype = model.dataType != null ? model.dataType : "string";
 
@@ -1215,17 +1473,16 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
                 for (CodegenProperty prop : model.vars) {
                     if (prop.vendorExtensions.containsKey(VENDOR_EXTENSION_DART_IMPORT)) {
                         String dartImport = (String) prop.vendorExtensions.get(VENDOR_EXTENSION_DART_IMPORT);
-                        if (dartImport != null && !dartImport.isEmpty()) {
-                            model.imports.add(dartImport);
+                        if (isImportable(dartImport)) {
+                            imports.add(dartImport);
                         }
                     }
 
                     // Add imports for oneOf/anyOf composition properties
                     if (prop.vendorExtensions.containsKey("x-is-composition-property")) {
                         // The property's complexType contains the model name that needs to be imported
-                        String importPath = toModelImport(prop.complexType);
-                        if (importPath != null && !importPath.isEmpty()) {
-                            model.imports.add(importPath);
+                        if (prop.complexType != null) {
+                            addResolvedImport(imports, resolveImport(prop.complexType));
                         }
                     }
                 }
@@ -1233,24 +1490,17 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
 
             // Add imports for oneOf/anyOf sealed class alternatives
             if (model.vendorExtensions.containsKey("x-is-one-of")) {
-                addAlternativeImports(model, "x-one-of-alternatives");
+                addAlternativeImports(model, "x-one-of-alternatives", imports);
             }
             if (model.vendorExtensions.containsKey("x-is-any-of")) {
-                addAlternativeImports(model, "x-any-of-alternatives");
+                addAlternativeImports(model, "x-any-of-alternatives", imports);
             }
 
-            // Clean up imports: keep only valid package imports
             // Note: Final cleanup happens in postProcessAllModels() after base class adds more imports
-            if (model.imports != null && !model.imports.isEmpty()) {
-                Set<String> validImports = new HashSet<>();
-                for (Object importObj : model.imports) {
-                    String importStr = importObj.toString();
-                    // Only keep imports that start with "package:" and don't reference primitive types
-                    if (importStr.startsWith("package:") && !isPrimitiveTypeImport(importStr)) {
-                        validImports.add(importStr);
-                    }
-                }
-                model.imports = new TreeSet<>(validImports);
+            model.imports = imports;
+
+            if (lowMemory) {
+                DartAcdcLowMemoryMode.compact(model);
             }
         }
 
@@ -1269,6 +1519,13 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        return metrics.time("postProcessAllModels", null, () -> processAllModels(objs));
+    }
+
+    /**
+     * Post-processes all models, see {@link #postProcessAllModels(Map)}.
+     */
+    private Map<String, ModelsMap> processAllModels(Map<String, ModelsMap> objs) {
         Map<String, ModelsMap> result = super.postProcessAllModels(objs);
 
         // Final cleanup: Remove simple-name imports added by base class
@@ -1280,22 +1537,66 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
                 CodegenModel model = modelMap.getModel();
 
                 if (model.imports != null && !model.imports.isEmpty()) {
-                    Set<String> validImports = new TreeSet<>();
-                    for (Object importObj : model.imports) {
-                        String importStr = importObj.toString();
-                        // Only keep imports that start with "package:" and don't reference primitive types
-                        if (importStr.startsWith("package:") && !isPrimitiveTypeImport(importStr)) {
-                            validImports.add(importStr);
-                        }
+                    // Only keep package imports that don't reference primitive types, in place
+                    model.imports.removeIf(importStr -> !isImportable(importStr));
+                    if (!(model.imports instanceof TreeSet)) {
+                        model.imports = new TreeSet<>(model.imports);
                     }
-                    model.imports = new TreeSet<>(validImports);
                 }
             }
         }
 
+        if (metrics.isCounting()) {
+            countModels(result);
+        }
+
         return result;
     }
 
+    /**
+     * Adds the schema, property, alternative, import and enum var counts of the final models to the
+     * generation metrics.
+     *
+     * @param models the post-processed models
+     */
+    @SuppressWarnings("unchecked")
+    private void countModels(Map<String, ModelsMap> models) {
+        for (ModelsMap modelsMap : models.values()) {
+            for (ModelMap modelMap : modelsMap.getModels()) {
+                CodegenModel model = modelMap.getModel();
+                metrics.count("schemas", 1);
+                metrics.count("properties", model.vars == null ? 0 : model.vars.size());
+                for (String key : List.of("x-one-of-alternatives", "x-any-of-alternatives")) {
+                    if (model.vendorExtensions.get(key) instanceof Collection<?> alternatives) {
+                        metrics.count("alternatives", alternatives.size());
+                    }
+                }
+                metrics.count("imports", model.imports == null ? 0 : model.imports.size());
+                if (model.allowableValues != null && model.allowableValues.get("enumVars") instanceof List<?> enumVars) {
+                    metrics.count("enumVars", enumVars.size());
+                } else if (model.vendorExtensions.get(DartAcdcEnumTable.VENDOR_EXTENSION_TABLE_SIZE) instanceof Integer size) {
+                    metrics.count("enumVars", size);
+                }
+                if (model.vars != null) {
+                    for (CodegenProperty property : model.vars) {
+                        if (property.allowableValues != null
+                            && property.allowableValues.get("enumVars") instanceof List<?> enumVars) {
+                            metrics.count("enumVars", enumVars.size());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the first model of a models map, as the subject of its metrics phase.
+     */
+    private static String modelName(ModelsMap objs) {
+        List<ModelMap> models = objs.getModels();
+        return models == null || models.isEmpty() ? null : models.get(0).getModel().name;
+    }
+
     /**
      * OpenAPI primitive types (used for oneOf/anyOf composition logic).
      * These are the standard OpenAPI primitive types that can appear in schemas.
@@ -1339,15 +1640,28 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         return PRIMITIVE_TYPES.contains(filename);
     }
 
+    /**
+     * Adds a resolved import, unless it was excluded.
+     *
+     * @param imports the model imports
+     * @param importPath the resolved import, or null
+     */
+    private static void addResolvedImport(Set<String> imports, String importPath) {
+        if (importPath != null) {
+            imports.add(importPath);
+        }
+    }
+
     /**
      * Adds imports for oneOf/anyOf sealed class alternatives.
-     * Extracts import paths from alternative metadata and adds them to model.imports.
+     * Extracts import paths from alternative metadata and adds them to the model imports.
      *
      * @param model the codegen model
      * @param alternativesKey the vendor extension key containing alternatives ("x-one-of-alternatives" or "x-any-of-alternatives")
+     * @param imports the model imports being built
      */
     @SuppressWarnings("unchecked")
-    private void addAlternativeImports(CodegenModel model, String alternativesKey) {
+    private void addAlternativeImports(CodegenModel model, String alternativesKey, Set<String> imports) {
         Object alternativesObj = model.vendorExtensions.get(alternativesKey);
         if (!(alternativesObj instanceof List)) {
             return;
@@ -1361,8 +1675,8 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
                 Object importPathObj = alternative.get("importPath");
                 if (importPathObj instanceof String) {
                     String importPath = (String) importPathObj;
-                    if (!importPath.isEmpty()) {
-                        model.imports.add(importPath);
+                    if (isImportable(importPath)) {
+                        imports.add(importPath);
                         LOGGER.info("Added import for sealed class alternative: {}", importPath);
                     }
                 }
@@ -1423,7 +1737,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
 
     /**
      * Overrides the base implementation to detect multipart/form-data context
-     * and set ThreadLocal context for property processing.
+     * and set the multipart context for property processing.
      *
      * @param name the parameter name
      * @param requestBody the request body specification
@@ -1440,8 +1754,8 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
                 boolean isMultipart = isMultipartContent(content);
 
                 if (isMultipart) {
-                    // Set ThreadLocal context for property processing
-                    IS_MULTIPART_CONTEXT.set(true);
+                    // Set multipart context for property processing
+                    multipartContext = true;
                 }
             }
 
@@ -1452,7 +1766,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
             }
 
             // Mark the parameter with multipart context information
-            if (IS_MULTIPART_CONTEXT.get()) {
+            if (multipartContext) {
                 parameter.vendorExtensions.put(VENDOR_EXTENSION_IS_MULTIPART_CONTEXT, true);
 
                 // If this parameter itself is a file/binary type, mark it specifically
@@ -1463,8 +1777,8 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
 
             return parameter;
         } finally {
-            // Always clear ThreadLocal after processing to avoid memory leaks
-            IS_MULTIPART_CONTEXT.remove();
+            // Always clear the context, so that later properties map to List<int>
+            multipartContext = false;
         }
     }
 
@@ -1503,7 +1817,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
     /**
      * Overrides fromProperty to apply context-aware type mapping for binary/file properties.
      *
-     * Checks the ThreadLocal context to determine if we're in a multipart/form-data request,
+     * Checks the multipart context to determine if we're in a multipart/form-data request,
      * and maps binary/file types accordingly:
      * - Multipart context: type=string,format=binary → MultipartFile
      * - Non-multipart context: type=string,format=binary → List<int>
@@ -1527,7 +1841,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         String type = schema.getType();
         boolean isBinary = "string".equals(type) && "binary".equals(format);
 
-        if (isBinary && IS_MULTIPART_CONTEXT.get()) {
+        if (isBinary && multipartContext) {
             // We're in multipart/form-data context - use MultipartFile
             property.dataType = DART_TYPE_MULTIPART_FILE;
             property.datatypeWithEnum = DART_TYPE_MULTIPART_FILE;
@@ -1552,7 +1866,7 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
             String refName = property.dataType;
             if (refName != null) {
                 // Check if this type is a sealed class parent (oneOf/anyOf schema)
-                boolean isCompositionType = sealedClassExtensions.containsValue(refName);
+                boolean isCompositionType = sealedHierarchy.isParent(refName);
                 if (isCompositionType) {
                     property.vendorExtensions.put("x-is-composition-property", true);
                 }
@@ -1669,20 +1983,13 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
     }
 
     /**
-     * Adds testValue and testValueRaw vendor extensions to a list of parameters.
+     * Adds testValue and testValueRaw vendor extensions to a parameter.
      *
-     * @param params the parameter list (may be null)
+     * @param param the parameter
      */
-    private void addTestValuesToParams(List<CodegenParameter> params) {
-        if (params == null) {
-            return;
-        }
-        for (CodegenParameter param : params) {
-            String testValue = getTestValueForType(param.dataType);
-            param.vendorExtensions.put("testValue", testValue);
-            String testValueRaw = getTestValueRawForType(param.dataType);
-            param.vendorExtensions.put("testValueRaw", testValueRaw);
-        }
+    private void addTestValues(CodegenParameter param) {
+        param.vendorExtensions.put("testValue", getTestValueForType(param.dataType));
+        param.vendorExtensions.put("testValueRaw", getTestValueRawForType(param.dataType));
     }
 
     /**
@@ -1742,6 +2049,14 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
      */
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        String classname = objs.getOperations().getClassname();
+        return metrics.time("postProcessOperationsWithModels", classname, () -> processOperations(objs, allModels));
+    }
+
+    /**
+     * Post-processes the operations of one API, see {@link #postProcessOperationsWithModels(OperationsMap, List)}.
+     */
+    private OperationsMap processOperations(OperationsMap objs, List<ModelMap> allModels) {
         OperationsMap result = super.postProcessOperationsWithModels(objs, allModels);
 
         // Get the operations list to track which models are actually used
@@ -1751,25 +2066,10 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
         // Track which models are actually used across all operations
         Set<String> usedModelImports = new HashSet<>();
 
-        // First pass: identify which models are actually used
+        // Single pass: each operation and its parameters are visited once
+        Map<String, List<CodegenParameter>> paramCopies = new HashMap<>();
         for (CodegenOperation operation : ops) {
-            // Add imports for return types
-            if (operation.returnType != null && !operation.returnType.equals("void")) {
-                String returnModelImport = getModelImportFromType(operation.returnBaseType != null ? operation.returnBaseType : operation.returnType);
-                if (returnModelImport != null) {
-                    usedModelImports.add(returnModelImport);
-                }
-            }
-
-            // Add imports for parameters
-            if (operation.allParams != null) {
-                for (CodegenParameter param : operation.allParams) {
-                    String paramModelImport = getModelImportFromType(param.baseType != null ? param.baseType : param.dataType);
-                    if (paramModelImport != null) {
-                        usedModelImports.add(paramModelImport);
-                    }
-                }
-            }
+            postProcessOperation(operation, usedModelImports, paramCopies);
         }
 
         // Fix imports: OpenAPI Generator populates the imports list with Map objects
@@ -1793,139 +2093,165 @@ public class DartAcdcGenerator extends DefaultCodegen implements CodegenConfig {
                 // 1. Don't reference primitive types
                 // 2. Are actually used in operation signatures
                 if (importPath != null &&
-                    importPath.startsWith("package:") &&
-                    !isPrimitiveTypeImport(importPath) &&
-                    usedModelImports.contains(importPath)) {
+                    usedModelImports.contains(importPath) &&
+                    isImportable(importPath)) {
                     fixedImports.add(importPath);
                 }
             }
             result.put("imports", fixedImports);
+            metrics.count("imports", fixedImports.size());
         }
 
-        // Second pass: process operations for multipart and other special handling
-        for (CodegenOperation operation : ops) {
-            // Convert HTTP method to lowercase for Dio method calls (GET -> get, POST -> post, etc.)
-            if (operation.httpMethod != null) {
-                // Store PascalCase version for test templates (Get, Post, Delete)
-                // This is used for method names like onGetJson, onPostJson, etc.
-                String httpMethodLower = operation.httpMethod.toLowerCase();
-                String httpMethodPascal = capitalize(httpMethodLower);
-                operation.vendorExtensions.put("httpMethodCapitalized", httpMethodPascal);
-
-                // Convert to lowercase for Dio method calls
-                operation.httpMethod = httpMethodLower;
-            }
+        return result;
+    }
 
-            // Add test metadata for test templates
-            String sampleResponseJson = getSampleResponseJson(
-                operation.returnType,
-                operation.returnBaseType,
-                operation.isArray
-            );
-            // Ensure sampleResponseJson is never empty - use fallback if needed
-            if (sampleResponseJson == null || sampleResponseJson.trim().isEmpty()) {
-                sampleResponseJson = "<String, dynamic>{}";
-                LOGGER.warn("sampleResponseJson was empty for operation {}, using fallback",
-                           operation.operationId);
+    /**
+     * Post-processes one operation in a single pass over its parameters.
+     *
+     * OpenAPI Generator creates separate instances of a parameter for allParams and for its location list
+     * (pathParams, queryParams, bodyParams, headerParams, formParams). The location copies are indexed by
+     * paramName once, so that a binary parameter of a multipart operation updates its copies without scanning
+     * the lists again.
+     *
+     * @param operation the operation
+     * @param usedModelImports collects the model imports used by the operation signature
+     * @param paramCopies scratch index of the location copies, reused across operations
+     */
+    private void postProcessOperation(CodegenOperation operation, Set<String> usedModelImports,
+                                      Map<String, List<CodegenParameter>> paramCopies) {
+        // Add imports for return types
+        if (operation.returnType != null && !operation.returnType.equals("void")) {
+            String returnModelImport = getModelImportFromType(operation.returnBaseType != null ? operation.returnBaseType : operation.returnType);
+            if (returnModelImport != null) {
+                usedModelImports.add(returnModelImport);
             }
-            operation.vendorExtensions.put("sampleResponseJson", sampleResponseJson);
-
-            // Add test values to all parameter lists
-            // OpenAPI Generator creates separate instances for allParams, pathParams, queryParams, etc.
-            // We must set vendor extensions on ALL lists for template access
-            addTestValuesToParams(operation.allParams);
-            addTestValuesToParams(operation.pathParams);
-            addTestValuesToParams(operation.queryParams);
-            addTestValuesToParams(operation.bodyParams);
-            addTestValuesToParams(operation.headerParams);
-            addTestValuesToParams(operation.formParams);
-
-            // Check if this operation has multipart/form-data content
-            boolean isMultipartOperation = operation.hasConsumes && operation.consumes != null &&
-                    operation.consumes.stream().anyMatch(consume -> {
-                        Object mediaType = consume.get(MEDIA_TYPE_KEY);
-                        return mediaType instanceof String && CONTENT_TYPE_MULTIPART_FORM_DATA.equals(mediaType);
-                    });
-
-            if (isMultipartOperation) {
-                // Mark the operation
-                operation.vendorExtensions.put(VENDOR_EXTENSION_IS_MULTIPART, true);
-
-                // Add MultipartFile import for this operation
-                operation.imports.add(DART_IMPORT_DIO);
-
-                // Process all parameters to change binary types to MultipartFile
-                if (operation.allParams != null) {
-                    for (CodegenParameter param : operation.allParams) {
-                        // Check if this is a binary parameter (List<int> indicates binary)
-                        if (param.isBinary || DART_TYPE_LIST_INT.equals(param.dataType)) {
-                            // Change to MultipartFile for multipart context
-                            param.dataType = DART_TYPE_MULTIPART_FILE;
-                            param.datatypeWithEnum = DART_TYPE_MULTIPART_FILE;
-                            param.baseType = DART_TYPE_MULTIPART_FILE;
-                            param.vendorExtensions.put(VENDOR_EXTENSION_IS_MULTIPART_FILE, true);
-                            param.vendorExtensions.put(VENDOR_EXTENSION_DART_IMPORT, DART_IMPORT_DIO);
-
-                            // Update in all parameter lists
-                            updateParameterInLists(operation, param);
-                        }
-                    }
+        }
+
+        // Convert HTTP method to lowercase for Dio method calls (GET -> get, POST -> post, etc.)
+        if (operation.httpMethod != null) {
+            // Store PascalCase version for test templates (Get, Post, Delete)
+            // This is used for method names like onGetJson, onPostJson, etc.
+            String httpMethodLower = operation.httpMethod.toLowerCase(Locale.ROOT);
+            String httpMethodPascal = capitalize(httpMethodLower);
+            operation.vendorExtensions.put("httpMethodCapitalized", httpMethodPascal);
+
+            // Convert to lowercase for Dio method calls
+            operation.httpMethod = httpMethodLower;
+        }
+
+        // Add test metadata for test templates
+        String sampleResponseJson = getSampleResponseJson(
+            operation.returnType,
+            operation.returnBaseType,
+            operation.isArray
+        );
+        // Ensure sampleResponseJson is never empty - use fallback if needed
+        if (sampleResponseJson == null || sampleResponseJson.trim().isEmpty()) {
+            sampleResponseJson = "<String, dynamic>{}";
+            LOGGER.warn("sampleResponseJson was empty for operation {}, using fallback",
+                       operation.operationId);
+        }
+        operation.vendorExtensions.put("sampleResponseJson", sampleResponseJson);
+
+        boolean isMultipartOperation = isMultipartOperation(operation);
+        if (isMultipartOperation) {
+            // Mark the operation
+            operation.vendorExtensions.put(VENDOR_EXTENSION_IS_MULTIPART, true);
+
+            // Add MultipartFile import for this operation
+            operation.imports.add(DART_IMPORT_DIO);
+        }
+
+        // Add test values to the location copies; only multipart operations need the index
+        paramCopies.clear();
+        addParamCopies(operation.pathParams, isMultipartOperation, paramCopies);
+        addParamCopies(operation.queryParams, isMultipartOperation, paramCopies);
+        addParamCopies(operation.bodyParams, isMultipartOperation, paramCopies);
+        addParamCopies(operation.headerParams, isMultipartOperation, paramCopies);
+        addParamCopies(operation.formParams, isMultipartOperation, paramCopies);
+
+        if (operation.allParams != null) {
+            for (CodegenParameter param : operation.allParams) {
+                // Add imports for parameters
+                String paramModelImport = getModelImportFromType(param.baseType != null ? param.baseType : param.dataType);
+                if (paramModelImport != null) {
+                    usedModelImports.add(paramModelImport);
                 }
-            }
 
-            // Scan all parameters for any that require special imports
-            if (operation.allParams != null) {
-                for (CodegenParameter param : operation.allParams) {
-                    if (param.vendorExtensions.containsKey(VENDOR_EXTENSION_DART_IMPORT)) {
-                        String dartImport = (String) param.vendorExtensions.get(VENDOR_EXTENSION_DART_IMPORT);
-                        if (dartImport != null && !dartImport.isEmpty()) {
-                            operation.imports.add(dartImport);
+                addTestValues(param);
+
+                // Check if this is a binary parameter (List<int> indicates binary)
+                if (isMultipartOperation && (param.isBinary || DART_TYPE_LIST_INT.equals(param.dataType))) {
+                    // Change to MultipartFile for multipart context
+                    param.dataType = DART_TYPE_MULTIPART_FILE;
+                    param.datatypeWithEnum = DART_TYPE_MULTIPART_FILE;
+                    param.baseType = DART_TYPE_MULTIPART_FILE;
+                    param.vendorExtensions.put(VENDOR_EXTENSION_IS_MULTIPART_FILE, true);
+                    param.vendorExtensions.put(VENDOR_EXTENSION_DART_IMPORT, DART_IMPORT_DIO);
+
+                    // The request body copies carry the file type too
+                    for (CodegenParameter copy : paramCopies.getOrDefault(param.paramName, List.of())) {
+                        if (copy.isBodyParam || copy.isFormParam) {
+                            copy.dataType = param.dataType;
+                            copy.datatypeWithEnum = param.datatypeWithEnum;
+                            copy.baseType = param.baseType;
                         }
                     }
                 }
-            }
 
-            // Fix array return types: Ensure List<T> has generic parameter
-            if (operation.returnType != null && operation.isArray && operation.returnBaseType != null) {
-                // Only fix if returnType is missing the generic parameter
-                if ("List".equals(operation.returnType)) {
-                    operation.returnType = "List<" + operation.returnBaseType + ">";
+                // Add the imports required by the parameter
+                Object dartImport = param.vendorExtensions.get(VENDOR_EXTENSION_DART_IMPORT);
+                if (dartImport != null && !((String) dartImport).isEmpty()) {
+                    operation.imports.add((String) dartImport);
                 }
-                // Ensure isListContainer is set for template
-                operation.vendorExtensions.put("isListContainer", true);
             }
         }
 
-        return result;
+        // Fix array return types: Ensure List<T> has generic parameter
+        if (operation.returnType != null && operation.isArray && operation.returnBaseType != null) {
+            // Only fix if returnType is missing the generic parameter
+            if ("List".equals(operation.returnType)) {
+                operation.returnType = "List<" + operation.returnBaseType + ">";
+            }
+            // Ensure isListContainer is set for template
+            operation.vendorExtensions.put("isListContainer", true);
+        }
     }
 
     /**
-     * Synchronizes parameter type information across all parameter lists (allParams, bodyParams, formParams).
-     * Required because OpenAPI Generator creates separate instances for each list.
+     * Checks whether an operation consumes multipart/form-data.
      *
-     * @param operation the operation containing the parameter lists
-     * @param param the parameter with updated type information to propagate
+     * @param operation the operation
+     * @return true if one of its request content types is multipart/form-data
      */
-    private void updateParameterInLists(CodegenOperation operation, CodegenParameter param) {
-        // Update in bodyParams if present
-        if (operation.bodyParams != null) {
-            for (CodegenParameter p : operation.bodyParams) {
-                if (p.paramName.equals(param.paramName)) {
-                    p.dataType = param.dataType;
-                    p.datatypeWithEnum = param.datatypeWithEnum;
-                    p.baseType = param.baseType;
-                }
+    private boolean isMultipartOperation(CodegenOperation operation) {
+        if (!operation.hasConsumes || operation.consumes == null) {
+            return false;
+        }
+        for (Map<String, String> consume : operation.consumes) {
+            if (CONTENT_TYPE_MULTIPART_FORM_DATA.equals(consume.get(MEDIA_TYPE_KEY))) {
+                return true;
             }
         }
+        return false;
+    }
 
-        // Update in formParams if present
-        if (operation.formParams != null) {
-            for (CodegenParameter p : operation.formParams) {
-                if (p.paramName.equals(param.paramName)) {
-                    p.dataType = param.dataType;
-                    p.datatypeWithEnum = param.datatypeWithEnum;
-                    p.baseType = param.baseType;
-                }
+    /**
+     * Adds test values to the parameters of a location list and, if requested, indexes them by paramName.
+     *
+     * @param params the location list (may be null)
+     * @param index whether to index the parameters
+     * @param paramCopies the index of the location copies
+     */
+    private void addParamCopies(List<CodegenParameter> params, boolean index,
+                                Map<String, List<CodegenParameter>> paramCopies) {
+        if (params == null) {
+            return;
+        }
+        for (CodegenParameter param : params) {
+            addTestValues(param);
+            if (index) {
+                paramCopies.computeIfAbsent(param.paramName, name -> new ArrayList<>(2)).add(param);
             }
         }
     }
@@ -0,0 +1,228 @@
+package org.openapitools.codegen.languages;
+
+import java.util.Locale;
+
+/**
+ * Single-pass identifier conversions used for Dart file, enum and package names.
+ *
+ * Each conversion scans its input once and writes into one reused {@link StringBuilder}, replacing
+ * the regex chains previously used by the generator while producing identical output.
+ *
+ * The scanning rules only look at ASCII character classes. Case mapping is done per character when
+ * the input is pure ASCII and the case mapping locale maps ASCII letters the usual way. Otherwise it is
+ * delegated to {@link String#toLowerCase(Locale)} / {@link String#toUpperCase(Locale)}, because those can be
+ * context- and locale-sensitive (e.g., Turkish dotless i, Kelvin sign -> 'k'). The case mapping locale is
+ * the default locale unless one is set, see {@link #setLocale(Locale)}.
+ *
+ * Instances are not thread-safe; each generator owns its own converter.
+ */
+final class DartAcdcIdentifierConverter {
+
+    private final StringBuilder buffer = new StringBuilder(64);
+    private Locale locale;
+
+    /**
+     * Sets the locale of case mapping.
+     *
+     * @param locale the locale, or null for the default locale
+     */
+    void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    /**
+     * Converts PascalCase/camelCase to snake_case.
+     *
+     * An underscore is inserted before an uppercase letter that follows a lowercase letter or digit,
+     * and before the last uppercase letter of an acronym followed by a lowercase letter;
+     * the result is lowercased (e.g., "HTTPResponse" -> "http_response").
+     *
+     * @param name a non-empty name
+     * @return the snake_case name
+     */
+    String underscore(String name) {
+        boolean asciiCase = usesAsciiCaseMapping(name);
+        int length = name.length();
+        buffer.setLength(0);
+
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (i > 0 && isUpper(c)
+                && (isLowerOrDigit(previous) || (isUpper(previous) && i + 1 < length && isLower(name.charAt(i + 1))))) {
+                buffer.append('_');
+            }
+            buffer.append(asciiCase ? toLower(c) : c);
+            previous = c;
+        }
+
+        return asciiCase ? buffer.toString() : buffer.toString().toLowerCase(locale());
+    }
+
+    /**
+     * Converts a separated string to camelCase.
+     *
+     * Words are separated by runs of '-', '_', '.', '/' and whitespace; leading and trailing separators
+     * and control characters are ignored. The first word is lowercased, following words are lowercased
+     * with their first character uppercased, and everything except [a-zA-Z0-9] is dropped.
+     *
+     * @param input a non-empty string
+     * @return the camelCase identifier (may be empty)
+     */
+    String camelCase(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && isTrimmed(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isTrimmed(input.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return "";
+        }
+
+        boolean asciiCase = usesAsciiCaseMapping(input);
+        buffer.setLength(0);
+
+        int i = start;
+        boolean firstWord = true;
+        while (i < end) {
+            while (isSeparator(input.charAt(i))) {
+                i++;
+            }
+            int wordStart = i;
+            while (i < end && !isSeparator(input.charAt(i))) {
+                i++;
+            }
+
+            if (asciiCase) {
+                appendAsciiWord(input, wordStart, i, !firstWord);
+            } else {
+                appendWord(input.substring(wordStart, i), !firstWord);
+            }
+            firstWord = false;
+        }
+
+        return buffer.toString();
+    }
+
+    /**
+     * Sanitizes a Dart pub package name.
+     *
+     * The name is lowercased, spaces and hyphens become underscores, everything except [a-z0-9_]
+     * is dropped, underscore runs are collapsed and leading/trailing underscores are removed.
+     *
+     * @param name a non-empty name
+     * @return the sanitized name (may be empty)
+     */
+    String packageName(String name) {
+        boolean asciiCase = usesAsciiCaseMapping(name);
+        String lower = asciiCase ? name : name.toLowerCase(locale());
+        buffer.setLength(0);
+
+        for (int i = 0; i < lower.length(); i++) {
+            char c = asciiCase ? toLower(lower.charAt(i)) : lower.charAt(i);
+            if (c == ' ' || c == '-' || c == '_') {
+                int last = buffer.length() - 1;
+                if (last >= 0 && buffer.charAt(last) != '_') {
+                    buffer.append('_');
+                }
+            } else if (isLowerOrDigit(c)) {
+                buffer.append(c);
+            }
+        }
+
+        int last = buffer.length() - 1;
+        if (last >= 0 && buffer.charAt(last) == '_') {
+            buffer.setLength(last);
+        }
+        return buffer.toString();
+    }
+
+    private void appendAsciiWord(String input, int start, int end, boolean capitalize) {
+        for (int i = start; i < end; i++) {
+            char c = toLower(input.charAt(i));
+            if (capitalize && i == start) {
+                c = toUpper(c);
+            }
+            if (isAlphanumeric(c)) {
+                buffer.append(c);
+            }
+        }
+    }
+
+    private void appendWord(String word, boolean capitalize) {
+        String lower = word.toLowerCase(locale());
+        if (capitalize) {
+            lower = lower.substring(0, 1).toUpperCase(locale()) + lower.substring(1);
+        }
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (isAlphanumeric(c)) {
+                buffer.append(c);
+            }
+        }
+    }
+
+    private Locale locale() {
+        return locale != null ? locale : Locale.getDefault();
+    }
+
+    /**
+     * Returns true when per-character ASCII case mapping matches String case mapping for the input.
+     */
+    private boolean usesAsciiCaseMapping(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        String language = locale().getLanguage();
+        return !"tr".equals(language) && !"az".equals(language);
+    }
+
+    /**
+     * Separators: '-', '_', '.', '/' and regex whitespace ([ \t\n\x0B\f\r]).
+     */
+    private static boolean isSeparator(char c) {
+        switch (c) {
+            case '-': case '_': case '.': case '/':
+            case ' ': case '\t': case '\n': case '\u000B': case '\f': case '\r':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Characters dropped from both ends of a camelCase input (separators and String.trim() characters).
+     */
+    private static boolean isTrimmed(char c) {
+        return c <= ' ' || isSeparator(c);
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isLowerOrDigit(char c) {
+        return isLower(c) || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLowerOrDigit(c) || isUpper(c);
+    }
+
+    private static char toLower(char c) {
+        return isUpper(c) ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static char toUpper(char c) {
+        return isLower(c) ? (char) (c - ('a' - 'A')) : c;
+    }
+}
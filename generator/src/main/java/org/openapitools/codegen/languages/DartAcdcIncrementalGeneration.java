@@ -0,0 +1,499 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.serializer.SerializerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Incremental generation state backed by a content-hash manifest ({@value #MANIFEST_FILE_NAME}) in the output directory.
+ *
+ * Every model and API file is keyed by a hash of the inputs that produce it: the resolved OpenAPI subtree
+ * (the schema or operations plus every component they reference, transitively), the template name and a
+ * run context made of the generator build, custom templates and generator options. A file whose key matches
+ * the previous run and that still exists is not rendered again.
+ *
+ * When the whole run is unchanged (same spec, same context) and all previously generated files exist,
+ * generation is skipped entirely.
+ */
+final class DartAcdcIncrementalGeneration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcIncrementalGeneration.class);
+
+    static final String MANIFEST_FILE_NAME = ".dart-acdc-manifest.json";
+    private static final int MANIFEST_VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String SCHEMAS_POINTER = "/components/schemas/";
+    private static final String[] GLOBAL_POINTERS = {
+        "/info", "/servers", "/security", "/components/securitySchemes"
+    };
+
+    private final Path outputDir;
+    private final String contextHash;
+    private final Manifest previous;
+    private final Manifest current = new Manifest();
+
+    // Lazily built on the first lookup, once the generator has finished preprocessing the document
+    private OpenAPI openAPI;
+    private JsonNode specTree;
+    private String globalHash;
+    private final Map<String, String> nodeHashes = new HashMap<>();
+    private final Map<String, List<String>> sealedParents = new HashMap<>();
+
+    private int unchanged;
+    private int rendered;
+
+    /**
+     * Persisted form of the manifest.
+     */
+    static final class Manifest {
+        public int manifestVersion = MANIFEST_VERSION;
+        public String runHash;
+        public SortedMap<String, String> inputs = new TreeMap<>();
+        public SortedSet<String> files = new TreeSet<>();
+    }
+
+    /**
+     * Creates the incremental state for a run, loading the previous manifest if present.
+     *
+     * @param outputDir the generator output directory
+     * @param contextHash hash of the run context (generator build, templates, options)
+     */
+    DartAcdcIncrementalGeneration(Path outputDir, String contextHash) {
+        this.outputDir = outputDir.toAbsolutePath().normalize();
+        this.contextHash = contextHash;
+        this.previous = readManifest(this.outputDir.resolve(MANIFEST_FILE_NAME));
+    }
+
+    /**
+     * Records the hash of the whole, unprocessed document for this run.
+     *
+     * @param openAPI the document as handed to the generator
+     */
+    void startRun(OpenAPI openAPI) {
+        current.runHash = sha256(contextHash, sha256(toJson(openAPI).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns true when the document and context are unchanged since the last run and every
+     * previously generated file still exists, so that generation can be skipped.
+     *
+     * @return whether the previous output is up to date
+     */
+    boolean isUpToDate() {
+        if (previous == null || !Objects.equals(previous.runHash, current.runHash)) {
+            return false;
+        }
+        for (String file : previous.files) {
+            if (!Files.exists(outputDir.resolve(file))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the files generated by the previous run.
+     *
+     * @return absolute files, in manifest order
+     */
+    List<File> previousFiles() {
+        List<File> files = new ArrayList<>();
+        if (previous != null) {
+            previous.files.forEach(file -> files.add(outputDir.resolve(file).toFile()));
+        }
+        return files;
+    }
+
+    /**
+     * Sets the document whose (preprocessed) content is hashed for file inputs.
+     *
+     * @param openAPI the document being generated
+     */
+    void setOpenAPI(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    /**
+     * Computes the input hash of a model or API file from its template bundle.
+     *
+     * @param data the template bundle
+     * @param templateName the template being rendered
+     * @param target the target file
+     * @return the input hash, or null if the file is not tracked (supporting files, unknown bundles)
+     */
+    String inputHash(Map<String, Object> data, String templateName, File target) {
+        Set<String> roots = new TreeSet<>();
+        if (!collectRoots(data, roots)) {
+            return null;
+        }
+        ensureSpecTree();
+
+        MessageDigest digest = newDigest();
+        update(digest, contextHash);
+        update(digest, globalHash);
+        update(digest, templateName);
+        update(digest, relativePath(target));
+        for (String pointer : closure(roots)) {
+            update(digest, pointer);
+            update(digest, nodeHash(pointer));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns true when the target exists and was produced from the same inputs by the previous run.
+     *
+     * @param target the target file
+     * @param inputHash the input hash for the file
+     * @return whether rendering can be skipped
+     */
+    boolean isUnchanged(File target, String inputHash) {
+        boolean same = previous != null
+            && inputHash.equals(previous.inputs.get(relativePath(target)))
+            && target.exists();
+        if (same) {
+            unchanged++;
+        } else {
+            rendered++;
+        }
+        return same;
+    }
+
+    /**
+     * Records the input hash of a model or API file for the next run.
+     *
+     * @param target the target file
+     * @param inputHash the input hash
+     */
+    void recordInputs(File target, String inputHash) {
+        current.inputs.put(relativePath(target), inputHash);
+    }
+
+    /**
+     * Writes the manifest for this run.
+     *
+     * @param generatedFiles every file generated (or kept) by this run
+     * @throws IOException if the manifest cannot be written
+     */
+    void save(List<File> generatedFiles) throws IOException {
+        for (File file : generatedFiles) {
+            current.files.add(relativePath(file));
+        }
+        DartAcdcStagedOutput.replace(outputDir.resolve(MANIFEST_FILE_NAME),
+            MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(current));
+        LOGGER.info("Incremental generation: {} files unchanged, {} rendered", unchanged, rendered);
+    }
+
+    int unchangedCount() {
+        return unchanged;
+    }
+
+    int renderedCount() {
+        return rendered;
+    }
+
+    // ========== Input resolution ==========
+
+    /**
+     * Collects the JSON pointers of the spec nodes a model or API bundle is generated from.
+     *
+     * @return false if the bundle is not a model or API bundle
+     */
+    @SuppressWarnings("unchecked")
+    private boolean collectRoots(Map<String, Object> data, Set<String> roots) {
+        Object models = data.get("models");
+        if (models instanceof List) {
+            for (Object entry : (List<Object>) models) {
+                Object model = entry instanceof Map ? ((Map<String, Object>) entry).get("model") : null;
+                if (!(model instanceof CodegenModel)) {
+                    return false;
+                }
+                roots.add(SCHEMAS_POINTER + escape(((CodegenModel) model).name));
+            }
+            return !roots.isEmpty();
+        }
+
+        Object operations = data.get("operations");
+        if (operations instanceof Map) {
+            Object operationList = ((Map<String, Object>) operations).get("operation");
+            if (!(operationList instanceof List)) {
+                return false;
+            }
+            for (Object op : (List<Object>) operationList) {
+                if (!(op instanceof CodegenOperation)) {
+                    return false;
+                }
+                CodegenOperation operation = (CodegenOperation) op;
+                String pathPointer = "/paths/" + escape(operation.path);
+                roots.add(pathPointer + "/" + operation.httpMethod.toLowerCase(Locale.ROOT));
+                roots.add(pathPointer + "/parameters");
+            }
+            // Operation order and tag assignment are part of the file as well
+            roots.add("#operations:" + ((Map<String, Object>) operations).get("classname") + ":" + operationKeys(operationList));
+            return true;
+        }
+
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String operationKeys(Object operationList) {
+        StringBuilder keys = new StringBuilder();
+        for (Object op : (List<Object>) operationList) {
+            CodegenOperation operation = (CodegenOperation) op;
+            keys.append(operation.httpMethod).append(' ').append(operation.path).append(';');
+        }
+        return keys.toString();
+    }
+
+    /**
+     * Expands root pointers with every internal $ref they reach and, for schemas, with the
+     * oneOf/anyOf parents they extend as sealed class members.
+     */
+    private SortedSet<String> closure(Set<String> roots) {
+        SortedSet<String> visited = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            String pointer = pending.pop();
+            if (!visited.add(pointer) || pointer.startsWith("#")) {
+                continue;
+            }
+            collectRefs(node(pointer), pending);
+            if (pointer.startsWith(SCHEMAS_POINTER)) {
+                pending.addAll(sealedParents.getOrDefault(pointer, List.of()));
+            }
+        }
+        return visited;
+    }
+
+    private static void collectRefs(JsonNode node, Deque<String> pending) {
+        if (node == null) {
+            return;
+        }
+        if (node.isObject()) {
+            JsonNode ref = node.get("$ref");
+            if (ref != null && ref.isTextual() && ref.asText().startsWith("#/")) {
+                pending.push(ref.asText().substring(1));
+            }
+        }
+        if (node.isContainerNode()) {
+            for (JsonNode child : node) {
+                collectRefs(child, pending);
+            }
+        }
+    }
+
+    private void ensureSpecTree() {
+        if (specTree != null) {
+            return;
+        }
+        try {
+            specTree = openAPI == null ? MAPPER.createObjectNode() : MAPPER.readTree(toJson(openAPI));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize the OpenAPI document", e);
+        }
+
+        MessageDigest digest = newDigest();
+        for (String pointer : GLOBAL_POINTERS) {
+            update(digest, pointer);
+            update(digest, nodeHash(pointer));
+        }
+        globalHash = toHex(digest.digest());
+
+        // Sealed class members depend on the parent that lists them in oneOf/anyOf
+        JsonNode schemas = specTree.at("/components/schemas");
+        Iterator<Map.Entry<String, JsonNode>> fields = schemas.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String parentPointer = SCHEMAS_POINTER + escape(field.getKey());
+            for (String composition : new String[] {"oneOf", "anyOf"}) {
+                for (JsonNode member : field.getValue().path(composition)) {
+                    JsonNode ref = member.get("$ref");
+                    if (ref != null && ref.isTextual() && ref.asText().startsWith("#" + SCHEMAS_POINTER)) {
+                        sealedParents.computeIfAbsent(ref.asText().substring(1), k -> new ArrayList<>()).add(parentPointer);
+                    }
+                }
+            }
+        }
+    }
+
+    private JsonNode node(String pointer) {
+        try {
+            JsonNode node = specTree.at(JsonPointer.compile(pointer));
+            return node.isMissingNode() ? null : node;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String nodeHash(String pointer) {
+        return nodeHashes.computeIfAbsent(pointer, p -> {
+            JsonNode node = p.startsWith("#") ? null : node(p);
+            return node == null ? "-" : sha256(toJsonBytes(node));
+        });
+    }
+
+    private String relativePath(File file) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        return (path.startsWith(outputDir) ? outputDir.relativize(path) : path).toString().replace(File.separatorChar, '/');
+    }
+
+    // ========== Run context ==========
+
+    /**
+     * Hashes the run context: the generator build, custom templates and generator options.
+     *
+     * @param templateDir the configured template directory (may be a classpath location)
+     * @param options generator options (additional properties, mappings), in a stable order
+     * @return the context hash
+     */
+    static String contextHash(String templateDir, SortedMap<String, String> options) {
+        MessageDigest digest = newDigest();
+        update(digest, generatorFingerprint());
+        if (templateDir != null) {
+            Path dir = Path.of(templateDir);
+            if (Files.isDirectory(dir)) {
+                update(digest, directoryFingerprint(dir));
+            }
+        }
+        options.forEach((key, value) -> {
+            update(digest, key);
+            update(digest, value);
+        });
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Fingerprints the generator build: the jar (or class directory) DartAcdcGenerator was loaded from,
+     * which also holds the embedded templates, plus the OpenAPI Generator version.
+     */
+    static String generatorFingerprint() {
+        MessageDigest digest = newDigest();
+        update(digest, String.valueOf(org.openapitools.codegen.DefaultGenerator.class.getPackage().getImplementationVersion()));
+        try {
+            CodeSource codeSource = DartAcdcGenerator.class.getProtectionDomain().getCodeSource();
+            Path location = codeSource == null ? null : Path.of(codeSource.getLocation().toURI());
+            if (location != null && Files.isDirectory(location)) {
+                update(digest, directoryFingerprint(location));
+            } else if (location != null && Files.isRegularFile(location)) {
+                update(digest, sha256(Files.readAllBytes(location)));
+            } else {
+                update(digest, classFingerprint());
+            }
+        } catch (IOException | URISyntaxException | SecurityException e) {
+            LOGGER.debug("Could not fingerprint generator location, using class bytes", e);
+            update(digest, classFingerprint());
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String classFingerprint() {
+        try (InputStream in = DartAcdcGenerator.class.getResourceAsStream("DartAcdcGenerator.class")) {
+            return in == null ? "-" : sha256(in.readAllBytes());
+        } catch (IOException e) {
+            return "-";
+        }
+    }
+
+    private static String directoryFingerprint(Path dir) {
+        MessageDigest digest = newDigest();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path file : paths.filter(Files::isRegularFile).sorted().toList()) {
+                update(digest, dir.relativize(file).toString());
+                update(digest, sha256(Files.readAllBytes(file)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not fingerprint directory " + dir, e);
+        }
+        return toHex(digest.digest());
+    }
+
+    // ========== Helpers ==========
+
+    private static Manifest readManifest(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            Manifest manifest = MAPPER.readValue(path.toFile(), Manifest.class);
+            if (manifest.manifestVersion != MANIFEST_VERSION) {
+                LOGGER.info("Ignoring manifest {} with version {}", path, manifest.manifestVersion);
+                return null;
+            }
+            return manifest;
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable manifest {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String toJson(OpenAPI openAPI) {
+        String json = SerializerUtils.toJsonString(openAPI);
+        if (json == null) {
+            throw new IllegalStateException("Could not serialize the OpenAPI document");
+        }
+        return json;
+    }
+
+    private static byte[] toJsonBytes(JsonNode value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize generator input", e);
+        }
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String sha256(String... values) {
+        MessageDigest digest = newDigest();
+        for (String value : values) {
+            update(digest, value);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String sha256(byte[] bytes) {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    private static String toHex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,82 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * Low-memory generation ({@value DartAcdcGenerator#LOW_MEMORY}=true), for documents with thousands of schemas.
+ *
+ * OpenAPI Generator keeps every processed model until the run ends, with several copies of each property,
+ * so heap use grows with the whole document. In low-memory mode a model only keeps what the rest of the run
+ * reads from it:
+ * - once a model is post-processed, the property lists no dart-acdc template reads (allVars, requiredVars,
+ *   optionalVars, readOnlyVars, readWriteVars, parent and non-nullable vars) and the model JSON are dropped;
+ * - once the files of a model are rendered, it is reduced to its names, which is what the model barrel and the
+ *   operations need: properties, imports, enum values, vendor extensions (oneOf/anyOf alternatives, discriminator
+ *   mappings) and links to other models are dropped.
+ *
+ * Operation examples, which no dart-acdc template renders, are not generated unless skipOperationExample is set.
+ * Generated files are identical to a regular run.
+ */
+final class DartAcdcLowMemoryMode {
+
+    private DartAcdcLowMemoryMode() {
+    }
+
+    /**
+     * Returns true when low-memory generation is enabled.
+     *
+     * @param config the generator configuration
+     * @return whether low-memory generation is enabled
+     */
+    static boolean isEnabled(CodegenConfig config) {
+        return Boolean.parseBoolean(String.valueOf(config.additionalProperties().get(DartAcdcGenerator.LOW_MEMORY)));
+    }
+
+    /**
+     * Drops the parts of a post-processed model that no template reads. Lists are replaced rather than
+     * cleared, as models without inheritance may share them with {@code vars}.
+     *
+     * @param model the model
+     */
+    static void compact(CodegenModel model) {
+        model.allVars = new ArrayList<>();
+        model.requiredVars = new ArrayList<>();
+        model.optionalVars = new ArrayList<>();
+        model.readOnlyVars = new ArrayList<>();
+        model.readWriteVars = new ArrayList<>();
+        model.parentVars = new ArrayList<>();
+        model.parentRequiredVars = new ArrayList<>();
+        model.nonNullableVars = new ArrayList<>();
+        model.setRequiredVarsMap(new HashMap<>());
+        model.modelJson = null;
+    }
+
+    /**
+     * Reduces the rendered models of a bundle to their names.
+     *
+     * @param models the bundle the model files were rendered from
+     */
+    static void release(ModelsMap models) {
+        for (ModelMap modelMap : models.getModels()) {
+            CodegenModel model = modelMap.getModel();
+            compact(model);
+            model.vars = new ArrayList<>();
+            model.imports = new TreeSet<>();
+            model.allowableValues = null;
+            model.vendorExtensions = new HashMap<>();
+            model.discriminator = null;
+            model.parentModel = null;
+            model.interfaceModels = new ArrayList<>();
+            model.children = new ArrayList<>();
+            model.setComposedSchemas(null);
+            model.testCases = null;
+        }
+    }
+}
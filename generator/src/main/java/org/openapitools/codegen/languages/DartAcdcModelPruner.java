@@ -0,0 +1,110 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Removes the component schemas that no operation uses.
+ *
+ * The roots are the component schemas referenced by the schemas of operation parameters, request bodies,
+ * responses and response headers (see {@link DartAcdcOperationSchemas}). Everything reachable from a
+ * root through $ref, items, additionalProperties, properties and allOf/oneOf/anyOf members is kept,
+ * together with discriminator mapping targets and allOf subtypes of discriminated schemas (see
+ * {@link DartAcdcSchemaGraph}). The other schemas are removed from the document, so neither their
+ * models nor their tests are generated.
+ */
+final class DartAcdcModelPruner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcModelPruner.class);
+
+    private static final String COMPONENTS_SCHEMAS_PREFIX = "#/components/schemas/";
+
+    private final Set<String> roots = new LinkedHashSet<>();
+    private final Set<Schema<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private DartAcdcModelPruner() {
+    }
+
+    /**
+     * Removes the schemas not reachable from any operation.
+     * Documents without operations are left untouched, as nothing would be generated otherwise.
+     *
+     * @param openAPI the document
+     * @param schemas its component schemas (modified in place)
+     * @return the number of schemas removed
+     */
+    @SuppressWarnings("rawtypes")
+    static int prune(OpenAPI openAPI, Map<String, Schema> schemas) {
+        Set<String> roots = operationRoots(openAPI);
+        if (roots == null) {
+            LOGGER.warn("Not pruning unused models: the document has no operations");
+            return 0;
+        }
+
+        Set<String> reachable = new DartAcdcSchemaGraph(schemas).reachableFrom(roots);
+        int before = schemas.size();
+        schemas.keySet().removeIf(name -> !reachable.contains(name));
+        return before - schemas.size();
+    }
+
+    /**
+     * Returns the component schemas the operations of a document reference directly.
+     *
+     * @param openAPI the document
+     * @return the root schema names, or null if the document has no operations
+     */
+    static Set<String> operationRoots(OpenAPI openAPI) {
+        return operationRoots(openAPI, operation -> true);
+    }
+
+    /**
+     * Returns the component schemas the selected operations of a document reference directly.
+     *
+     * @param openAPI the document
+     * @param operations selects the operations
+     * @return the root schema names, or null if no operation was selected
+     */
+    static Set<String> operationRoots(OpenAPI openAPI, Predicate<Operation> operations) {
+        DartAcdcModelPruner pruner = new DartAcdcModelPruner();
+        return DartAcdcOperationSchemas.forEach(openAPI, operations, pruner::collectSchema) ? pruner.roots : null;
+    }
+
+    /**
+     * Records the component schemas an inline schema references. Component schemas themselves are
+     * roots; what they reference is left to the schema graph.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void collectSchema(Schema schema) {
+        if (schema == null) {
+            return;
+        }
+        if (schema.get$ref() != null) {
+            String ref = schema.get$ref();
+            roots.add(ref.startsWith(COMPONENTS_SCHEMAS_PREFIX)
+                ? ref.substring(COMPONENTS_SCHEMAS_PREFIX.length())
+                : ref.substring(ref.lastIndexOf('/') + 1));
+            return;
+        }
+        if (!visited.add(schema)) {
+            return;
+        }
+        collectSchema(schema.getItems());
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            collectSchema((Schema) schema.getAdditionalProperties());
+        }
+        if (schema.getProperties() != null) {
+            ((Map<String, Schema>) schema.getProperties()).values().forEach(this::collectSchema);
+        }
+        for (List<Schema> members : Arrays.asList(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())) {
+            if (members != null) {
+                members.forEach(this::collectSchema);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Template;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mustache engine used by {@link DartAcdcDefaultGenerator}: renders with the compiled templates of a
+ * {@link DartAcdcTemplateCache} instead of compiling the template for every file.
+ *
+ * Each template is looked up in the cache on its first render of the generation, and every later render uses
+ * the same compiled template, so a template is read and hashed once per generation and compiled once per JVM.
+ * Rendering is otherwise the same as {@link MustacheEngineAdapter}, with the compiler the generator configured.
+ */
+class DartAcdcMustacheEngineAdapter extends MustacheEngineAdapter {
+
+    private static final String PARENT_CONTEXT = "MUSTACHE_PARENT_CONTEXT";
+
+    private final DartAcdcTemplateCache templateCache;
+    private final String templateDirs;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder compilations = new LongAdder();
+
+    /**
+     * @param engine the generator's engine, whose compiler is used
+     * @param templateCache the compiled templates
+     * @param templateDirs the template directories of the generation, see {@link DartAcdcTemplateCache}
+     */
+    DartAcdcMustacheEngineAdapter(MustacheEngineAdapter engine, DartAcdcTemplateCache templateCache,
+                                  String templateDirs) {
+        this.templateCache = templateCache;
+        this.templateDirs = templateDirs;
+        setCompiler(engine.getCompiler());
+    }
+
+    @Override
+    public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) {
+        Template template = templates.get(templateFile);
+        if (template == null) {
+            template = templates.computeIfAbsent(templateFile, file -> {
+                DartAcdcTemplateCache.Lookup lookup = templateCache.get(file, templateDirs, getCompiler(), executor);
+                if (lookup.compiled()) {
+                    compilations.increment();
+                }
+                return lookup.template();
+            });
+        } else {
+            templateCache.hit();
+        }
+        renders.increment();
+
+        Object parentContext = bundle.get(PARENT_CONTEXT);
+        StringWriter out = new StringWriter();
+        template.execute(bundle, parentContext != null ? parentContext : new Object(), out);
+        return out.toString();
+    }
+
+    /**
+     * Returns the number of files rendered by the generation.
+     *
+     * @return the render count
+     */
+    long renderCount() {
+        return renders.sum();
+    }
+
+    /**
+     * Returns the number of templates the generation had to compile, the others being cache hits.
+     *
+     * @return the compiled template count
+     */
+    long compiledCount() {
+        return compilations.sum();
+    }
+}
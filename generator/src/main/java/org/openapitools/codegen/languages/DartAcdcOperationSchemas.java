@@ -0,0 +1,188 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Walks the schemas used directly by the operations of an OpenAPI document.
+ *
+ * Visits the schema of every parameter, request body, response and response header of every operation,
+ * callback and webhook, following $refs to shared parameters, request bodies, responses and headers.
+ * Each top-level schema is visited once; what it references is left to the caller.
+ */
+final class DartAcdcOperationSchemas {
+
+    private final Components components;
+    private final Predicate<Operation> operations;
+    private final Consumer<Schema<?>> action;
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private DartAcdcOperationSchemas(Components components, Predicate<Operation> operations, Consumer<Schema<?>> action) {
+        this.components = components;
+        this.operations = operations;
+        this.action = action;
+    }
+
+    /**
+     * Visits every schema used directly by an operation.
+     *
+     * @param openAPI the document
+     * @param action called with each top-level operation schema
+     * @return true if the document has at least one operation
+     */
+    static boolean forEach(OpenAPI openAPI, Consumer<Schema<?>> action) {
+        return forEach(openAPI, operation -> true, action);
+    }
+
+    /**
+     * Visits every schema used directly by the selected operations. Path-level parameters count for
+     * the selected operations of their path; callbacks for the operation that declares them.
+     *
+     * @param openAPI the document
+     * @param operations selects the operations (and webhooks) to visit
+     * @param action called with each top-level operation schema
+     * @return true if at least one operation was selected
+     */
+    static boolean forEach(OpenAPI openAPI, Predicate<Operation> operations, Consumer<Schema<?>> action) {
+        DartAcdcOperationSchemas walker = new DartAcdcOperationSchemas(openAPI.getComponents(), operations, action);
+        boolean hasOperations = false;
+        if (openAPI.getPaths() != null) {
+            for (PathItem pathItem : openAPI.getPaths().values()) {
+                hasOperations |= walker.visitPathItem(pathItem);
+            }
+        }
+        if (openAPI.getWebhooks() != null) {
+            for (PathItem pathItem : openAPI.getWebhooks().values()) {
+                hasOperations |= walker.visitPathItem(pathItem);
+            }
+        }
+        return hasOperations;
+    }
+
+    /**
+     * Visits the schemas of a path item.
+     *
+     * @return true if the path item has at least one selected operation
+     */
+    private boolean visitPathItem(PathItem pathItem) {
+        if (pathItem == null || !visited.add(pathItem)) {
+            return false;
+        }
+        boolean hasOperations = false;
+        for (Operation operation : pathItem.readOperations()) {
+            if (!operations.test(operation)) {
+                continue;
+            }
+            if (!hasOperations) {
+                visitParameters(pathItem.getParameters());
+                hasOperations = true;
+            }
+            visitParameters(operation.getParameters());
+            visitRequestBody(operation.getRequestBody());
+            if (operation.getResponses() != null) {
+                operation.getResponses().values().forEach(this::visitResponse);
+            }
+            if (operation.getCallbacks() != null) {
+                for (Callback callback : operation.getCallbacks().values()) {
+                    if (callback != null) {
+                        callback.values().forEach(this::visitPathItem);
+                    }
+                }
+            }
+        }
+        return hasOperations;
+    }
+
+    private void visitParameters(List<Parameter> parameters) {
+        if (parameters == null) {
+            return;
+        }
+        for (Parameter parameter : parameters) {
+            if (parameter == null || !visited.add(parameter)) {
+                continue;
+            }
+            if (parameter.get$ref() != null) {
+                visitParameters(Collections.singletonList(component(parameter.get$ref(),
+                    components == null ? null : components.getParameters())));
+                continue;
+            }
+            visitSchema(parameter.getSchema());
+            visitContent(parameter.getContent());
+        }
+    }
+
+    private void visitRequestBody(RequestBody requestBody) {
+        if (requestBody == null || !visited.add(requestBody)) {
+            return;
+        }
+        if (requestBody.get$ref() != null) {
+            visitRequestBody(component(requestBody.get$ref(), components == null ? null : components.getRequestBodies()));
+            return;
+        }
+        visitContent(requestBody.getContent());
+    }
+
+    private void visitResponse(ApiResponse response) {
+        if (response == null || !visited.add(response)) {
+            return;
+        }
+        if (response.get$ref() != null) {
+            visitResponse(component(response.get$ref(), components == null ? null : components.getResponses()));
+            return;
+        }
+        visitContent(response.getContent());
+        if (response.getHeaders() != null) {
+            response.getHeaders().values().forEach(this::visitHeader);
+        }
+    }
+
+    private void visitHeader(Header header) {
+        if (header == null || !visited.add(header)) {
+            return;
+        }
+        if (header.get$ref() != null) {
+            visitHeader(component(header.get$ref(), components == null ? null : components.getHeaders()));
+            return;
+        }
+        visitSchema(header.getSchema());
+        visitContent(header.getContent());
+    }
+
+    private void visitContent(Content content) {
+        if (content == null) {
+            return;
+        }
+        for (MediaType mediaType : content.values()) {
+            if (mediaType != null) {
+                visitSchema(mediaType.getSchema());
+            }
+        }
+    }
+
+    private void visitSchema(Schema<?> schema) {
+        if (schema != null && visited.add(schema)) {
+            action.accept(schema);
+        }
+    }
+
+    /**
+     * Resolves a local component $ref.
+     */
+    private static <T> T component(String ref, Map<String, T> components) {
+        return components == null ? null : components.get(ref.substring(ref.lastIndexOf('/') + 1));
+    }
+}
@@ -0,0 +1,227 @@
+package org.openapitools.codegen.languages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes rendered files on a dedicated thread, for staged output (see {@link DartAcdcStagedOutput}).
+ *
+ * Renders hand their content over with {@link #submit(Path, byte[])} and go on; the writer thread drains the
+ * queue in batches and writes each file with a single {@link FileChannel}, creating each directory once.
+ * Writes keep their submission order, so a file written twice ends up with its last content, as when writing
+ * on the calling thread. On slow (network) file systems, rendering no longer waits for each write.
+ *
+ * Files are written into the staging directory, where existing files may be hard links to the live output:
+ * a changed file is deleted and created again rather than overwritten, so that the live file is never modified.
+ * Files whose content is unchanged are left as they are, and existing files are kept when skipOverwrite is set.
+ *
+ * The queue is bounded, so that rendering waits for the writer rather than buffering the whole output.
+ * The first failed write is reported by {@link #submit(Path, byte[])}, {@link #flush()} and {@link #close()};
+ * later files are not written.
+ */
+final class DartAcdcOutputWriter implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcOutputWriter.class);
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * What the writer did with a file.
+     */
+    enum Outcome {
+        WRITTEN, UNCHANGED, KEPT
+    }
+
+    /**
+     * Receives the outcome of each file, on the writer thread.
+     */
+    interface Listener {
+        void written(Path path, Outcome outcome);
+    }
+
+    private record Write(Path path, byte[] contents) {
+    }
+
+    private static final Object STOP = new Object();
+
+    private final boolean skipOverwrite;
+    private final Listener listener;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Set<Path> submitted = ConcurrentHashMap.newKeySet();
+    // Only accessed from the writer thread
+    private final Set<Path> directories = new HashSet<>();
+    private final Thread thread;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Starts the writer thread.
+     *
+     * @param skipOverwrite whether to keep files that already exist
+     * @param listener receives the outcome of each file
+     */
+    DartAcdcOutputWriter(boolean skipOverwrite, Listener listener) {
+        this.skipOverwrite = skipOverwrite;
+        this.listener = listener;
+        thread = new Thread(this::run, "dart-acdc-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a file, waiting while the queue is full.
+     *
+     * @param path the file, as an absolute, normalized path
+     * @param contents its content, which must not be modified afterwards
+     * @throws IOException if an earlier write failed
+     */
+    void submit(Path path, byte[] contents) throws IOException {
+        throwFailure();
+        submitted.add(path);
+        put(new Write(path, contents));
+    }
+
+    /**
+     * Returns true if the file was submitted, whether or not it is written yet.
+     *
+     * @param path the file, as an absolute, normalized path
+     * @return true if submitted
+     */
+    boolean isSubmitted(Path path) {
+        return submitted.contains(path);
+    }
+
+    /**
+     * Waits until every submitted file is written.
+     *
+     * @throws IOException if a write failed
+     */
+    void flush() throws IOException {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        put(flushed);
+        flushed.join();
+        throwFailure();
+    }
+
+    /**
+     * Writes every submitted file and stops the writer thread.
+     *
+     * @throws IOException if a write failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        put(STOP);
+        closed = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing files", e);
+        }
+        throwFailure();
+    }
+
+    /**
+     * Stops the writer thread without writing the files still queued, after a failed generation.
+     */
+    void abort() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    private void put(Object item) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The output writer is closed");
+        }
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing files", e);
+        }
+    }
+
+    private void throwFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    // ========== Writer Thread ==========
+
+    private void run() {
+        List<Object> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (Object item : batch) {
+                    if (item == STOP) {
+                        return;
+                    }
+                    if (item instanceof CompletableFuture<?> flushed) {
+                        flushed.complete(null);
+                    } else if (failure == null) {
+                        write((Write) item);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.debug("Output writer stopped with {} files queued", queue.size());
+        }
+    }
+
+    private void write(Write write) {
+        Path path = write.path();
+        try {
+            Outcome outcome;
+            if (DartAcdcTemplateManager.hasContent(path, write.contents())) {
+                LOGGER.debug("Skipped {} (content unchanged)", path);
+                outcome = Outcome.UNCHANGED;
+            } else if (skipOverwrite && Files.exists(path)) {
+                LOGGER.info("Skipped {} (skipOverwrite)", path);
+                outcome = Outcome.KEPT;
+            } else {
+                Path dir = path.getParent();
+                if (dir != null && directories.add(dir)) {
+                    Files.createDirectories(dir);
+                }
+                // Never write through a hard link to the live output
+                Files.deleteIfExists(path);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(write.contents());
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                LOGGER.info("writing file {}", path);
+                outcome = Outcome.WRITTEN;
+            }
+            listener.written(path, outcome);
+        } catch (IOException e) {
+            failure = new IOException("Could not write " + path + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.*;
+
+/**
+ * Collapses structurally identical component schemas into one model.
+ *
+ * Every schema that becomes a model (an object with properties, a oneOf/anyOf or an enum) gets a
+ * canonical form: its JSON serialization with the top-level title dropped and every component $ref
+ * replaced by the representative of its target. Schemas with the same canonical form are interned to
+ * the first one in document order, so component schemas are kept over the inline schemas the inline
+ * model resolver appended after them. Interning is repeated until nothing changes, which merges
+ * schemas whose only difference was a reference to two schemas merged in the previous round.
+ * Self-referencing schemas compare by name and are only merged with themselves.
+ *
+ * Schemas referenced as oneOf/anyOf alternatives or discriminator mapping targets, and schemas with a
+ * discriminator, are kept as they are: their name selects a subtype, and merging them would change
+ * which sealed class they extend or which discriminator value they stand for.
+ *
+ * Finally every $ref to a merged schema, in component schemas and operations alike, is rewritten to
+ * its representative and the duplicates are removed from the document.
+ */
+final class DartAcdcSchemaDeduplicator {
+
+    private static final String COMPONENTS_SCHEMAS_PREFIX = "#/components/schemas/";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+        .serializationInclusion(JsonInclude.Include.NON_NULL)
+        .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+        .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+        .build();
+
+    private final Map<String, String> representatives = new HashMap<>();
+
+    private DartAcdcSchemaDeduplicator() {
+    }
+
+    /**
+     * Merges the identical schemas of a document.
+     *
+     * @param openAPI the document
+     * @param schemas its component schemas (modified in place)
+     * @return the number of schemas removed
+     */
+    @SuppressWarnings("rawtypes")
+    static int deduplicate(OpenAPI openAPI, Map<String, Schema> schemas) {
+        DartAcdcSchemaDeduplicator deduplicator = new DartAcdcSchemaDeduplicator();
+        if (!deduplicator.intern(schemas)) {
+            return 0;
+        }
+
+        Set<Schema<?>> rewritten = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Schema schema : schemas.values()) {
+            deduplicator.rewrite(schema, rewritten);
+        }
+        DartAcdcOperationSchemas.forEach(openAPI, schema -> deduplicator.rewrite(schema, rewritten));
+
+        int before = schemas.size();
+        schemas.keySet().removeIf(deduplicator.representatives::containsKey);
+        return before - schemas.size();
+    }
+
+    /**
+     * Assigns a representative to every duplicate schema.
+     *
+     * @return true if at least one schema is a duplicate
+     */
+    @SuppressWarnings("rawtypes")
+    private boolean intern(Map<String, Schema> schemas) {
+        Set<String> pinned = pinned(schemas);
+        Map<String, JsonNode> trees = new LinkedHashMap<>();
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            if (isModel(entry.getValue()) && !pinned.contains(entry.getKey())) {
+                ObjectNode tree = MAPPER.valueToTree(entry.getValue());
+                tree.remove("title");
+                trees.put(entry.getKey(), tree);
+            }
+        }
+
+        boolean merged;
+        do {
+            merged = false;
+            Map<String, String> interned = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = trees.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                String canonical = canonicalForm(entry.getValue());
+                String existing = interned.putIfAbsent(canonical, entry.getKey());
+                if (existing != null) {
+                    representatives.put(entry.getKey(), existing);
+                    it.remove();
+                    merged = true;
+                }
+            }
+        } while (merged);
+
+        return !representatives.isEmpty();
+    }
+
+    /**
+     * Returns the canonical form of a serialized schema under the current representatives.
+     */
+    private String canonicalForm(JsonNode tree) {
+        JsonNode copy = tree.deepCopy();
+        substituteRefs(copy);
+        return copy.toString();
+    }
+
+    private void substituteRefs(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            JsonNode ref = object.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                String target = representativeRef(ref.asText());
+                if (target != null) {
+                    object.set("$ref", TextNode.valueOf(target));
+                }
+            }
+        }
+        for (JsonNode child : node) {
+            substituteRefs(child);
+        }
+    }
+
+    /**
+     * Returns the $ref to the representative of a merged schema, or null if the target is kept.
+     */
+    private String representativeRef(String ref) {
+        if (!ref.startsWith(COMPONENTS_SCHEMAS_PREFIX)) {
+            return null;
+        }
+        String name = ref.substring(COMPONENTS_SCHEMAS_PREFIX.length());
+        String representative = representativeOf(name);
+        return representative.equals(name) ? null : COMPONENTS_SCHEMAS_PREFIX + representative;
+    }
+
+    private String representativeOf(String name) {
+        String representative = name;
+        for (String next = representatives.get(name); next != null; next = representatives.get(next)) {
+            representative = next;
+        }
+        return representative;
+    }
+
+    /**
+     * Rewrites the $refs to merged schemas within a schema and its nested schemas.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void rewrite(Schema schema, Set<Schema<?>> rewritten) {
+        if (schema == null || !rewritten.add(schema)) {
+            return;
+        }
+        if (schema.get$ref() != null) {
+            String target = representativeRef(schema.get$ref());
+            if (target != null) {
+                schema.set$ref(target);
+            }
+        }
+        rewrite(schema.getItems(), rewritten);
+        rewrite(schema.getNot(), rewritten);
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            rewrite((Schema) schema.getAdditionalProperties(), rewritten);
+        }
+        if (schema.getProperties() != null) {
+            for (Schema property : ((Map<String, Schema>) schema.getProperties()).values()) {
+                rewrite(property, rewritten);
+            }
+        }
+        for (List<Schema> members : Arrays.asList(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())) {
+            if (members != null) {
+                for (Schema member : members) {
+                    rewrite(member, rewritten);
+                }
+            }
+        }
+        Discriminator discriminator = schema.getDiscriminator();
+        if (discriminator != null && discriminator.getMapping() != null) {
+            discriminator.getMapping().replaceAll((value, ref) -> {
+                String target = representativeRef(ref);
+                return target == null ? ref : target;
+            });
+        }
+    }
+
+    /**
+     * Returns whether a schema is generated as a model of its own.
+     */
+    @SuppressWarnings("rawtypes")
+    private static boolean isModel(Schema schema) {
+        return schema != null && schema.get$ref() == null
+            && ((schema.getProperties() != null && !schema.getProperties().isEmpty())
+                || schema.getOneOf() != null || schema.getAnyOf() != null || schema.getEnum() != null);
+    }
+
+    /**
+     * Returns the names of the schemas whose name selects a subtype: oneOf/anyOf alternatives,
+     * discriminator mapping targets and schemas with a discriminator.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Set<String> pinned(Map<String, Schema> schemas) {
+        Set<String> pinned = new HashSet<>();
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            Schema<?> schema = entry.getValue();
+            if (schema == null) {
+                continue;
+            }
+            if (schema.getDiscriminator() != null) {
+                pinned.add(entry.getKey());
+            }
+            for (List<Schema> alternatives : Arrays.asList(schema.getOneOf(), schema.getAnyOf())) {
+                if (alternatives != null) {
+                    for (Schema alternative : alternatives) {
+                        if (alternative != null && alternative.get$ref() != null) {
+                            pinned.add(schemaName(alternative.get$ref()));
+                        }
+                    }
+                }
+            }
+            Discriminator discriminator = schema.getDiscriminator();
+            if (discriminator != null && discriminator.getMapping() != null) {
+                for (String ref : discriminator.getMapping().values()) {
+                    pinned.add(schemaName(ref));
+                }
+            }
+        }
+        return pinned;
+    }
+
+    private static String schemaName(String ref) {
+        return ref.substring(ref.lastIndexOf('/') + 1);
+    }
+}
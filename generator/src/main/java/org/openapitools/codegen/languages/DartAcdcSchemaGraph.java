@@ -0,0 +1,358 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Dependency graph over the component schemas of an OpenAPI document.
+ *
+ * Nodes are schema names; an edge A -> B exists when A references B through a property
+ * ($ref, array items, additionalProperties, nested inline objects, oneOf/anyOf/allOf members)
+ * or through its own top-level composition members. Strongly connected components are
+ * computed with an iterative Tarjan pass, so the whole analysis runs in O(V + E).
+ *
+ * Every reference whose source and target share a component (including self references)
+ * closes a cycle; the property holding such a reference is marked nullable so that the
+ * generated Dart classes can be constructed.
+ *
+ * The graph also answers which schemas are reachable from a set of roots. Reachability additionally
+ * follows usage edges that are not references: discriminator mapping targets, and the allOf subtypes
+ * of a schema with a discriminator. Usage edges never take part in cycle detection.
+ */
+final class DartAcdcSchemaGraph {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcSchemaGraph.class);
+
+    private static final String COMPONENTS_SCHEMAS_PREFIX = "#/components/schemas/";
+
+    /**
+     * A reference from one schema to another.
+     * The owner is the property schema to mark nullable, or null for top-level composition edges.
+     */
+    private record Edge(int target, String propertyName, Schema<?> owner) {
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<List<Edge>> edges = new ArrayList<>();
+    // Discriminator mappings and subtypes: keep a schema in use without referencing it
+    private final List<List<Integer>> usageEdges = new ArrayList<>();
+
+    /**
+     * Builds the dependency graph for the given schemas.
+     *
+     * @param schemas the component schemas, keyed by name
+     */
+    @SuppressWarnings("rawtypes")
+    DartAcdcSchemaGraph(Map<String, Schema> schemas) {
+        for (String name : schemas.keySet()) {
+            ids.put(name, names.size());
+            names.add(name);
+            edges.add(new ArrayList<>());
+            usageEdges.add(new ArrayList<>());
+        }
+
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            collectSchemaEdges(ids.get(entry.getKey()), entry.getValue());
+        }
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            collectUsageEdges(ids.get(entry.getKey()), entry.getValue(), schemas);
+        }
+    }
+
+    /**
+     * Returns the schemas reachable from the given roots, roots included.
+     *
+     * @param roots schema names (unknown names are ignored)
+     * @return the reachable schema names
+     */
+    Set<String> reachableFrom(Collection<String> roots) {
+        boolean[] reached = new boolean[names.size()];
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (String root : roots) {
+            Integer id = ids.get(root);
+            if (id != null && !reached[id]) {
+                reached[id] = true;
+                pending.push(id);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            for (Edge edge : edges.get(node)) {
+                if (!reached[edge.target()]) {
+                    reached[edge.target()] = true;
+                    pending.push(edge.target());
+                }
+            }
+            for (int target : usageEdges.get(node)) {
+                if (!reached[target]) {
+                    reached[target] = true;
+                    pending.push(target);
+                }
+            }
+        }
+
+        Set<String> reachable = new HashSet<>();
+        for (int id = 0; id < reached.length; id++) {
+            if (reached[id]) {
+                reachable.add(names.get(id));
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Marks every property that closes a reference cycle as nullable.
+     *
+     * @return the number of properties marked nullable
+     */
+    int markCycleClosingPropertiesNullable() {
+        int[] component = computeStronglyConnectedComponents();
+        int marked = 0;
+
+        for (int source = 0; source < names.size(); source++) {
+            for (Edge edge : edges.get(source)) {
+                if (edge.owner() == null || component[source] != component[edge.target()]) {
+                    continue;
+                }
+
+                LOGGER.info("Circular reference detected: {} -> {} (in property '{}')",
+                            names.get(source), names.get(edge.target()), edge.propertyName());
+
+                if (!Boolean.TRUE.equals(edge.owner().getNullable())) {
+                    edge.owner().setNullable(true);
+                    marked++;
+                    LOGGER.info("Marked property '{}' in schema '{}' as nullable", edge.propertyName(), names.get(source));
+                }
+            }
+        }
+
+        return marked;
+    }
+
+    /**
+     * Collects the outgoing edges of a component schema.
+     *
+     * @param source the id of the schema
+     * @param schema the schema
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void collectSchemaEdges(int source, Schema schema) {
+        if (schema == null) {
+            return;
+        }
+
+        Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        visited.add(schema);
+
+        // Top-level composition members and containers connect the graph but own no property
+        collectReferences(source, schema.getItems(), null, null, visited);
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            collectReferences(source, (Schema) schema.getAdditionalProperties(), null, null, visited);
+        }
+        collectMemberReferences(source, schema.getOneOf(), null, null, visited);
+        collectMemberReferences(source, schema.getAnyOf(), null, null, visited);
+        collectMemberReferences(source, schema.getAllOf(), null, null, visited);
+
+        collectPropertyReferences(source, schema, visited);
+    }
+
+    /**
+     * Collects the usage edges of a component schema: from a discriminated parent to its mapping targets,
+     * and from every allOf parent with a discriminator to this schema.
+     *
+     * @param source the id of the schema
+     * @param schema the schema
+     * @param schemas all component schemas
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void collectUsageEdges(int source, Schema schema, Map<String, Schema> schemas) {
+        if (schema == null) {
+            return;
+        }
+
+        if (schema.getDiscriminator() != null && schema.getDiscriminator().getMapping() != null) {
+            for (String target : schema.getDiscriminator().getMapping().values()) {
+                Integer targetId = target == null ? null : ids.get(extractSchemaName(target));
+                if (targetId != null) {
+                    usageEdges.get(source).add(targetId);
+                }
+            }
+        }
+
+        if (schema.getAllOf() != null) {
+            for (Schema member : (List<Schema>) schema.getAllOf()) {
+                if (member == null || member.get$ref() == null) {
+                    continue;
+                }
+                String parentName = extractSchemaName(member.get$ref());
+                Schema parent = schemas.get(parentName);
+                if (parent != null && parent.getDiscriminator() != null) {
+                    usageEdges.get(ids.get(parentName)).add(source);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects references from every property of an object schema, each property owning its references.
+     *
+     * @param source the id of the schema the properties belong to
+     * @param schema the object schema
+     * @param visited inline schemas already traversed for this source
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void collectPropertyReferences(int source, Schema schema, Set<Schema> visited) {
+        if (schema.getProperties() == null) {
+            return;
+        }
+
+        Map<String, Schema> properties = (Map<String, Schema>) schema.getProperties();
+        for (Map.Entry<String, Schema> propEntry : properties.entrySet()) {
+            collectReferences(source, propEntry.getValue(), propEntry.getKey(), propEntry.getValue(), visited);
+        }
+    }
+
+    /**
+     * Collects references from a list of composition members.
+     *
+     * @param source the id of the referencing schema
+     * @param members the oneOf/anyOf/allOf members (may be null)
+     * @param propertyName the owning property name, or null
+     * @param owner the owning property schema, or null
+     * @param visited inline schemas already traversed for this source
+     */
+    @SuppressWarnings("rawtypes")
+    private void collectMemberReferences(int source, List<Schema> members, String propertyName, Schema<?> owner,
+                                         Set<Schema> visited) {
+        if (members == null) {
+            return;
+        }
+        for (Schema member : members) {
+            collectReferences(source, member, propertyName, owner, visited);
+        }
+    }
+
+    /**
+     * Walks a schema and records an edge for every component reference found.
+     * Nested inline object properties become the owners of their own references.
+     *
+     * @param source the id of the referencing schema
+     * @param schema the schema to walk (may be null)
+     * @param propertyName the owning property name, or null
+     * @param owner the owning property schema, or null
+     * @param visited inline schemas already traversed for this source
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void collectReferences(int source, Schema schema, String propertyName, Schema<?> owner, Set<Schema> visited) {
+        if (schema == null) {
+            return;
+        }
+
+        if (schema.get$ref() != null) {
+            Integer target = ids.get(extractSchemaName(schema.get$ref()));
+            if (target != null) {
+                edges.get(source).add(new Edge(target, propertyName, owner));
+            }
+            return;
+        }
+
+        if (!visited.add(schema)) {
+            return;
+        }
+
+        collectReferences(source, schema.getItems(), propertyName, owner, visited);
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            collectReferences(source, (Schema) schema.getAdditionalProperties(), propertyName, owner, visited);
+        }
+        collectMemberReferences(source, schema.getOneOf(), propertyName, owner, visited);
+        collectMemberReferences(source, schema.getAnyOf(), propertyName, owner, visited);
+        collectMemberReferences(source, schema.getAllOf(), propertyName, owner, visited);
+
+        // Nested inline object: its own properties own their references
+        collectPropertyReferences(source, schema, visited);
+    }
+
+    /**
+     * Computes strongly connected components with an iterative version of Tarjan's algorithm.
+     *
+     * @return the component id of every node, indexed by node id
+     */
+    private int[] computeStronglyConnectedComponents() {
+        int nodeCount = names.size();
+        int[] index = new int[nodeCount];
+        int[] lowLink = new int[nodeCount];
+        int[] component = new int[nodeCount];
+        int[] nextEdge = new int[nodeCount];
+        boolean[] onStack = new boolean[nodeCount];
+        Arrays.fill(index, -1);
+
+        Deque<Integer> sccStack = new ArrayDeque<>();
+        Deque<Integer> callStack = new ArrayDeque<>();
+        int nextIndex = 0;
+        int componentCount = 0;
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            callStack.push(root);
+            while (!callStack.isEmpty()) {
+                int node = callStack.peek();
+
+                if (index[node] == -1) {
+                    index[node] = lowLink[node] = nextIndex++;
+                    sccStack.push(node);
+                    onStack[node] = true;
+                }
+
+                List<Edge> outgoing = edges.get(node);
+                if (nextEdge[node] < outgoing.size()) {
+                    int target = outgoing.get(nextEdge[node]++).target();
+                    if (index[target] == -1) {
+                        callStack.push(target);
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], index[target]);
+                    }
+                    continue;
+                }
+
+                // All edges explored: close the component if this node is its root
+                callStack.pop();
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = sccStack.pop();
+                        onStack[member] = false;
+                        component[member] = componentCount;
+                    } while (member != node);
+                    componentCount++;
+                }
+                if (!callStack.isEmpty()) {
+                    int parent = callStack.peek();
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+
+        return component;
+    }
+
+    /**
+     * Extracts the schema name from a local component $ref.
+     *
+     * @param ref the $ref string (e.g., "#/components/schemas/Pet")
+     * @return the schema name (e.g., "Pet")
+     */
+    private static String extractSchemaName(String ref) {
+        if (ref.startsWith(COMPONENTS_SCHEMAS_PREFIX)) {
+            return ref.substring(COMPONENTS_SCHEMAS_PREFIX.length());
+        }
+        return ref.substring(ref.lastIndexOf('/') + 1);
+    }
+}
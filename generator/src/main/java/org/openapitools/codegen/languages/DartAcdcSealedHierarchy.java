@@ -0,0 +1,113 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Sealed class hierarchy of the component schemas of an OpenAPI document.
+ *
+ * Every oneOf/anyOf schema is a sealed parent of the schemas its alternatives reference with $ref;
+ * inline alternatives are generated as nested subclasses and are not part of the index. Parents are
+ * keyed by schema name and children by model name, as the generator looks them up.
+ *
+ * The index is built once from the whole document, so lookups do not depend on the order in which
+ * models are processed. A schema listed by several parents extends the last one in document order
+ * (anyOf after oneOf within a schema). Instances are immutable.
+ */
+final class DartAcdcSealedHierarchy {
+
+    static final DartAcdcSealedHierarchy EMPTY = new DartAcdcSealedHierarchy(Map.of(), Map.of());
+
+    private final Map<String, String> parentByChild;
+    private final Map<String, List<String>> childrenByParent;
+
+    private DartAcdcSealedHierarchy(Map<String, String> parentByChild, Map<String, List<String>> childrenByParent) {
+        this.parentByChild = parentByChild;
+        this.childrenByParent = childrenByParent;
+    }
+
+    /**
+     * Builds the hierarchy of the given schemas.
+     *
+     * @param schemas the component schemas, keyed by name
+     * @param refToModelName resolves the $ref of an alternative to the model name of the child
+     * @return the hierarchy
+     */
+    @SuppressWarnings("rawtypes")
+    static DartAcdcSealedHierarchy build(Map<String, Schema> schemas, Function<String, String> refToModelName) {
+        Map<String, String> parentByChild = new HashMap<>();
+        Map<String, List<String>> childrenByParent = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            Schema<?> schema = entry.getValue();
+            if (schema == null) {
+                continue;
+            }
+            register(entry.getKey(), schema.getOneOf(), refToModelName, parentByChild, childrenByParent);
+            register(entry.getKey(), schema.getAnyOf(), refToModelName, parentByChild, childrenByParent);
+        }
+
+        childrenByParent.replaceAll((parent, children) -> List.copyOf(children));
+        return new DartAcdcSealedHierarchy(Map.copyOf(parentByChild), Collections.unmodifiableMap(childrenByParent));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static void register(String parentName, List<Schema> alternatives, Function<String, String> refToModelName,
+                                 Map<String, String> parentByChild, Map<String, List<String>> childrenByParent) {
+        if (alternatives == null) {
+            return;
+        }
+        for (Schema alternative : alternatives) {
+            if (alternative == null || alternative.get$ref() == null) {
+                continue;
+            }
+            String childModelName = refToModelName.apply(alternative.get$ref());
+            parentByChild.put(childModelName, parentName);
+            List<String> children = childrenByParent.computeIfAbsent(parentName, k -> new ArrayList<>());
+            if (!children.contains(childModelName)) {
+                children.add(childModelName);
+            }
+        }
+    }
+
+    /**
+     * Returns the sealed class a model extends.
+     *
+     * @param childModelName the model name
+     * @return the parent schema name, or null if the model does not extend a sealed class
+     */
+    String parentOf(String childModelName) {
+        return childModelName == null ? null : parentByChild.get(childModelName);
+    }
+
+    /**
+     * Returns the models extending a sealed class, in alternative order.
+     *
+     * @param parentName the parent schema name
+     * @return the child model names, empty if the schema is not a sealed parent
+     */
+    List<String> childrenOf(String parentName) {
+        return parentName == null ? List.of() : childrenByParent.getOrDefault(parentName, List.of());
+    }
+
+    /**
+     * Returns true when at least one model extends the given sealed class.
+     *
+     * @param name the schema or type name
+     * @return whether the name is a sealed parent
+     */
+    boolean isParent(String name) {
+        return name != null && childrenByParent.containsKey(name);
+    }
+
+    /**
+     * Returns the number of models extending a sealed class.
+     *
+     * @return the child count
+     */
+    int childCount() {
+        return parentByChild.size();
+    }
+}
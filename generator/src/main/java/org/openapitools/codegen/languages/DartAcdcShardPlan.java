@@ -0,0 +1,191 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Partition of an OpenAPI document into per-tag packages and a core package.
+ *
+ * Operations are grouped by tag as the generator groups them into APIs (sanitized tag names, "default"
+ * for untagged operations; an operation with several tags belongs to each of them). Every tag owns the
+ * component schemas its operations reach, see {@link DartAcdcSchemaGraph#reachableFrom}. Schemas reached
+ * by more than one tag go to the core package, together with everything they reach and the sealed
+ * families they belong to, since a sealed class and its subclasses are generated together. Schemas no
+ * operation reaches go to the core package too, so that every schema is generated exactly once. Each tag
+ * package keeps the rest of its schemas. The core set is closed under reachability, so core models
+ * never reference a tag package.
+ *
+ * The plan only depends on the document, so every package generated from the same document computes
+ * the same plan. Instances are immutable.
+ */
+final class DartAcdcShardPlan {
+
+    static final String DEFAULT_TAG = "default";
+
+    private final Map<String, Set<String>> schemasByTag;
+    private final Set<String> coreSchemas;
+
+    private DartAcdcShardPlan(Map<String, Set<String>> schemasByTag, Set<String> coreSchemas) {
+        this.schemasByTag = schemasByTag;
+        this.coreSchemas = coreSchemas;
+    }
+
+    /**
+     * Returns the sanitized tags of the operations of a document, in document order.
+     *
+     * @param openAPI the document
+     * @param sanitizeTag sanitizes a tag name as the generator does
+     * @return the tags
+     */
+    static Set<String> tags(OpenAPI openAPI, Function<String, String> sanitizeTag) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (openAPI.getPaths() != null) {
+            for (PathItem pathItem : openAPI.getPaths().values()) {
+                if (pathItem != null) {
+                    for (Operation operation : pathItem.readOperations()) {
+                        tags.addAll(tagsOf(operation, sanitizeTag));
+                    }
+                }
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Plans the packages of a document.
+     *
+     * @param openAPI the document, with inline schemas already resolved
+     * @param schemas its component schemas, keyed by name
+     * @param sanitizeTag sanitizes a tag name as the generator does
+     * @return the plan
+     */
+    @SuppressWarnings("rawtypes")
+    static DartAcdcShardPlan build(OpenAPI openAPI, Map<String, Schema> schemas, Function<String, String> sanitizeTag) {
+        DartAcdcSchemaGraph graph = new DartAcdcSchemaGraph(schemas);
+        Map<String, Set<String>> closures = new LinkedHashMap<>();
+        for (String tag : tags(openAPI, sanitizeTag)) {
+            Set<String> roots = DartAcdcModelPruner.operationRoots(openAPI,
+                operation -> tagsOf(operation, sanitizeTag).contains(tag));
+            closures.put(tag, roots == null ? Set.of() : graph.reachableFrom(roots));
+        }
+
+        Set<String> seen = new HashSet<>();
+        Set<String> shared = new LinkedHashSet<>();
+        for (Set<String> closure : closures.values()) {
+            for (String schema : closure) {
+                if (!seen.add(schema)) {
+                    shared.add(schema);
+                }
+            }
+        }
+
+        // Schemas no operation reaches stay generated, in the core package
+        for (String schema : schemas.keySet()) {
+            if (!seen.contains(schema)) {
+                shared.add(schema);
+            }
+        }
+        Set<String> core = shared.isEmpty() ? Set.of() : closeOverSealedFamilies(graph.reachableFrom(shared), schemas, graph);
+
+        Map<String, Set<String>> schemasByTag = new LinkedHashMap<>();
+        closures.forEach((tag, closure) -> {
+            Set<String> own = new LinkedHashSet<>(closure);
+            own.removeAll(core);
+            schemasByTag.put(tag, Collections.unmodifiableSet(own));
+        });
+        return new DartAcdcShardPlan(Collections.unmodifiableMap(schemasByTag), Collections.unmodifiableSet(core));
+    }
+
+    /**
+     * Adds the sealed parents of the given schemas, and what they reach, until nothing changes.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Set<String> closeOverSealedFamilies(Set<String> core, Map<String, Schema> schemas, DartAcdcSchemaGraph graph) {
+        DartAcdcSealedHierarchy hierarchy = DartAcdcSealedHierarchy.build(schemas,
+            ref -> ref.substring(ref.lastIndexOf('/') + 1));
+        Set<String> closed = core;
+        while (true) {
+            Set<String> parents = new LinkedHashSet<>();
+            for (String schema : closed) {
+                String parent = hierarchy.parentOf(schema);
+                if (parent != null && !closed.contains(parent)) {
+                    parents.add(parent);
+                }
+            }
+            if (parents.isEmpty()) {
+                return closed;
+            }
+            Set<String> roots = new LinkedHashSet<>(closed);
+            roots.addAll(parents);
+            closed = graph.reachableFrom(roots);
+        }
+    }
+
+    /**
+     * Removes the operations without the given tag from a document, and the paths left without operations.
+     *
+     * @param openAPI the document
+     * @param tag the sanitized tag to keep
+     * @param sanitizeTag sanitizes a tag name as the generator does
+     */
+    static void retainOperations(OpenAPI openAPI, String tag, Function<String, String> sanitizeTag) {
+        if (openAPI.getPaths() == null) {
+            return;
+        }
+        openAPI.getPaths().values().removeIf(pathItem -> {
+            if (pathItem == null) {
+                return true;
+            }
+            pathItem.readOperationsMap().forEach((method, operation) -> {
+                if (!tagsOf(operation, sanitizeTag).contains(tag)) {
+                    pathItem.operation(method, null);
+                }
+            });
+            return pathItem.readOperations().isEmpty();
+        });
+    }
+
+    private static List<String> tagsOf(Operation operation, Function<String, String> sanitizeTag) {
+        if (operation.getTags() == null || operation.getTags().isEmpty()) {
+            return List.of(sanitizeTag.apply(DEFAULT_TAG));
+        }
+        List<String> tags = new ArrayList<>(operation.getTags().size());
+        for (String tag : operation.getTags()) {
+            tags.add(sanitizeTag.apply(tag));
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the schemas generated in the package of a tag.
+     *
+     * @param tag the sanitized tag
+     * @return the schema names, empty for unknown tags
+     */
+    Set<String> schemasOf(String tag) {
+        return schemasByTag.getOrDefault(tag, Set.of());
+    }
+
+    /**
+     * Returns the schemas generated in the core package.
+     *
+     * @return the schema names
+     */
+    Set<String> coreSchemas() {
+        return coreSchemas;
+    }
+
+    /**
+     * Returns the tags of the plan, in document order.
+     *
+     * @return the sanitized tags
+     */
+    Set<String> tags() {
+        return schemasByTag.keySet();
+    }
+}
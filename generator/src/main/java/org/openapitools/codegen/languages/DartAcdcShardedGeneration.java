@@ -0,0 +1,158 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a client as one Dart package per tag plus a core package, in parallel.
+ *
+ * The packages are generated side by side in the output directory: {pubName}_core holds the models
+ * shared by several tags, and {pubName}_{tag} holds the APIs of a tag with the models only it uses,
+ * depending on the core package by path (see {@link DartAcdcShardPlan}). Each package is a regular
+ * generation with {@link DartAcdcGenerator#SHARD_TAG} or {@link DartAcdcGenerator#SHARD_CORE} set,
+ * driven by its own {@link DartAcdcDefaultGenerator}; the packages only share the plan, which each
+ * generation derives from the document on its own, and their compiled templates. A document with a single tag yields a single package.
+ */
+final class DartAcdcShardedGeneration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcShardedGeneration.class);
+
+    /**
+     * Additional property enabling sharded generation in {@link DartAcdcCli}.
+     */
+    static final String SHARD_BY_TAG = "shardByTag";
+
+    static final String CORE_PACKAGE_SUFFIX = "_core";
+
+    /**
+     * A generated package.
+     *
+     * @param pubName the package name, also its directory in the output directory
+     * @param tag the sanitized tag, or null for the core package
+     * @param files the files generated
+     * @param written the number of files written
+     * @param unchanged the number of files left untouched
+     * @param deleted the number of stale files deleted
+     */
+    record GeneratedPackage(String pubName, String tag, List<File> files, int written, int unchanged, int deleted) {
+    }
+
+    private DartAcdcShardedGeneration() {
+    }
+
+    /**
+     * Returns whether a configuration asks for sharded generation.
+     *
+     * @param config the generator configuration
+     * @return true if {@value #SHARD_BY_TAG} is enabled
+     */
+    static boolean isEnabled(CodegenConfig config) {
+        return Boolean.parseBoolean(String.valueOf(config.additionalProperties().get(SHARD_BY_TAG)));
+    }
+
+    /**
+     * Generates the packages of the configured client.
+     *
+     * @param configurator the configuration, as for a single package
+     * @param snapshot the snapshot of its spec, or null to parse the spec for each package
+     * @param input the input the configurator built, used to plan the packages
+     * @param threads the number of packages generated at the same time
+     * @return the generated packages, core package first
+     * @throws IllegalArgumentException if the configuration is not for dart-acdc or the document has no operations
+     */
+    static List<GeneratedPackage> generate(CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot,
+                                           ClientOptInput input, int threads) {
+        if (!(DartAcdcClientOptInput.config(input) instanceof DartAcdcGenerator generator)) {
+            throw new IllegalArgumentException("Sharded generation requires the dart-acdc generator");
+        }
+        Set<String> tags = DartAcdcShardPlan.tags(DartAcdcClientOptInput.openAPI(input), generator::sanitizeTag);
+        if (tags.isEmpty()) {
+            throw new IllegalArgumentException("Sharded generation requires at least one operation");
+        }
+
+        File outputDir = new File(generator.getOutputDir());
+        String pubName = generator.sanitizePubName((String) generator.additionalProperties().get("pubName"));
+        String corePubName = tags.size() > 1 ? pubName + CORE_PACKAGE_SUFFIX : null;
+
+        List<Callable<GeneratedPackage>> packages = new ArrayList<>();
+        if (corePubName != null) {
+            packages.add(() -> generatePackage(configurator, snapshot, outputDir, corePubName, null, null));
+        }
+        for (String tag : tags) {
+            String tagPubName = generator.sanitizePubName(pubName + "_" + generator.underscore(tag));
+            packages.add(() -> generatePackage(configurator, snapshot, outputDir, tagPubName, tag, corePubName));
+        }
+        LOGGER.info("Generating {} packages for {} tags in {}", packages.size(), tags.size(), outputDir);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, packages.size())), runnable -> {
+            Thread thread = new Thread(runnable, "dart-acdc-package-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<GeneratedPackage> generated = new ArrayList<>();
+            for (Future<GeneratedPackage> result : executor.invokeAll(packages)) {
+                generated.add(result.get());
+            }
+            return generated;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating packages", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                ? cause
+                : new IllegalStateException("Could not generate packages", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates one package on the calling thread.
+     */
+    private static GeneratedPackage generatePackage(CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot,
+                                                    File outputDir, String pubName, String tag, String corePubName) {
+        try {
+            // Worker threads inherit the caller's global settings object itself, so start from a fresh one
+            GlobalSettings.reset();
+            ClientOptInput input = DartAcdcSpecSnapshot.toClientOptInput(configurator, snapshot);
+            CodegenConfig config = DartAcdcClientOptInput.config(input);
+            config.setOutputDir(new File(outputDir, pubName).getPath());
+            config.additionalProperties().put("pubName", pubName);
+            config.additionalProperties().remove(SHARD_BY_TAG);
+            if (tag == null) {
+                config.additionalProperties().put(DartAcdcGenerator.SHARD_CORE, true);
+            } else {
+                config.additionalProperties().put(DartAcdcGenerator.SHARD_TAG, tag);
+                if (corePubName != null) {
+                    config.additionalProperties().put(DartAcdcGenerator.SHARED_MODELS_PUB_NAME, corePubName);
+                }
+            }
+
+            // Selective generation: the generator's schema mapping selects the models; APIs only for a tag
+            GlobalSettings.setProperty(CodegenConstants.MODELS, "");
+            GlobalSettings.setProperty(CodegenConstants.SUPPORTING_FILES, "");
+            if (tag != null) {
+                GlobalSettings.setProperty(CodegenConstants.APIS, tag);
+            }
+
+            DartAcdcDefaultGenerator driver = new DartAcdcDefaultGenerator();
+            List<File> files = driver.opts(input).generate();
+            return new GeneratedPackage(pubName, tag, files,
+                driver.getWrittenCount(), driver.getUnchangedCount(), driver.getDeletedCount());
+        } finally {
+            GlobalSettings.reset();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshots of parsed OpenAPI documents, so that an unchanged spec is not parsed again.
+ *
+ * Parsing and resolving a large spec with swagger-parser takes longer than generating from it. After a parse,
+ * the resolved document is written to a gzipped snapshot in the snapshot directory (the output directory, or a
+ * cache directory shared by several outputs). The snapshot is keyed by the content of the spec and of every
+ * local file it references, and by the generator build: while none of them changes, the next generation loads
+ * the snapshot instead of parsing the spec.
+ *
+ * Specs that reference remote documents, and specs that are not local files, are always parsed.
+ */
+final class DartAcdcSpecSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcSpecSnapshot.class);
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // The smallest document the configurator parses when the snapshot replaces the spec
+    private static final String STUB_SPEC = "dart-acdc-spec-snapshot-stub.yaml";
+
+    private static final Pattern REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]*)");
+
+    private final String inputSpec;
+    private final Path dir;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates the snapshot of a spec.
+     *
+     * @param inputSpec the spec, as configured
+     * @param dir the directory the snapshot is kept in
+     */
+    DartAcdcSpecSnapshot(String inputSpec, Path dir) {
+        this.inputSpec = inputSpec;
+        this.dir = dir;
+    }
+
+    /**
+     * Builds the generator input of a configurator, from a snapshot if one is given.
+     *
+     * @param configurator the configuration
+     * @param snapshot the snapshot of its spec, or null to parse the spec
+     * @return the generator input
+     */
+    static ClientOptInput toClientOptInput(CodegenConfigurator configurator, DartAcdcSpecSnapshot snapshot) {
+        return snapshot == null ? configurator.toClientOptInput() : snapshot.toClientOptInput(configurator);
+    }
+
+    /**
+     * Builds the generator input of a configurator, from the snapshot if it is up to date. Otherwise the
+     * configurator parses the spec, and the snapshot is written before the generator modifies the document.
+     *
+     * @param configurator the configuration, generating from the spec of this snapshot
+     * @return the generator input
+     */
+    ClientOptInput toClientOptInput(CodegenConfigurator configurator) {
+        Path spec = Path.of(inputSpec);
+        String key = Files.isRegularFile(spec) ? key(spec) : null;
+        if (key == null) {
+            return configurator.toClientOptInput();
+        }
+        Path file = file(spec);
+
+        // Jobs of a sharded generation share the configurator, which points to the stub while the input is built
+        synchronized (configurator) {
+            long start = System.nanoTime();
+            OpenAPI openAPI = read(file, key);
+            if (openAPI == null) {
+                misses.increment();
+                ClientOptInput input = configurator.toClientOptInput();
+                write(file, key, DartAcdcClientOptInput.openAPI(input));
+                return input;
+            }
+            hits.increment();
+            LOGGER.info("Loaded {} from the spec snapshot in {} ms", inputSpec, (System.nanoTime() - start) / 1_000_000);
+
+            ClientOptInput input;
+            try {
+                configurator.setInputSpec(STUB_SPEC);
+                input = configurator.toClientOptInput();
+            } finally {
+                configurator.setInputSpec(inputSpec);
+            }
+            DartAcdcClientOptInput.config(input).setInputSpec(inputSpec);
+            return input.openAPI(openAPI);
+        }
+    }
+
+    /**
+     * Returns the number of inputs built from the snapshot.
+     *
+     * @return the snapshot hits
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of inputs built by parsing the spec, as there was no up-to-date snapshot.
+     *
+     * @return the snapshot misses
+     */
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the snapshot file of a spec.
+     */
+    private Path file(Path spec) {
+        return dir.resolve(".dart-acdc-spec-" + sha256(spec.toAbsolutePath().normalize().toString()).substring(0, 16) + ".snapshot");
+    }
+
+    // ========== Key ==========
+
+    /**
+     * Hashes the spec, the local files it references (transitively) and the generator build.
+     *
+     * @return the key, or null if the spec references a remote document or cannot be read
+     */
+    private static String key(Path spec) {
+        MessageDigest digest = newDigest();
+        update(digest, String.valueOf(SNAPSHOT_VERSION));
+        update(digest, DartAcdcIncrementalGeneration.generatorFingerprint());
+
+        boolean complete = walkLocalFiles(spec, (file, content) -> {
+            update(digest, file.toString());
+            update(digest, content);
+        });
+        if (!complete) {
+            LOGGER.debug("{} has unreadable or remote references, not using the spec snapshot", spec);
+            return null;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads a spec and the local files it references (transitively), following relative $ref values.
+     *
+     * @param spec the spec file
+     * @param visitor receives each file read, as an absolute normalized path, and its content
+     * @return true if every file could be read and none references a remote document
+     */
+    static boolean walkLocalFiles(Path spec, BiConsumer<Path, String> visitor) {
+        boolean complete = true;
+        Set<Path> visited = new LinkedHashSet<>();
+        Deque<Path> pending = new ArrayDeque<>();
+        pending.add(spec.toAbsolutePath().normalize());
+        while (!pending.isEmpty()) {
+            Path file = pending.poll();
+            if (!visited.add(file)) {
+                continue;
+            }
+            String content;
+            try {
+                content = Files.readString(file);
+            } catch (IOException e) {
+                LOGGER.debug("Could not read {}", file, e);
+                complete = false;
+                continue;
+            }
+            visitor.accept(file, content);
+
+            Matcher matcher = REF.matcher(content);
+            while (matcher.find()) {
+                String ref = matcher.group(1);
+                if (ref.isEmpty()) {
+                    continue;
+                }
+                if (ref.contains("://")) {
+                    LOGGER.debug("{} references the remote document {}", file, ref);
+                    complete = false;
+                    continue;
+                }
+                pending.add(file.resolveSibling(ref).normalize());
+            }
+        }
+        return complete;
+    }
+
+    // ========== Snapshot file ==========
+
+    /**
+     * Reads a snapshot.
+     *
+     * @return the document, or null if there is no snapshot for this key
+     */
+    private static OpenAPI read(Path file, String key) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            if (!key.equals(in.readUTF())) {
+                return null;
+            }
+            SpecVersion specVersion = SpecVersion.valueOf(in.readUTF());
+            OpenAPI openAPI = mapper(specVersion).readValue((InputStream) in, OpenAPI.class);
+            openAPI.setSpecVersion(specVersion);
+            return openAPI;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unreadable spec snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot, replacing the previous one atomically. A snapshot that cannot be written is skipped.
+     */
+    private static void write(Path file, String key, OpenAPI openAPI) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                    out.writeUTF(key);
+                    out.writeUTF(openAPI.getSpecVersion().name());
+                    mapper(openAPI.getSpecVersion()).writeValue((OutputStream) out, openAPI);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not write spec snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static ObjectMapper mapper(SpecVersion specVersion) {
+        return specVersion == SpecVersion.V31 ? Json31.mapper() : Json.mapper();
+    }
+
+    // ========== Helpers ==========
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String sha256(String value) {
+        MessageDigest digest = newDigest();
+        update(digest, value);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,229 @@
+package org.openapitools.codegen.languages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Staged output ({@value DartAcdcDefaultGenerator#STAGED_OUTPUT}=true): generates into a staging directory
+ * next to the output directory, and swaps it into place once generation succeeded.
+ *
+ * Tools reading the output directory while it is generated (a concurrent {@code dart analyze}, an IDE, a CI
+ * step sharing the workspace) never see a half-written package, and a failed generation leaves the previous
+ * output as it was.
+ *
+ * The staging directory is seeded with the current output, as hard links where the file system supports them
+ * (copies otherwise), so that files kept by the generator (tests, ignored files, files it does not generate)
+ * survive the swap, and unchanged files keep their inode and modification time. Nothing writes through those
+ * links: rendered files go through {@link DartAcdcOutputWriter}, and the incremental manifest and the metrics
+ * report are replaced with {@link #replace(Path, byte[])}.
+ *
+ * The swap renames the output directory to a backup, renames the staging directory to the output directory,
+ * and then deletes the backup. Java has no atomic exchange of two directories, so the output directory is
+ * missing between the two renames; that window is two renames long, instead of the whole generation.
+ */
+final class DartAcdcStagedOutput {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcStagedOutput.class);
+
+    // Written in place by DefaultGenerator, so copied rather than linked
+    private static final String IGNORE_FILE = ".openapi-generator-ignore";
+
+    private final Path outputDir;
+    private final Path stagingDir;
+
+    private DartAcdcStagedOutput(Path outputDir, Path stagingDir) {
+        this.outputDir = outputDir;
+        this.stagingDir = stagingDir;
+    }
+
+    /**
+     * Creates a staging directory for an output directory, seeded with its current content.
+     *
+     * @param outputDir the output directory, which may not exist yet
+     * @return the staged output
+     * @throws IOException if the staging directory cannot be created or seeded
+     */
+    static DartAcdcStagedOutput create(Path outputDir) throws IOException {
+        Path output = outputDir.toAbsolutePath().normalize();
+        if (Files.isSymbolicLink(output)) {
+            // Swap the directory the link points to, not the link
+            output = output.toRealPath();
+        }
+        if (output.getParent() == null || output.getFileName() == null) {
+            throw new IOException("Cannot stage the output of a root directory: " + output);
+        }
+        Files.createDirectories(output.getParent());
+        Path staging;
+        while (true) {
+            staging = output.resolveSibling("." + output.getFileName() + ".staging-"
+                + Long.toHexString(ThreadLocalRandom.current().nextLong() >>> 1));
+            try {
+                if (Files.isDirectory(output)) {
+                    // An empty directory with the permissions of the output directory
+                    Files.copy(output, staging, StandardCopyOption.COPY_ATTRIBUTES);
+                } else {
+                    Files.createDirectory(staging);
+                }
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Name taken by a concurrent run, draw another one
+            }
+        }
+        DartAcdcStagedOutput staged = new DartAcdcStagedOutput(output, staging);
+        try {
+            if (Files.isDirectory(output)) {
+                staged.seed();
+            }
+        } catch (IOException | RuntimeException e) {
+            staged.discard();
+            throw e;
+        }
+        return staged;
+    }
+
+    /**
+     * Returns the output directory the staging directory is swapped into.
+     *
+     * @return an absolute, normalized path
+     */
+    Path outputDir() {
+        return outputDir;
+    }
+
+    /**
+     * Returns the directory generation writes to.
+     *
+     * @return an absolute, normalized path
+     */
+    Path stagingDir() {
+        return stagingDir;
+    }
+
+    /**
+     * Swaps the staging directory into place, and returns the generated files at their final location.
+     *
+     * @param files the generated files, in the staging directory
+     * @return the same files in the output directory
+     * @throws IOException if the swap failed; the previous output is restored
+     */
+    List<File> commit(List<File> files) throws IOException {
+        Path backup = null;
+        if (Files.exists(outputDir, LinkOption.NOFOLLOW_LINKS)) {
+            backup = stagingDir.resolveSibling(stagingDir.getFileName().toString().replace(".staging-", ".previous-"));
+            Files.move(outputDir, backup, StandardCopyOption.ATOMIC_MOVE);
+        }
+        try {
+            Files.move(stagingDir, outputDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (backup != null) {
+                Files.move(backup, outputDir, StandardCopyOption.ATOMIC_MOVE);
+            }
+            throw e;
+        }
+        if (backup != null) {
+            delete(backup);
+        }
+        LOGGER.info("Swapped the staged output into {}", outputDir);
+        return outputFiles(files);
+    }
+
+    /**
+     * Deletes the staging directory, leaving the output directory untouched.
+     */
+    void discard() {
+        delete(stagingDir);
+    }
+
+    /**
+     * Returns files of the staging directory at their location in the output directory.
+     *
+     * @param files files in the staging directory
+     * @return the same files in the output directory; files outside the staging directory are unchanged
+     */
+    List<File> outputFiles(List<File> files) {
+        List<File> mapped = new ArrayList<>(files.size());
+        for (File file : files) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            mapped.add(path.startsWith(stagingDir) ? outputDir.resolve(stagingDir.relativize(path)).toFile() : file);
+        }
+        return mapped;
+    }
+
+    /**
+     * Replaces a file atomically, through a temporary file in the same directory. A file that is a hard link
+     * to the live output is replaced rather than modified.
+     *
+     * @param file the file to write
+     * @param contents its new content
+     * @throws IOException if the file cannot be written
+     */
+    static void replace(Path file, byte[] contents) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, contents);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ========== Files ==========
+
+    /**
+     * Links (or copies) every file of the output directory into the staging directory.
+     */
+    private void seed() throws IOException {
+        Files.walkFileTree(outputDir, new SimpleFileVisitor<>() {
+            private boolean linksSupported = true;
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(outputDir)) {
+                    Files.copy(dir, stagingDir.resolve(outputDir.relativize(dir)), StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path target = stagingDir.resolve(outputDir.relativize(file));
+                if (attrs.isRegularFile() && linksSupported && !file.equals(outputDir.resolve(IGNORE_FILE))) {
+                    try {
+                        Files.createLink(target, file);
+                        return FileVisitResult.CONTINUE;
+                    } catch (UnsupportedOperationException | FileSystemException e) {
+                        LOGGER.debug("Copying the output into the staging directory, hard links failed: {}", e.getMessage());
+                        linksSupported = false;
+                    }
+                }
+                Files.copy(file, target, LinkOption.NOFOLLOW_LINKS, StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (NoSuchFileException e) {
+            // Already gone
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Could not delete {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.TemplateNotFoundException;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled mustache templates, shared by every generation of the JVM.
+ *
+ * OpenAPI Generator's mustache engine reads and compiles a template again for every file it renders. This
+ * cache compiles each template once, together with the partials it includes, which are loaded eagerly so
+ * that rendering never resolves a partial and a compiled template never refers back to the generation that
+ * compiled it.
+ *
+ * Templates are keyed by their resolved path (a resource of the embedded template set or a file of a custom
+ * template directory), by the template directories their partials are resolved from, and by the settings of
+ * the compiler, so that generations escaping differently or overlaying another template directory never share
+ * a compiled template. Within a key, a lookup reads the template and the partials it was compiled with, and
+ * compiles it again if any of them changed, for example a template edited in watch mode. Generations look
+ * each template up once and render every file from the result, see {@link DartAcdcMustacheEngineAdapter}.
+ *
+ * Templates are compiled outside the map, so that a slow compilation never blocks lookups of other templates;
+ * two generations missing the same template at once may both compile it.
+ *
+ * Compiled templates are immutable and can be rendered concurrently, by the render threads of a generation
+ * and by the jobs of a batch alike.
+ */
+final class DartAcdcTemplateCache {
+
+    private static final DartAcdcTemplateCache SHARED = new DartAcdcTemplateCache();
+
+    private final ConcurrentMap<Key, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Identifies a compiled template: where it is resolved from, and how it is compiled. The escaper and the
+     * formatter are compared by identity (jmustache's are constants), the collector by class, since the
+     * default collector is created with each compiler but keeps no state. Delimiters are not part of the key:
+     * jmustache does not expose the compiler's, and dart-acdc does not change them (a template setting its own
+     * is covered by its content hash).
+     */
+    private record Key(Path path, String templateDirs, boolean standardsMode, boolean strictSections,
+                       String nullValue, boolean missingIsNull, boolean emptyStringIsFalse, boolean zeroIsFalse,
+                       IdentityKey escaper, IdentityKey formatter, Class<?> collector) {
+
+        static Key of(Path path, String templateDirs, Mustache.Compiler compiler) {
+            return new Key(path, templateDirs, compiler.standardsMode, compiler.strictSections, compiler.nullValue,
+                compiler.missingIsNull, compiler.emptyStringIsFalse, compiler.zeroIsFalse,
+                new IdentityKey(compiler.escaper), new IdentityKey(compiler.formatter), compiler.collector.getClass());
+        }
+    }
+
+    private record IdentityKey(Object value) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey key && key.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+
+    /**
+     * A compiled template with the content hashes it was compiled from.
+     */
+    private record CompiledTemplate(String contentHash, Map<String, String> partialHashes, Template template) {
+    }
+
+    /**
+     * The result of a lookup.
+     *
+     * @param template the compiled template
+     * @param compiled whether the lookup compiled it, rather than finding it in the cache
+     */
+    record Lookup(Template template, boolean compiled) {
+    }
+
+    /**
+     * Returns the cache of the JVM.
+     *
+     * @return the shared cache
+     */
+    static DartAcdcTemplateCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a compiled template, compiling it if it is not cached or if it or one of its partials changed.
+     *
+     * @param templateFile the template name
+     * @param templateDirs the template directories of the generation, which partials are resolved from
+     * @param compiler the compiler of the generation
+     * @param executor reads the template and its partials
+     * @return the compiled template, and whether it was compiled
+     */
+    Lookup get(String templateFile, String templateDirs, Mustache.Compiler compiler, TemplatingExecutor executor) {
+        String content = executor.getFullTemplateContents(templateFile);
+        String contentHash = sha256(content);
+        Key key = Key.of(executor.getFullTemplatePath(templateFile), templateDirs, compiler);
+        CompiledTemplate cached = templates.get(key);
+        if (cached != null && cached.contentHash().equals(contentHash) && partialsUnchanged(cached, executor)) {
+            hits.increment();
+            return new Lookup(cached.template(), false);
+        }
+
+        CompiledTemplate template = compile(content, contentHash, compiler, executor);
+        if (cached == null) {
+            templates.putIfAbsent(key, template);
+        } else {
+            templates.replace(key, cached, template);
+        }
+        misses.increment();
+        return new Lookup(template.template(), true);
+    }
+
+    /**
+     * Records a render with a template the generation already looked up.
+     */
+    void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Returns the number of lookups and renders served by an already compiled template.
+     *
+     * @return the hit count
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of templates compiled.
+     *
+     * @return the miss count
+     */
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of cached templates.
+     *
+     * @return the cache size
+     */
+    int size() {
+        return templates.size();
+    }
+
+    private static boolean partialsUnchanged(CompiledTemplate cached, TemplatingExecutor executor) {
+        for (Map.Entry<String, String> partial : cached.partialHashes().entrySet()) {
+            if (!partial.getValue().equals(sha256(executor.getFullTemplateContents(partialFile(partial.getKey()))))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CompiledTemplate compile(String content, String contentHash, Mustache.Compiler compiler,
+                                            TemplatingExecutor executor) {
+        PartialLoader loader = new PartialLoader(executor);
+        Template template = compiler.withLoader(loader).defaultValue("").compile(content);
+
+        // Included templates are compiled when first rendered; render nothing, but load them all now
+        template.visit(new Mustache.Visitor() {
+            @Override
+            public void visitText(String text) {
+            }
+
+            @Override
+            public void visitVariable(String name) {
+            }
+
+            @Override
+            public boolean visitInclude(String name) {
+                return true;
+            }
+
+            @Override
+            public boolean visitSection(String name) {
+                return true;
+            }
+
+            @Override
+            public boolean visitInvertedSection(String name) {
+                return true;
+            }
+        });
+        loader.executor = null;
+        return new CompiledTemplate(contentHash, Map.copyOf(loader.partialHashes), template);
+    }
+
+    private static String partialFile(String name) {
+        return name + ".mustache";
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Loads partials through the generation that compiles the template, and only while it does.
+     */
+    private static final class PartialLoader implements Mustache.TemplateLoader {
+
+        private TemplatingExecutor executor;
+        private final Map<String, String> partialHashes = new LinkedHashMap<>();
+
+        PartialLoader(TemplatingExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            if (executor == null) {
+                throw new TemplateNotFoundException(name);
+            }
+            String content = executor.getFullTemplateContents(partialFile(name));
+            partialHashes.put(name, sha256(content));
+            return new StringReader(content);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Template manager used by {@link DartAcdcDefaultGenerator}.
+ *
+ * With incremental generation enabled, model and API files whose inputs are unchanged since the
+ * previous run are neither rendered nor written; the existing file is reported as generated.
+ *
+ * With parallel rendering enabled, model and API files (and their tests) are rendered and written on a
+ * bounded pool while the generator goes on building the next bundle. Everything else (incremental
+ * decisions, supporting files) stays on the calling thread, and writes to the same file keep their order,
+ * so the output is identical to sequential rendering. {@link #awaitRenders()} must be called once the
+ * generator is done.
+ *
+ * Existing files whose content is already up to date are not rewritten, so that their modification time
+ * is preserved and build_runner and the analyzer do not consider them changed.
+ *
+ * In low-memory mode, the models of a bundle are reduced to their names once all its files are rendered
+ * (see {@link DartAcdcLowMemoryMode}); the generator writes the files of one model bundle after the other.
+ *
+ * With staged output, rendered files are handed to a {@link DartAcdcOutputWriter} and written on its thread;
+ * {@link #awaitRenders()} also waits for those writes. When files are written on the calling thread instead
+ * (post-processing), a changed file of the staging directory is deleted before it is written, since it may be
+ * a hard link to the live output.
+ */
+class DartAcdcTemplateManager extends TemplateManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DartAcdcTemplateManager.class);
+
+    // Bundles waiting for a render thread, per thread; the generator renders on the calling thread when full
+    private static final int QUEUED_RENDERS_PER_THREAD = 4;
+
+    private final boolean skipOverwrite;
+    private final Set<String> trackedTemplates;
+    private final Set<String> testTemplates;
+    private final DartAcdcIncrementalGeneration incremental;
+    private final int renderThreads;
+    private final DartAcdcGenerationMetrics metrics;
+    private final boolean releaseModels;
+    private final boolean writeBehind;
+    private final boolean staged;
+
+    private ExecutorService renderExecutor;
+    // Latest render of each target; only accessed from the generator thread
+    private final Map<Path, CompletableFuture<Void>> pendingRenders = new LinkedHashMap<>();
+    // Model bundle whose files are being written, and its queued renders; only accessed from the generator thread
+    private ModelsMap modelBundle;
+    private final List<CompletableFuture<Void>> modelRenders = new ArrayList<>();
+    private DartAcdcOutputWriter writer;
+
+    private final LongAdder writtenFiles = new LongAdder();
+    private final LongAdder unchangedFiles = new LongAdder();
+    // Files the generator left in place (skipped or ignored) instead of writing them
+    private final Set<Path> keptFiles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param options template manager options
+     * @param engineAdapter the templating engine
+     * @param templateLoaders template locators
+     * @param trackedTemplates model and API template names subject to incremental generation and parallel rendering
+     * @param testTemplates model and API test template names (never overwrite an existing file)
+     * @param incremental incremental generation state, or null when disabled
+     * @param renderThreads number of render threads, or 0 to render on the calling thread
+     * @param metrics generation metrics recording each render, or null
+     * @param releaseModels whether to release the models of a bundle once its files are rendered
+     * @param writeBehind whether to write files on a {@link DartAcdcOutputWriter} thread
+     * @param staged whether the output directory is a staging directory (see {@link DartAcdcStagedOutput})
+     */
+    DartAcdcTemplateManager(TemplateManagerOptions options, TemplatingEngineAdapter engineAdapter,
+                            TemplatePathLocator[] templateLoaders, Set<String> trackedTemplates,
+                            Set<String> testTemplates, DartAcdcIncrementalGeneration incremental,
+                            int renderThreads, DartAcdcGenerationMetrics metrics, boolean releaseModels,
+                            boolean writeBehind, boolean staged) {
+        super(options, engineAdapter, templateLoaders);
+        this.skipOverwrite = options.isSkipOverwrite();
+        this.trackedTemplates = trackedTemplates;
+        this.testTemplates = testTemplates;
+        this.incremental = incremental;
+        this.renderThreads = renderThreads;
+        this.metrics = metrics;
+        this.releaseModels = releaseModels;
+        this.writeBehind = writeBehind;
+        this.staged = staged;
+    }
+
+    @Override
+    public File write(Map<String, Object> data, String template, File target) throws IOException {
+        if (releaseModels && data != modelBundle) {
+            releaseModelBundle();
+            modelBundle = data instanceof ModelsMap models ? models : null;
+        }
+        if (writeBehind && testTemplates.contains(template) && writer().isSubmitted(normalize(target.toPath()))) {
+            // The generator skips test files that exist; one submitted in this run may not be written yet
+            skip(target.toPath(), "Test files never overwrite an existing file of the same name.");
+            return null;
+        }
+        if (!trackedTemplates.contains(template)) {
+            // A supporting file may target a path a model or API file was queued for
+            awaitRender(target);
+            return render(data, template, target);
+        }
+
+        String inputHash = incremental == null ? null : incremental.inputHash(data, template, target);
+        if (inputHash != null && incremental.isUnchanged(target, inputHash)) {
+            LOGGER.debug("Skipped {} (inputs unchanged)", target);
+            incremental.recordInputs(target, inputHash);
+            unchangedFiles.increment();
+            return outputFile(target);
+        }
+
+        File written = renderThreads > 0 ? submit(data, template, target) : render(data, template, target);
+        if (inputHash != null && written != null) {
+            incremental.recordInputs(target, inputHash);
+        }
+        return written;
+    }
+
+    @Override
+    public File writeToFile(String filename, byte[] contents) throws IOException {
+        Path path = Paths.get(filename);
+        if (writeBehind) {
+            writer().submit(normalize(path), contents);
+            return path.toFile();
+        }
+        if (hasContent(path, contents)) {
+            LOGGER.debug("Skipped {} (content unchanged)", filename);
+            unchangedFiles.increment();
+            return path.toFile();
+        }
+        boolean skipped = skipOverwrite && Files.exists(path);
+        if (staged && !skipped) {
+            // Never write through a hard link to the live output
+            Files.deleteIfExists(path);
+        }
+        File file = super.writeToFile(filename, contents);
+        if (skipped) {
+            keptFiles.add(normalize(path));
+        } else {
+            writtenFiles.increment();
+        }
+        return file;
+    }
+
+    @Override
+    public void skip(Path path, String context) {
+        keptFiles.add(normalize(path));
+        super.skip(path, context);
+    }
+
+    @Override
+    public void ignore(Path path, String context) {
+        keptFiles.add(normalize(path));
+        super.ignore(path, context);
+    }
+
+    /**
+     * Returns the number of files written (created or changed) so far.
+     *
+     * @return the written file count
+     */
+    int writtenCount() {
+        return writtenFiles.intValue();
+    }
+
+    /**
+     * Returns the number of files left untouched because their content was already up to date.
+     *
+     * @return the unchanged file count
+     */
+    int unchangedCount() {
+        return unchangedFiles.intValue();
+    }
+
+    /**
+     * Returns the files the generator skipped or ignored rather than writing them.
+     *
+     * @return absolute, normalized paths
+     */
+    Set<Path> keptFiles() {
+        return keptFiles;
+    }
+
+    /**
+     * Waits for every queued render and write, and stops the render and writer threads.
+     *
+     * @throws RuntimeException if a file could not be rendered or written
+     */
+    void awaitRenders() {
+        try {
+            for (Map.Entry<Path, CompletableFuture<Void>> render : pendingRenders.entrySet()) {
+                join(render.getKey(), render.getValue());
+            }
+            releaseModelBundle();
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        } finally {
+            cancelRenders();
+        }
+    }
+
+    /**
+     * Drops queued renders and stops the render threads, after a failed generation.
+     */
+    void cancelRenders() {
+        pendingRenders.clear();
+        modelBundle = null;
+        modelRenders.clear();
+        if (renderExecutor != null) {
+            renderExecutor.shutdownNow();
+            renderExecutor = null;
+        }
+        if (writer != null) {
+            writer.abort();
+        }
+    }
+
+    private File submit(Map<String, Object> data, String template, File target) {
+        Path path = normalize(target.toPath());
+        CompletableFuture<Void> previous = pendingRenders.get(path);
+
+        // The generator skips test files that exist; one queued in this run may not be written yet
+        if (previous != null && testTemplates.contains(template)) {
+            skip(target.toPath(), "Test files never overwrite an existing file of the same name.");
+            return null;
+        }
+
+        Runnable render = () -> {
+            try {
+                render(data, template, target);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        CompletableFuture<Void> pending = previous == null
+            ? CompletableFuture.runAsync(render, executor())
+            : previous.thenRunAsync(render, executor());
+        pendingRenders.put(path, pending);
+        if (modelBundle != null) {
+            modelRenders.add(pending);
+        }
+        return outputFile(target);
+    }
+
+    /**
+     * Releases the current model bundle once its queued renders are done, right away when rendering sequentially.
+     * A failed render is reported by {@link #awaitRenders()}, and its bundle is left as is.
+     */
+    private void releaseModelBundle() {
+        if (modelBundle == null) {
+            return;
+        }
+        ModelsMap rendered = modelBundle;
+        CompletableFuture.allOf(modelRenders.toArray(CompletableFuture[]::new))
+            .thenRun(() -> DartAcdcLowMemoryMode.release(rendered));
+        modelBundle = null;
+        modelRenders.clear();
+    }
+
+    /**
+     * Renders and writes one file, as a "render:&lt;template&gt;" metrics phase.
+     */
+    private File render(Map<String, Object> data, String template, File target) throws IOException {
+        if (metrics == null) {
+            return super.write(data, template, target);
+        }
+        return metrics.time("render:" + template, target.getName(), () -> super.write(data, template, target));
+    }
+
+    private void awaitRender(File target) {
+        CompletableFuture<Void> render = pendingRenders.get(normalize(target.toPath()));
+        if (render != null) {
+            join(target.toPath(), render);
+        }
+    }
+
+    private static void join(Path path, CompletableFuture<Void> render) {
+        try {
+            render.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new RuntimeException("Could not generate " + path, cause != null ? cause : e);
+        }
+    }
+
+    private synchronized DartAcdcOutputWriter writer() {
+        if (writer == null) {
+            writer = new DartAcdcOutputWriter(skipOverwrite, (path, outcome) -> {
+                switch (outcome) {
+                    case WRITTEN -> writtenFiles.increment();
+                    case UNCHANGED -> unchangedFiles.increment();
+                    case KEPT -> keptFiles.add(path);
+                }
+            });
+        }
+        return writer;
+    }
+
+    private ExecutorService executor() {
+        if (renderExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            renderExecutor = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(renderThreads * QUEUED_RENDERS_PER_THREAD),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dart-acdc-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return renderExecutor;
+    }
+
+    /**
+     * Returns true when the file exists with exactly the given content. Sizes are compared first, so that
+     * changed files are almost never read.
+     */
+    static boolean hasContent(Path path, byte[] contents) throws IOException {
+        try {
+            return Files.isRegularFile(path)
+                && Files.size(path) == contents.length
+                && Arrays.equals(Files.readAllBytes(path), contents);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the file TemplateManager reports for a target once written.
+     */
+    private static File outputFile(File target) {
+        return Paths.get(target.getPath()).toFile();
+    }
+}
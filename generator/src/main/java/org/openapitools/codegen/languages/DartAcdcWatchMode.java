@@ -0,0 +1,217 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watch mode: regenerates whenever the spec or the custom templates change, until stopped.
+ *
+ * The JVM, the generator classes and the OpenAPI parser stay loaded between runs, and every run is
+ * incremental (see {@link DartAcdcIncrementalGeneration}), so a change only renders the files whose inputs
+ * changed. A change to the template directory changes the run context, so every file is rendered again but
+ * only the files whose content changed are written.
+ *
+ * Changes are picked up by a {@link WatchService} on the directories of the spec and of the local files it
+ * references through $ref (only those files count), and on the template directory tree. The referenced files
+ * are found again after every run, so a reference added to the spec is watched from then on. Events arriving
+ * less than {@value #QUIET_PERIOD_MILLIS} ms apart, such as an editor writing a file in several steps, trigger a
+ * single run. A failing run, for example on a spec
+ * saved half-edited, is reported and watching goes on; so does a run overflowing the stack or failing an
+ * assertion, which a spec can cause (a deeply recursive schema). Any other {@link Error} is reported and stops
+ * watching.
+ */
+final class DartAcdcWatchMode implements Closeable {
+
+    /**
+     * Additional property enabling watch mode in {@link DartAcdcCli}.
+     */
+    static final String WATCH = "watch";
+
+    static final long QUIET_PERIOD_MILLIS = 100;
+
+    private final Path spec;
+    private final Path templateDir;
+    private final Runnable generation;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Set<Path> specFiles = new HashSet<>();
+
+    /**
+     * Starts watching.
+     *
+     * @param spec the spec file
+     * @param templateDir the template directory, or null if the embedded templates are used
+     * @param generation runs one generation
+     * @param out receives a line per run
+     * @param err receives the errors of failed runs
+     * @throws IOException if the directories cannot be watched
+     */
+    DartAcdcWatchMode(Path spec, Path templateDir, Runnable generation, PrintStream out, PrintStream err) throws IOException {
+        this.spec = spec.toAbsolutePath().normalize();
+        this.templateDir = templateDir == null ? null : templateDir.toAbsolutePath().normalize();
+        this.generation = generation;
+        this.out = out;
+        this.err = err;
+        this.watchService = this.spec.getFileSystem().newWatchService();
+        try {
+            watchSpecFiles();
+            if (this.templateDir != null) {
+                registerTree(this.templateDir);
+            }
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns whether a configuration asks for watch mode.
+     *
+     * @param config the generator configuration
+     * @return true if {@value #WATCH} is enabled
+     */
+    static boolean isEnabled(CodegenConfig config) {
+        return Boolean.parseBoolean(String.valueOf(config.additionalProperties().get(WATCH)));
+    }
+
+    /**
+     * Returns the custom template directory of a configuration.
+     *
+     * @param config the generator configuration
+     * @return the template directory, or null if the templates are embedded in the generator
+     */
+    static Path templateDir(CodegenConfig config) {
+        if (config.templateDir() == null) {
+            return null;
+        }
+        Path dir = Path.of(config.templateDir());
+        return Files.isDirectory(dir) ? dir : null;
+    }
+
+    /**
+     * Waits for changes and regenerates after each of them, until the thread is interrupted or the
+     * watch is closed. The caller runs the first generation.
+     */
+    void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+                boolean changed = false;
+                while (key != null) {
+                    changed |= drain(key);
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (changed) {
+                    regenerate();
+                    try {
+                        watchSpecFiles();
+                    } catch (IOException e) {
+                        err.println("Could not watch the files referenced by " + spec + ": " + e.getMessage());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void regenerate() {
+        long start = System.nanoTime();
+        try {
+            generation.run();
+            out.println("Regenerated in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } catch (Exception | StackOverflowError | AssertionError e) {
+            err.println("Generation failed: " + e.getMessage());
+        } catch (Error e) {
+            err.println("Generation failed, stopped watching: " + e);
+            throw e;
+        }
+    }
+
+    /**
+     * Consumes the events of a key.
+     *
+     * @return true if one of them is a change to the spec, a file it references or the templates
+     */
+    private boolean drain(WatchKey key) {
+        Path dir = directories.get(key);
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                changed = true;
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (templateDir != null && path.startsWith(templateDir)) {
+                changed = true;
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        registerTree(path);
+                    } catch (IOException e) {
+                        err.println("Could not watch " + path + ": " + e.getMessage());
+                    }
+                }
+            } else if (specFiles.contains(path)) {
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return changed;
+    }
+
+    /**
+     * Finds the spec and the local files it references, and watches the directories not watched yet.
+     */
+    private void watchSpecFiles() throws IOException {
+        Set<Path> files = new HashSet<>();
+        files.add(spec);
+        DartAcdcSpecSnapshot.walkLocalFiles(spec, (file, content) -> files.add(file));
+        specFiles.clear();
+        specFiles.addAll(files);
+        for (Path file : files) {
+            Path dir = file.getParent();
+            if (!directories.containsValue(dir)) {
+                register(dir);
+            }
+        }
+    }
+
+    private void registerTree(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(Path dir) throws IOException {
+        directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+    }
+}
@@ -0,0 +1,194 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Mustache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batch generation of several configs in one JVM, and the template cache its jobs share.
+ */
+class DartAcdcBatchGenerationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path petstoreSpec;
+    private Path storeSpec;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        petstoreSpec = copyResource("petstore-with-upload.yaml");
+        storeSpec = copyResource("sharded-store.yaml");
+    }
+
+    // ========== Batch ==========
+
+    @Test
+    @DisplayName("Batch: should generate every config concurrently and report each of them")
+    void testBatch_GeneratesEveryConfig() throws IOException {
+        Path petstore = writeConfig("petstore.yaml", petstoreSpec, "petstore_client");
+        Path store = writeConfig("store.yaml", storeSpec, "store_client");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int status = DartAcdcCli.run(new String[] {"-c", petstore.toString(), "-c", store.toString()},
+            new PrintStream(out, true), System.err);
+
+        assertEquals(0, status);
+        assertTrue(out.toString().contains(petstore + ": generated "), out.toString());
+        assertTrue(out.toString().contains(store + ": generated "), out.toString());
+        assertTrue(Files.readString(tempDir.resolve("petstore_client/pubspec.yaml")).contains("name: petstore_client"));
+        assertTrue(Files.exists(tempDir.resolve("petstore_client/lib/models/pet.dart")));
+        assertTrue(Files.readString(tempDir.resolve("store_client/pubspec.yaml")).contains("name: store_client"));
+        assertTrue(Files.exists(tempDir.resolve("store_client/lib/models/order.dart")));
+        assertFalse(Files.exists(tempDir.resolve("store_client/lib/models/new_pet.dart")),
+            "Jobs should not share models");
+    }
+
+    @Test
+    @DisplayName("Batch: should report a failing config without stopping the others")
+    void testBatch_ReportsFailures() throws IOException {
+        Path broken = writeConfig("broken.yaml", tempDir.resolve("missing.yaml"), "broken_client");
+        Path store = writeConfig("store.yaml", storeSpec, "store_client");
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = DartAcdcCli.run(new String[] {"-c", broken.toString(), "-c", store.toString()},
+            new PrintStream(new ByteArrayOutputStream(), true), new PrintStream(err, true));
+
+        assertEquals(1, status);
+        assertTrue(err.toString().contains(broken + ": failed: "), err.toString());
+        assertTrue(Files.exists(tempDir.resolve("store_client/lib/models/order.dart")));
+    }
+
+    @Test
+    @DisplayName("Batch: should reject options that only fit a single config")
+    void testBatch_RejectsSingleConfigOptions() {
+        String[] args = {"-c", "a.yaml", "-c", "b.yaml", "-o", tempDir.toString()};
+
+        assertThrows(IllegalArgumentException.class, () -> DartAcdcCli.parseBatchArguments(args));
+        assertThrows(IllegalArgumentException.class, () -> DartAcdcCli.parseArguments(args));
+        assertEquals(2, DartAcdcCli.run(args, new PrintStream(new ByteArrayOutputStream(), true),
+            new PrintStream(new ByteArrayOutputStream(), true)));
+    }
+
+    // ========== Template Cache ==========
+
+    @Test
+    @DisplayName("Template cache: should compile each template once for every run sharing it")
+    void testTemplateCache_CompilesOnce() throws IOException {
+        DartAcdcTemplateCache templateCache = new DartAcdcTemplateCache();
+
+        generate(templateCache, storeSpec, tempDir.resolve("first"));
+        int compiled = templateCache.size();
+        generate(templateCache, petstoreSpec, tempDir.resolve("second"));
+
+        assertTrue(compiled > 10, "Every template rendered should be compiled: " + compiled);
+        assertEquals(compiled, templateCache.size(), "The second run should reuse the compiled templates");
+        assertEquals(compiled, templateCache.misses(), "Only the first run should compile templates");
+        assertTrue(templateCache.hits() > 0, "Renders should be counted as cache hits");
+        assertTrue(Files.readString(tempDir.resolve("second/lib/models/pet.dart")).contains("class Pet"));
+    }
+
+    @Test
+    @DisplayName("Template cache: should recompile a template whose content changed")
+    void testTemplateCache_RecompilesChangedTemplates() throws IOException {
+        DartAcdcTemplateCache templateCache = new DartAcdcTemplateCache();
+        Path templateDir = Files.createDirectories(tempDir.resolve("templates"));
+        Path modelTemplate = templateDir.resolve("model.mustache");
+        Files.writeString(modelTemplate, "// first {{#models}}{{#model}}{{classname}}{{/model}}{{/models}}\n");
+
+        generate(templateCache, templateDir, storeSpec, tempDir.resolve("first"));
+        long compiled = templateCache.misses();
+        Files.writeString(modelTemplate, "// second {{#models}}{{#model}}{{classname}}{{/model}}{{/models}}\n");
+        generate(templateCache, templateDir, storeSpec, tempDir.resolve("second"));
+
+        assertEquals("// first Order\n", Files.readString(tempDir.resolve("first/lib/models/order.dart")));
+        assertEquals("// second Order\n", Files.readString(tempDir.resolve("second/lib/models/order.dart")));
+        assertEquals(compiled + 1, templateCache.misses(), "Only the changed template should be compiled again");
+    }
+
+    @Test
+    @DisplayName("Template cache: should compile a template separately for each compiler and template directory")
+    void testTemplateCache_KeyedByConfiguration() {
+        DartAcdcTemplateCache templateCache = new DartAcdcTemplateCache();
+        Map<String, String> contents = Map.of("model.mustache", "{{name}} {{>part}}", "part.mustache", "{{name}}");
+        TemplatingExecutor executor = new TemplatingExecutor() {
+            @Override
+            public String getFullTemplateContents(String name) {
+                return contents.get(name);
+            }
+
+            @Override
+            public Path getFullTemplatePath(String name) {
+                return Path.of("/templates", name);
+            }
+        };
+        Mustache.Compiler escaping = Mustache.compiler();
+        Map<String, String> bundle = Map.of("name", "<b>");
+
+        DartAcdcTemplateCache.Lookup html = templateCache.get("model.mustache", "dart-acdc", escaping, executor);
+        DartAcdcTemplateCache.Lookup cached = templateCache.get("model.mustache", "dart-acdc", Mustache.compiler(), executor);
+        DartAcdcTemplateCache.Lookup plain = templateCache.get("model.mustache", "dart-acdc",
+            escaping.escapeHTML(false), executor);
+        DartAcdcTemplateCache.Lookup overlay = templateCache.get("model.mustache", "custom:dart-acdc", escaping, executor);
+
+        assertEquals("&lt;b&gt; &lt;b&gt;", html.template().execute(bundle));
+        assertFalse(cached.compiled(), "An equivalent compiler should reuse the compiled template");
+        assertEquals("<b> <b>", plain.template().execute(bundle));
+        assertTrue(plain.compiled());
+        assertTrue(overlay.compiled(), "Another template directory may resolve other partials");
+        assertEquals(3, templateCache.size());
+    }
+
+    // ========== Helper Methods ==========
+
+    private Path copyResource(String name) throws IOException {
+        Path file = tempDir.resolve(name);
+        try (InputStream in = getClass().getResourceAsStream("/" + name)) {
+            assertNotNull(in, name + " should be on the test classpath");
+            Files.write(file, in.readAllBytes());
+        }
+        return file;
+    }
+
+    private Path writeConfig(String name, Path spec, String pubName) throws IOException {
+        Path config = tempDir.resolve(name);
+        Files.writeString(config, String.join("\n",
+            "generatorName: dart-acdc",
+            "inputSpec: " + spec,
+            "outputDir: " + tempDir.resolve(pubName),
+            "additionalProperties:",
+            "  pubName: " + pubName,
+            ""));
+        return config;
+    }
+
+    private static void generate(DartAcdcTemplateCache templateCache, Path spec, Path outputDir) {
+        generate(templateCache, null, spec, outputDir);
+    }
+
+    private static void generate(DartAcdcTemplateCache templateCache, Path templateDir, Path spec, Path outputDir) {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("dart-acdc")
+            .setInputSpec(spec.toString())
+            .setOutputDir(outputDir.toString())
+            .addAdditionalProperty("pubName", "client");
+        if (templateDir != null) {
+            configurator.setTemplateDir(templateDir.toString());
+        }
+        new DartAcdcDefaultGenerator().templateCache(templateCache).opts(configurator.toClientOptInput()).generate();
+    }
+}
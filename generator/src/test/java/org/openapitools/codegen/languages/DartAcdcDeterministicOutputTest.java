@@ -0,0 +1,193 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.generate;
+
+/**
+ * Tests for deterministic output: the generated files only depend on the spec and the options.
+ */
+class DartAcdcDeterministicOutputTest {
+
+    private static final Map<String, String> DETERMINISTIC = Map.of(DartAcdcGenerator.DETERMINISTIC_OUTPUT, "true");
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+    }
+
+    // ========== Locale ==========
+
+    @Test
+    @DisplayName("Locale: output should not depend on the default locale")
+    void testLocale_IndependentOfDefaultLocale() throws IOException {
+        generate(specFile, tempDir.resolve("root"), DETERMINISTIC);
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            generate(specFile, tempDir.resolve("turkish"), DETERMINISTIC);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        assertSameFiles(tempDir.resolve("root"), tempDir.resolve("turkish"));
+    }
+
+    @Test
+    @DisplayName("Locale: regular output should not depend on the default locale either")
+    void testLocale_RegularOutputIndependentOfDefaultLocale() throws IOException {
+        generate(specFile, tempDir.resolve("root"), Map.of());
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("az"));
+            generate(specFile, tempDir.resolve("azeri"), Map.of());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        assertSameFiles(tempDir.resolve("root"), tempDir.resolve("azeri"));
+    }
+
+    @Test
+    @DisplayName("Locale: identifier conversions should use the locale they are given")
+    void testLocale_IdentifierConverter() {
+        DartAcdcIdentifierConverter converter = new DartAcdcIdentifierConverter();
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals("ınteger", converter.underscore("Integer"));
+
+            converter.setLocale(Locale.ROOT);
+            assertEquals("integer", converter.underscore("Integer"));
+            assertEquals("item_id", converter.underscore("ItemId"));
+            assertEquals("itemId", converter.camelCase("ITEM-ID"));
+            assertEquals("item_api", converter.packageName("ITEM API"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    // ========== Ordering ==========
+
+    @Test
+    @DisplayName("Ordering: output should not depend on the order of paths and discriminator mappings")
+    void testOrdering_IndependentOfSpecMapOrder() throws IOException {
+        Path spec = writeShapesSpec("shapes.yaml", false);
+        Path reordered = writeShapesSpec("shapes-reordered.yaml", true);
+
+        generate(spec, tempDir.resolve("spec"), DETERMINISTIC);
+        generate(reordered, tempDir.resolve("reordered"), DETERMINISTIC);
+
+        assertSameFiles(tempDir.resolve("spec"), tempDir.resolve("reordered"));
+        String api = Files.readString(tempDir.resolve("spec/lib/remote_data_sources/ShapesApi_remote_data_source.dart"));
+        assertTrue(api.indexOf("listCircles") < api.indexOf("listSquares"), api);
+        String shape = Files.readString(tempDir.resolve("spec/lib/models/shape.dart"));
+        assertTrue(shape.indexOf("case 'circle'") < shape.indexOf("case 'square'"), shape);
+    }
+
+    @Test
+    @DisplayName("Ordering: regular output should keep the discriminator mapping order")
+    void testOrdering_RegularOutputKeepsSpecOrder() throws IOException {
+        generate(writeShapesSpec("shapes-reordered.yaml", true), tempDir.resolve("reordered"), Map.of());
+
+        String shape = Files.readString(tempDir.resolve("reordered/lib/models/shape.dart"));
+        assertTrue(shape.indexOf("case 'square'") < shape.indexOf("case 'circle'"), shape);
+    }
+
+    // ========== CLI ==========
+
+    @Test
+    @DisplayName("CLI: --deterministic should enable deterministic output")
+    void testCli_Deterministic() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "--deterministic"
+        });
+
+        assertNotNull(configurator);
+        assertEquals(true, configurator.toClientOptInput().getConfig().additionalProperties()
+            .get(DartAcdcGenerator.DETERMINISTIC_OUTPUT));
+    }
+
+    // ========== Helper Methods ==========
+
+    private Path writeShapesSpec(String name, boolean reordered) throws IOException {
+        List<String> circles = List.of(
+            "  /circles:",
+            "    get:",
+            "      tags: [shapes]",
+            "      operationId: listCircles",
+            "      responses:",
+            "        '200':",
+            "          description: ok",
+            "          content:",
+            "            application/json:",
+            "              schema: {$ref: '#/components/schemas/Shape'}");
+        List<String> squares = List.of(
+            "  /squares:",
+            "    get:",
+            "      tags: [shapes]",
+            "      operationId: listSquares",
+            "      responses:",
+            "        '200':",
+            "          description: ok",
+            "          content:",
+            "            application/json:",
+            "              schema: {$ref: '#/components/schemas/Shape'}");
+        String circleMapping = "          circle: '#/components/schemas/Circle'";
+        String squareMapping = "          square: '#/components/schemas/Square'";
+
+        List<String> lines = new ArrayList<>(List.of(
+            "openapi: 3.0.3",
+            "info: {title: Shapes, version: 1.0.0}",
+            "paths:"));
+        lines.addAll(reordered ? squares : circles);
+        lines.addAll(reordered ? circles : squares);
+        lines.addAll(List.of(
+            "components:",
+            "  schemas:",
+            "    Shape:",
+            "      oneOf:",
+            "        - $ref: '#/components/schemas/Circle'",
+            "        - $ref: '#/components/schemas/Square'",
+            "      discriminator:",
+            "        propertyName: kind",
+            "        mapping:",
+            reordered ? squareMapping : circleMapping,
+            reordered ? circleMapping : squareMapping,
+            "    Circle:",
+            "      type: object",
+            "      properties:",
+            "        kind: {type: string}",
+            "        radius: {type: number}",
+            "    Square:",
+            "      type: object",
+            "      properties:",
+            "        kind: {type: string}",
+            "        side: {type: number}",
+            ""));
+        Path spec = tempDir.resolve(name);
+        Files.writeString(spec, String.join("\n", lines));
+        return spec;
+    }
+}
@@ -0,0 +1,140 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the generation metrics report and JFR events.
+ */
+class DartAcdcGenerationMetricsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+        outputDir = tempDir.resolve("generated");
+    }
+
+    // ========== Metrics Report ==========
+
+    @Test
+    @DisplayName("Report: generationMetrics=true should time every phase and count the models")
+    void testReport_PhasesAndCounts() throws IOException {
+        new DartAcdcDefaultGenerator().opts(configurator(Map.of(DartAcdcGenerator.GENERATION_METRICS, "true"))
+            .toClientOptInput()).generate();
+
+        JsonNode report = MAPPER.readTree(outputDir.resolve("generation-metrics.json").toFile());
+        JsonNode phases = report.get("phases");
+        for (String phase : List.of("preprocessOpenAPI", "preprocessOpenAPI.allOfFlattening",
+            "preprocessOpenAPI.cycleDetection", "fromModel", "postProcessModels", "postProcessAllModels",
+            "postProcessOperationsWithModels", "render:model.mustache", "render:remote_data_source_impl.mustache")) {
+            assertTrue(phases.has(phase), "Missing phase " + phase + " in " + phases);
+        }
+        JsonNode fromModel = phases.get("fromModel");
+        assertTrue(fromModel.get("count").asInt() >= 3);
+        assertTrue(fromModel.get("slowest").size() > 0);
+
+        JsonNode counts = report.get("counts");
+        assertTrue(counts.get("schemas").asInt() >= 3, counts.toString());
+        assertTrue(counts.get("properties").asInt() > 0, counts.toString());
+        assertTrue(counts.has("imports"), counts.toString());
+    }
+
+    @Test
+    @DisplayName("Report: stock DefaultGenerator should write the report from postProcess")
+    void testReport_DefaultGenerator() throws IOException {
+        Path report = tempDir.resolve("metrics/report.json");
+
+        new DefaultGenerator().opts(configurator(Map.of(DartAcdcGenerator.GENERATION_METRICS, report.toString()))
+            .toClientOptInput()).generate();
+
+        JsonNode phases = MAPPER.readTree(report.toFile()).get("phases");
+        assertTrue(phases.has("fromModel"), phases.toString());
+        assertFalse(phases.has("render:model.mustache"), "Only DartAcdcDefaultGenerator times renders");
+    }
+
+    @Test
+    @DisplayName("Report: should not be written by default")
+    void testReport_DisabledByDefault() {
+        new DartAcdcDefaultGenerator().opts(configurator(Map.of()).toClientOptInput()).generate();
+
+        assertFalse(Files.exists(outputDir.resolve("generation-metrics.json")));
+    }
+
+    // ========== JFR Events ==========
+
+    @Test
+    @DisplayName("JFR: phases and the run summary should be recorded as events")
+    void testJfr_EventsRecorded() throws IOException {
+        Path recordingFile = tempDir.resolve("generation.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("dartacdc.GenerationPhase");
+            recording.enable("dartacdc.GenerationSummary");
+            recording.start();
+            new DartAcdcDefaultGenerator().opts(configurator(Map.of()).toClientOptInput()).generate();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        Set<String> phases = new HashSet<>();
+        List<RecordedEvent> summaries = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            if ("dartacdc.GenerationPhase".equals(event.getEventType().getName())) {
+                phases.add(event.getString("phase"));
+            } else if ("dartacdc.GenerationSummary".equals(event.getEventType().getName())) {
+                summaries.add(event);
+            }
+        }
+        assertTrue(phases.containsAll(List.of("fromModel", "postProcessAllModels", "render:model.mustache")),
+            phases.toString());
+        assertEquals(1, summaries.size());
+        assertTrue(summaries.get(0).getLong("schemas") >= 3);
+        assertFalse(Files.exists(outputDir.resolve("generation-metrics.json")));
+    }
+
+    @Test
+    @DisplayName("CLI: --metrics-file should set the report path")
+    void testCli_MetricsFile() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "--metrics-file", "out/metrics.json"
+        });
+
+        assertNotNull(configurator);
+        assertEquals("out/metrics.json", configurator.toClientOptInput().getConfig().additionalProperties()
+            .get(DartAcdcGenerator.GENERATION_METRICS));
+    }
+
+    // ========== Helper Methods ==========
+
+    private CodegenConfigurator configurator(Map<String, String> properties) {
+        return DartAcdcTestGeneration.configurator(specFile, outputDir, properties);
+    }
+}
@@ -0,0 +1,183 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.readTree;
+
+/**
+ * Tests for the generation service: concurrent jobs in one JVM generate the same packages as separate runs.
+ */
+class DartAcdcGenerationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] spec;
+    private DartAcdcGenerationService service;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            spec = in.readAllBytes();
+        }
+        service = new DartAcdcGenerationService(0, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    // ========== Generation ==========
+
+    @Test
+    @DisplayName("Service: concurrent jobs should generate the same packages as separate runs")
+    void testService_ConcurrentJobsMatchSeparateRuns() throws Exception {
+        List<String> pubNames = List.of("alpha_api", "beta_api", "alpha_api", "beta_api", "gamma_api", "alpha_api");
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>();
+        for (String pubName : pubNames) {
+            responses.add(client.sendAsync(post("pubName=" + pubName, spec), HttpResponse.BodyHandlers.ofByteArray()));
+        }
+
+        Map<String, Map<String, byte[]>> expected = new HashMap<>();
+        for (int i = 0; i < pubNames.size(); i++) {
+            HttpResponse<byte[]> response = responses.get(i).join();
+            assertEquals(200, response.statusCode(), new String(response.body()));
+            assertEquals("application/zip", response.headers().firstValue("Content-Type").orElse(null));
+
+            String pubName = pubNames.get(i);
+            Map<String, byte[]> files = expected.computeIfAbsent(pubName, this::generateSeparately);
+            assertSameFiles(files, unzip(response.body()));
+        }
+        assertTrue(new String(unzip(responses.get(1).join().body()).get("pubspec.yaml")).contains("name: beta_api"));
+    }
+
+    @Test
+    @DisplayName("Service: should apply the additional properties of the query string")
+    void testService_AdditionalProperties() throws Exception {
+        HttpResponse<byte[]> response = client.send(post("pubName=petstore_api&generationMetrics=true", spec),
+            HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        Map<String, byte[]> files = unzip(response.body());
+        assertTrue(files.containsKey("generation-metrics.json"), files.keySet().toString());
+        assertTrue(new String(files.get("pubspec.yaml")).contains("name: petstore_api"));
+    }
+
+    // ========== Errors ==========
+
+    @Test
+    @DisplayName("Service: should reject requests without a document, other methods and metrics paths")
+    void testService_InvalidRequests() throws Exception {
+        assertEquals(400, client.send(post("pubName=petstore_api", new byte[0]),
+            HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(400, client.send(post("generationMetrics=/tmp/metrics.json", spec),
+            HttpResponse.BodyHandlers.ofString()).statusCode());
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri("")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+        assertEquals("POST", get.headers().firstValue("Allow").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Service: should report failed generations and keep serving")
+    void testService_FailedGeneration() throws Exception {
+        HttpResponse<String> failed = client.send(post("pubName=petstore_api", "openapi: [broken".getBytes()),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(422, failed.statusCode(), failed.body());
+        assertTrue(failed.body().startsWith("Generation failed:"), failed.body());
+        assertEquals(200, client.send(post("pubName=petstore_api", spec), HttpResponse.BodyHandlers.ofByteArray()).statusCode());
+    }
+
+    @Test
+    @DisplayName("Service: should decode additional properties from the query string")
+    void testService_Properties() {
+        assertEquals(Map.of("pubName", "my api", "deterministicOutput", "true"),
+            DartAcdcGenerationService.properties("pubName=my%20api&deterministicOutput"));
+        assertTrue(DartAcdcGenerationService.properties(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> DartAcdcGenerationService.properties("=value"));
+    }
+
+    @Test
+    @DisplayName("Service: should reject path options and options outside the allowed list")
+    void testService_RejectsUnsupportedProperties() throws Exception {
+        HttpResponse<String> templateDir = client.send(post("pubName=petstore_api&templateDir=/etc", spec),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, templateDir.statusCode());
+        assertTrue(templateDir.body().contains("templateDir"), templateDir.body());
+        assertThrows(IllegalArgumentException.class, () -> DartAcdcGenerationService.properties("outputDir=/tmp"));
+        assertThrows(IllegalArgumentException.class, () -> DartAcdcGenerationService.properties("incremental"));
+    }
+
+    @Test
+    @DisplayName("Service: should answer 413 for documents larger than the maximum size")
+    void testService_DocumentTooLarge() throws Exception {
+        try (DartAcdcGenerationService small = new DartAcdcGenerationService(0, 1, 1024)) {
+            URI uri = URI.create("http://127.0.0.1:" + small.port() + DartAcdcGenerationService.PATH);
+            HttpResponse<String> sized = client.send(HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(spec)).build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> chunked = client.send(HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(spec))).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(413, sized.statusCode(), sized.body());
+            assertEquals(413, chunked.statusCode(), chunked.body());
+        }
+    }
+
+    // ========== Helper Methods ==========
+
+    private URI uri(String query) {
+        return URI.create("http://127.0.0.1:" + service.port() + DartAcdcGenerationService.PATH
+            + (query.isEmpty() ? "" : "?" + query));
+    }
+
+    private HttpRequest post(String query, byte[] body) {
+        return HttpRequest.newBuilder(uri(query)).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+    }
+
+    private Map<String, byte[]> generateSeparately(String pubName) {
+        try {
+            Path specFile = Files.write(tempDir.resolve(pubName + ".yaml"), spec);
+            Path output = tempDir.resolve(pubName);
+            DartAcdcTestGeneration.generate(specFile, output, Map.of("pubName", pubName));
+            return readTree(output);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static Map<String, byte[]> unzip(byte[] zip) throws IOException {
+        Map<String, byte[]> files = new TreeMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                files.put(entry.getName(), in.readAllBytes());
+            }
+        }
+        return files;
+    }
+}
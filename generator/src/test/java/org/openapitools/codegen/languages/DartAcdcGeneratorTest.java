@@ -270,6 +270,63 @@ class DartAcdcGeneratorTest {
         assertEquals("package:openapi_client/models/user.dart", result);
     }
 
+    @Test
+    @DisplayName("toModelImport: should follow pubName changes after imports were cached")
+    void testToModelImport_PubNameChangeInvalidatesCache() {
+        assertEquals("package:openapi_client/models/user_profile.dart", generator.toModelImport("UserProfile"));
+
+        // Set directly, without processOpts
+        generator.additionalProperties().put("pubName", "my_api");
+        assertEquals("package:my_api/models/user_profile.dart", generator.toModelImport("UserProfile"));
+
+        // Set through processOpts (sanitized)
+        generator.additionalProperties().put("pubName", "Other API");
+        generator.processOpts();
+        assertEquals("package:other_api/models/user_profile.dart", generator.toModelImport("UserProfile"));
+    }
+
+    @Test
+    @DisplayName("Name caches: should return identical results on repeated lookups")
+    void testModelNameCaches_RepeatedLookups() {
+        String[] names = {"UserProfile", "class", "HTTPResponse", "order_line_item", "v1.Pet"};
+        for (String name : names) {
+            String modelName = generator.toModelName(name);
+            String filename = generator.toModelFilename(name);
+            String modelImport = generator.toModelImport(name);
+
+            assertSame(modelName, generator.toModelName(name));
+            assertSame(filename, generator.toModelFilename(name));
+            assertSame(modelImport, generator.toModelImport(name));
+        }
+        assertEquals("ClassModel", generator.toModelName("class"));
+        assertEquals("class_model", generator.toModelFilename("class"));
+    }
+
+    @Test
+    @DisplayName("Model imports: should resolve, filter and sort imports in one pass")
+    void testPostProcessModels_ResolvesImports() {
+        generator.additionalProperties().put("pubName", "petstore_api");
+        CodegenModel model = new CodegenModel();
+        model.name = "Owner";
+        model.classname = "Owner";
+        model.imports = new HashSet<>(List.of("Pet", "string", "Address", "package:petstore_api/models/integer.dart"));
+        org.openapitools.codegen.model.ModelMap modelMap = new org.openapitools.codegen.model.ModelMap();
+        modelMap.setModel(model);
+        org.openapitools.codegen.model.ModelsMap objs = new org.openapitools.codegen.model.ModelsMap();
+        objs.setModels(new ArrayList<>(List.of(modelMap)));
+        objs.setImports(new ArrayList<>());
+
+        generator.postProcessModels(objs);
+
+        assertEquals(List.of("package:petstore_api/models/address.dart", "package:petstore_api/models/pet.dart"),
+                new ArrayList<>(model.imports), "Primitive imports should be dropped and the rest sorted");
+
+        model.imports.add("Cat");
+        generator.postProcessAllModels(new HashMap<>(Map.of("Owner", objs)));
+
+        assertEquals(2, model.imports.size(), "Simple names added after postProcessModels should be dropped");
+    }
+
     // ========================================
     // Generator Metadata Tests
     // ========================================
@@ -438,6 +495,50 @@ class DartAcdcGeneratorTest {
         assertEquals(2, alternatives.size(), "Should have 2 alternatives");
     }
 
+    @Test
+    @DisplayName("Sealed hierarchy: child processed before its parent should extend it")
+    void testSealedHierarchy_ChildBeforeParent() {
+        io.swagger.v3.oas.models.media.Schema animal = new io.swagger.v3.oas.models.media.Schema();
+        animal.setOneOf(new ArrayList<>(List.of(refSchema("Dog"), refSchema("Cat"))));
+
+        // Children come before their parent in map order
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Dog", objectSchema(Map.of("bark", stringSchema())));
+        schemas.put("Cat", objectSchema(Map.of("meow", stringSchema())));
+        schemas.put("Animal", animal);
+        io.swagger.v3.oas.models.OpenAPI openAPI = openAPIWith(schemas);
+        generator.setOpenAPI(openAPI);
+        generator.preprocessOpenAPI(openAPI);
+
+        CodegenModel dog = generator.fromModel("Dog", schemas.get("Dog"));
+
+        assertEquals("Animal", dog.parent, "Dog should extend Animal before Animal is processed");
+        assertEquals(Boolean.TRUE, dog.vendorExtensions.get("x-extends-sealed-class"));
+        assertNull(generator.fromModel("Animal", animal).parent, "Animal itself extends nothing");
+    }
+
+    @Test
+    @DisplayName("Sealed hierarchy: $ref property to a sealed parent should be a composition property")
+    void testSealedHierarchy_CompositionProperty() {
+        io.swagger.v3.oas.models.media.Schema animal = new io.swagger.v3.oas.models.media.Schema();
+        animal.setOneOf(new ArrayList<>(List.of(refSchema("Dog"))));
+        io.swagger.v3.oas.models.media.Schema owner = objectSchema(Map.of("pet", refSchema("Animal")));
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Owner", owner);
+        schemas.put("Dog", objectSchema(Map.of("bark", stringSchema())));
+        schemas.put("Animal", animal);
+        io.swagger.v3.oas.models.OpenAPI openAPI = openAPIWith(schemas);
+        generator.setOpenAPI(openAPI);
+        generator.preprocessOpenAPI(openAPI);
+
+        CodegenProperty pet = generator.fromProperty("pet", refSchema("Animal"));
+        CodegenProperty dog = generator.fromProperty("dog", refSchema("Dog"));
+
+        assertEquals(Boolean.TRUE, pet.vendorExtensions.get("x-is-composition-property"));
+        assertNull(dog.vendorExtensions.get("x-is-composition-property"), "Dog is a child, not a sealed parent");
+    }
+
     @Test
     @DisplayName("Circular reference: should mark property as nullable")
     void testCircularReferenceDetection() {
@@ -483,6 +584,234 @@ class DartAcdcGeneratorTest {
                 "Circular reference property should be marked as nullable");
     }
 
+    @Test
+    @DisplayName("Circular reference: should mark both sides of a mutual reference as nullable")
+    void testCircularReferenceDetection_MutualReference() {
+        io.swagger.v3.oas.models.media.Schema aToB = refSchema("B");
+        io.swagger.v3.oas.models.media.Schema aToLeaf = refSchema("Leaf");
+        io.swagger.v3.oas.models.media.Schema bToA = refSchema("A");
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("A", objectSchema(Map.of("b", aToB, "leaf", aToLeaf)));
+        schemas.put("B", objectSchema(Map.of("a", bToA)));
+        schemas.put("Leaf", objectSchema(Map.of("value", stringSchema())));
+
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+
+        assertEquals(Boolean.TRUE, aToB.getNullable(), "A.b closes the A <-> B cycle");
+        assertEquals(Boolean.TRUE, bToA.getNullable(), "B.a closes the A <-> B cycle");
+        assertNull(aToLeaf.getNullable(), "A.leaf is not part of a cycle");
+    }
+
+    @Test
+    @DisplayName("Circular reference: should follow additionalProperties and oneOf members")
+    void testCircularReferenceDetection_MapsAndOneOf() {
+        io.swagger.v3.oas.models.media.Schema registry = new io.swagger.v3.oas.models.media.Schema();
+        registry.setType("object");
+        registry.setAdditionalProperties(refSchema("Tree"));
+
+        io.swagger.v3.oas.models.media.Schema tree = new io.swagger.v3.oas.models.media.Schema();
+        tree.setOneOf(new ArrayList<>(List.of(refSchema("Leaf"), refSchema("Branch"))));
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Branch", objectSchema(Map.of("children", registry)));
+        schemas.put("Tree", tree);
+        schemas.put("Leaf", objectSchema(Map.of("value", stringSchema())));
+
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+
+        assertEquals(Boolean.TRUE, registry.getNullable(),
+                "Map property reaching Branch through Tree's oneOf should be nullable");
+    }
+
+    @Test
+    @DisplayName("Circular reference: should mark the nested inline property holding the reference")
+    void testCircularReferenceDetection_NestedInlineObject() {
+        io.swagger.v3.oas.models.media.Schema parentRef = refSchema("Category");
+        io.swagger.v3.oas.models.media.Schema meta = objectSchema(Map.of("parent", parentRef));
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Category", objectSchema(Map.of("meta", meta)));
+
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+
+        assertEquals(Boolean.TRUE, parentRef.getNullable(), "Nested self reference should be nullable");
+        assertNull(meta.getNullable(), "Inline container should be left untouched");
+    }
+
+    @Test
+    @DisplayName("Circular reference: should not mark references in a dense acyclic graph")
+    void testCircularReferenceDetection_DenseAcyclicGraph() {
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        List<io.swagger.v3.oas.models.media.Schema> references = new ArrayList<>();
+        int size = 400;
+        for (int i = 0; i < size; i++) {
+            Map<String, io.swagger.v3.oas.models.media.Schema> properties = new LinkedHashMap<>();
+            // Every schema references the next few, producing exponentially many paths
+            for (int j = i + 1; j < Math.min(size, i + 4); j++) {
+                io.swagger.v3.oas.models.media.Schema ref = refSchema("S" + j);
+                references.add(ref);
+                properties.put("s" + j, ref);
+            }
+            schemas.put("S" + i, objectSchema(properties));
+        }
+
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(10),
+                () -> generator.preprocessOpenAPI(openAPIWith(schemas)));
+
+        assertTrue(references.stream().allMatch(ref -> ref.getNullable() == null),
+                "No reference in an acyclic graph should be marked nullable");
+    }
+
+    @Test
+    @DisplayName("allOf: should flatten parents first regardless of schema order")
+    void testAllOfFlattening_DependencyOrder() {
+        io.swagger.v3.oas.models.media.Schema child = new io.swagger.v3.oas.models.media.Schema();
+        child.setAllOf(new ArrayList<>(List.of(refSchema("Parent"),
+                objectSchema(Map.of("childField", stringSchema())))));
+
+        io.swagger.v3.oas.models.media.Schema parent = new io.swagger.v3.oas.models.media.Schema();
+        parent.setAllOf(new ArrayList<>(List.of(refSchema("Root"),
+                objectSchema(Map.of("parentField", stringSchema())))));
+
+        // Children come before their parents in map order
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Child", child);
+        schemas.put("Parent", parent);
+        schemas.put("Root", objectSchema(Map.of("rootField", stringSchema())));
+
+        io.swagger.v3.oas.models.OpenAPI openAPI = openAPIWith(schemas);
+        generator.preprocessOpenAPI(openAPI);
+
+        io.swagger.v3.oas.models.media.Schema flattenedChild = openAPI.getComponents().getSchemas().get("Child");
+        assertNull(flattenedChild.getAllOf(), "Child should be flattened");
+        assertEquals(Set.of("rootField", "parentField", "childField"), flattenedChild.getProperties().keySet(),
+                "Child should inherit the whole allOf chain");
+    }
+
+    @Test
+    @DisplayName("allOf: should not loop on cyclic allOf chains")
+    void testAllOfFlattening_CyclicChain() {
+        io.swagger.v3.oas.models.media.Schema first = new io.swagger.v3.oas.models.media.Schema();
+        first.setAllOf(new ArrayList<>(List.of(refSchema("Second"), objectSchema(Map.of("a", stringSchema())))));
+
+        io.swagger.v3.oas.models.media.Schema second = new io.swagger.v3.oas.models.media.Schema();
+        second.setAllOf(new ArrayList<>(List.of(refSchema("First"), objectSchema(Map.of("b", stringSchema())))));
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("First", first);
+        schemas.put("Second", second);
+
+        io.swagger.v3.oas.models.OpenAPI openAPI = openAPIWith(schemas);
+        assertDoesNotThrow(() -> generator.preprocessOpenAPI(openAPI));
+        assertNull(openAPI.getComponents().getSchemas().get("First").getAllOf());
+        assertNull(openAPI.getComponents().getSchemas().get("Second").getAllOf());
+    }
+
+    @Test
+    @DisplayName("Pruning: should keep only schemas reachable from operations")
+    void testPruneUnusedModels_KeepsReachable() {
+        io.swagger.v3.oas.models.media.Schema pet = objectSchema(Map.of("tags", arraySchema(refSchema("Tag"))));
+        io.swagger.v3.oas.models.media.Schema shape = new io.swagger.v3.oas.models.media.Schema();
+        shape.setOneOf(new ArrayList<>(List.of(refSchema("Circle"))));
+        io.swagger.v3.oas.models.media.Schema animal = objectSchema(Map.of("kind", stringSchema()));
+        animal.setDiscriminator(new io.swagger.v3.oas.models.media.Discriminator().propertyName("kind"));
+        io.swagger.v3.oas.models.media.Schema dog = new io.swagger.v3.oas.models.media.Schema();
+        dog.setAllOf(new ArrayList<>(List.of(refSchema("Animal"), objectSchema(Map.of("bark", stringSchema())))));
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Pet", pet);
+        schemas.put("Tag", objectSchema(Map.of("name", stringSchema())));
+        schemas.put("Shape", shape);
+        schemas.put("Circle", objectSchema(Map.of("radius", stringSchema())));
+        schemas.put("Animal", animal);
+        schemas.put("Dog", dog);
+        schemas.put("Orphan", objectSchema(Map.of("tag", refSchema("Tag"))));
+        io.swagger.v3.oas.models.OpenAPI openAPI = openAPIWith(schemas);
+        io.swagger.v3.oas.models.Operation operation = new io.swagger.v3.oas.models.Operation()
+                .addParametersItem(new io.swagger.v3.oas.models.parameters.Parameter().name("shape").schema(refSchema("Shape")))
+                .responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                        .addApiResponse("200", jsonResponse(arraySchema(refSchema("Pet"))))
+                        .addApiResponse("201", jsonResponse(refSchema("Animal"))));
+        openAPI.path("/pets", new io.swagger.v3.oas.models.PathItem().get(operation));
+
+        generator.additionalProperties().put(DartAcdcGenerator.PRUNE_UNUSED_MODELS, true);
+        generator.preprocessOpenAPI(openAPI);
+
+        assertEquals(Set.of("Pet", "Tag", "Shape", "Circle", "Animal", "Dog"), schemas.keySet(),
+                "Orphan should be pruned; allOf subtypes of a discriminated schema are kept");
+        assertEquals(1, generator.getPrunedModelCount());
+    }
+
+    @Test
+    @DisplayName("Pruning: should keep every schema when disabled or without operations")
+    void testPruneUnusedModels_NothingPruned() {
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Orphan", objectSchema(Map.of("name", stringSchema())));
+
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+        assertTrue(schemas.containsKey("Orphan"), "Pruning is disabled by default");
+
+        generator.additionalProperties().put(DartAcdcGenerator.PRUNE_UNUSED_MODELS, "true");
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+        assertTrue(schemas.containsKey("Orphan"), "A document without operations is not pruned");
+        assertEquals(0, generator.getPrunedModelCount());
+    }
+
+    @Test
+    @DisplayName("Deduplication: should merge identical schemas and rewrite references")
+    void testDeduplicateModels_MergesIdentical() {
+        io.swagger.v3.oas.models.media.Schema named = objectSchema(Map.of("id", stringSchema()));
+        named.setTitle("User");
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("User", named);
+        schemas.put("UserPage", objectSchema(Map.of("items", arraySchema(refSchema("User")))));
+        schemas.put("getUser_200_response", objectSchema(Map.of("id", stringSchema())));
+        schemas.put("listUsers_200_response", objectSchema(Map.of("items", arraySchema(refSchema("getUser_200_response")))));
+        io.swagger.v3.oas.models.OpenAPI openAPI = openAPIWith(schemas);
+        io.swagger.v3.oas.models.media.Schema userResponse = refSchema("getUser_200_response");
+        io.swagger.v3.oas.models.media.Schema pageResponse = refSchema("listUsers_200_response");
+        openAPI.path("/users", new io.swagger.v3.oas.models.PathItem()
+                .get(new io.swagger.v3.oas.models.Operation().responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                        .addApiResponse("200", jsonResponse(pageResponse))))
+                .post(new io.swagger.v3.oas.models.Operation().responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                        .addApiResponse("201", jsonResponse(userResponse)))));
+
+        generator.additionalProperties().put(DartAcdcGenerator.DEDUPLICATE_MODELS, true);
+        generator.preprocessOpenAPI(openAPI);
+
+        assertEquals(Set.of("User", "UserPage"), schemas.keySet(),
+                "The inline copies should merge, including the page that only differed by its item reference");
+        assertEquals("#/components/schemas/User", userResponse.get$ref());
+        assertEquals("#/components/schemas/UserPage", pageResponse.get$ref());
+        assertEquals(2, generator.getDeduplicatedModelCount());
+    }
+
+    @Test
+    @DisplayName("Deduplication: should keep subtypes, different schemas and everything when disabled")
+    void testDeduplicateModels_KeepsDistinct() {
+        io.swagger.v3.oas.models.media.Schema shape = new io.swagger.v3.oas.models.media.Schema();
+        shape.setOneOf(new ArrayList<>(List.of(refSchema("Circle"), refSchema("Disc"))));
+
+        Map<String, io.swagger.v3.oas.models.media.Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Shape", shape);
+        schemas.put("Circle", objectSchema(Map.of("radius", stringSchema())));
+        schemas.put("Disc", objectSchema(Map.of("radius", stringSchema())));
+        schemas.put("Tag", objectSchema(Map.of("name", stringSchema())));
+        schemas.put("Label", objectSchema(Map.of("name", arraySchema(stringSchema()))));
+        schemas.put("Node", objectSchema(Map.of("next", refSchema("Node"))));
+        schemas.put("Link", objectSchema(Map.of("next", refSchema("Link"))));
+
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+        assertEquals(7, schemas.size(), "Deduplication is disabled by default");
+
+        generator.additionalProperties().put(DartAcdcGenerator.DEDUPLICATE_MODELS, "true");
+        generator.preprocessOpenAPI(openAPIWith(schemas));
+        assertEquals(7, schemas.size(), "Alternatives, different and self-referencing schemas are kept");
+        assertEquals(0, generator.getDeduplicatedModelCount());
+    }
+
     // ========================================
     // Type Mapping and Declaration Tests
     // ========================================
@@ -522,7 +851,7 @@ class DartAcdcGeneratorTest {
 
         assertNotNull(property);
         // In non-multipart context, binary should be List<int>
-        // Note: The actual mapping depends on ThreadLocal context which is set by fromRequestBody
+        // Note: The actual mapping depends on the multipart context which is set by fromRequestBody
     }
 
     @Test
@@ -620,4 +949,135 @@ class DartAcdcGeneratorTest {
         // Should add another underscore (this is expected behavior)
         assertEquals("class__", result);
     }
+
+    // ========================================
+    // Operation Post-Processing Tests
+    // ========================================
+
+    @Test
+    @DisplayName("postProcessOperationsWithModels: should convert binary params of wide multipart operations in every list")
+    void testPostProcessOperations_MultipartWithManyParams() {
+        CodegenOperation operation = operation("uploadFiles", "multipart/form-data");
+        for (int i = 0; i < 60; i++) {
+            addParam(operation, param("filter" + i, "String", false), operation.queryParams);
+        }
+        addParam(operation, param("file", "List<int>", true), operation.formParams);
+        addParam(operation, param("note", "String", false), operation.formParams);
+
+        generator.postProcessOperationsWithModels(operationsMap(operation), new ArrayList<>());
+
+        assertEquals(true, operation.vendorExtensions.get("x-is-multipart"));
+        assertTrue(operation.imports.contains("package:dio/dio.dart"));
+        CodegenParameter file = operation.allParams.get(60);
+        assertEquals("MultipartFile", file.dataType);
+        assertEquals("MultipartFile", file.baseType);
+        assertEquals(true, file.vendorExtensions.get("x-is-multipart-file"));
+        assertEquals("MultipartFile", operation.formParams.get(0).dataType);
+        assertEquals("MultipartFile", operation.formParams.get(0).datatypeWithEnum);
+        assertEquals("String", operation.formParams.get(1).dataType);
+        for (List<CodegenParameter> params : List.of(operation.allParams, operation.queryParams, operation.formParams)) {
+            for (CodegenParameter param : params) {
+                assertNotNull(param.vendorExtensions.get("testValue"), param.paramName);
+                assertNotNull(param.vendorExtensions.get("testValueRaw"), param.paramName);
+            }
+        }
+        assertEquals("'test_value'", operation.queryParams.get(59).vendorExtensions.get("testValue"));
+    }
+
+    @Test
+    @DisplayName("postProcessOperationsWithModels: should keep binary params of non-multipart operations")
+    void testPostProcessOperations_BinaryWithoutMultipart() {
+        CodegenOperation operation = operation("uploadRaw", "application/octet-stream");
+        addParam(operation, param("body", "List<int>", true), operation.bodyParams);
+
+        generator.postProcessOperationsWithModels(operationsMap(operation), new ArrayList<>());
+
+        assertNull(operation.vendorExtensions.get("x-is-multipart"));
+        assertEquals("List<int>", operation.allParams.get(0).dataType);
+        assertEquals("List<int>", operation.bodyParams.get(0).dataType);
+        assertEquals("[]", operation.bodyParams.get(0).vendorExtensions.get("testValue"));
+    }
+
+    // ========================================
+    // Helpers
+    // ========================================
+
+    private static CodegenOperation operation(String operationId, String mediaType) {
+        CodegenOperation operation = new CodegenOperation();
+        operation.operationId = operationId;
+        operation.httpMethod = "POST";
+        operation.hasConsumes = true;
+        operation.consumes = new ArrayList<>(List.of(new HashMap<>(Map.of("mediaType", mediaType))));
+        return operation;
+    }
+
+    private static CodegenParameter param(String name, String dataType, boolean isBinary) {
+        CodegenParameter param = new CodegenParameter();
+        param.paramName = name;
+        param.baseName = name;
+        param.dataType = dataType;
+        param.datatypeWithEnum = dataType;
+        param.isBinary = isBinary;
+        return param;
+    }
+
+    private static void addParam(CodegenOperation operation, CodegenParameter param, List<CodegenParameter> location) {
+        // OpenAPI Generator keeps separate instances in allParams and in the location list
+        param.isFormParam = location == operation.formParams;
+        param.isBodyParam = location == operation.bodyParams;
+        param.isQueryParam = location == operation.queryParams;
+        operation.allParams.add(param);
+        location.add(param.copy());
+    }
+
+    private static org.openapitools.codegen.model.OperationsMap operationsMap(CodegenOperation operation) {
+        org.openapitools.codegen.model.OperationMap operations = new org.openapitools.codegen.model.OperationMap();
+        operations.setClassname("FilesApi");
+        operations.setOperation(new ArrayList<>(List.of(operation)));
+        org.openapitools.codegen.model.OperationsMap objs = new org.openapitools.codegen.model.OperationsMap();
+        objs.setOperation(operations);
+        return objs;
+    }
+
+    private static io.swagger.v3.oas.models.media.Schema refSchema(String name) {
+        io.swagger.v3.oas.models.media.Schema schema = new io.swagger.v3.oas.models.media.Schema();
+        schema.set$ref("#/components/schemas/" + name);
+        return schema;
+    }
+
+    private static io.swagger.v3.oas.models.media.Schema stringSchema() {
+        io.swagger.v3.oas.models.media.Schema schema = new io.swagger.v3.oas.models.media.Schema();
+        schema.setType("string");
+        return schema;
+    }
+
+    private static io.swagger.v3.oas.models.media.Schema objectSchema(
+            Map<String, io.swagger.v3.oas.models.media.Schema> properties) {
+        io.swagger.v3.oas.models.media.Schema schema = new io.swagger.v3.oas.models.media.Schema();
+        schema.setType("object");
+        schema.setProperties(new LinkedHashMap<>(properties));
+        return schema;
+    }
+
+    private static io.swagger.v3.oas.models.media.Schema arraySchema(io.swagger.v3.oas.models.media.Schema items) {
+        io.swagger.v3.oas.models.media.Schema schema = new io.swagger.v3.oas.models.media.Schema();
+        schema.setType("array");
+        schema.setItems(items);
+        return schema;
+    }
+
+    private static io.swagger.v3.oas.models.responses.ApiResponse jsonResponse(
+            io.swagger.v3.oas.models.media.Schema schema) {
+        return new io.swagger.v3.oas.models.responses.ApiResponse().content(new io.swagger.v3.oas.models.media.Content()
+                .addMediaType("application/json", new io.swagger.v3.oas.models.media.MediaType().schema(schema)));
+    }
+
+    private static io.swagger.v3.oas.models.OpenAPI openAPIWith(
+            Map<String, io.swagger.v3.oas.models.media.Schema> schemas) {
+        io.swagger.v3.oas.models.OpenAPI openAPI = new io.swagger.v3.oas.models.OpenAPI();
+        io.swagger.v3.oas.models.Components components = new io.swagger.v3.oas.models.Components();
+        components.setSchemas(schemas);
+        openAPI.setComponents(components);
+        return openAPI;
+    }
 }
@@ -0,0 +1,123 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests for DartAcdcIdentifierConverter.
+ * Every conversion must match the regex-based implementation it replaced, character for character.
+ */
+class DartAcdcIdentifierConverterTest {
+
+    private static final String[] CORPUS = {
+        "a", "A", "_", "-", " ", "1", "UserProfile", "userProfile", "HTTPResponse", "XMLHTTPRequest",
+        "OAuth2TokenResponse", "APIKeyV2", "User2FA", "IPv4Address", "aBCd", "a1B2C", "ABC", "abc",
+        "user_account", "shipping-address", "v1.ListPetsResponse", "io.k8s.api.core.v1.PodSpec",
+        "IN_PROGRESS", "in-review", "user.created", "application/json", "  spaced value  ",
+        "UPPER lower Mixed", "@#$", "x-rate-limit-remaining", "__a__b__", "--lead", "trail--",
+        "a\tb\nc\u000Bd\fe\rf", "\u0001abc", "a\u0001 b", "x \u0001abc", "x @abc", "a_@_b",
+        "My API Client", "my-api-client", "billing-api (v2)", "123-service", "My-API@2.0_Client!",
+        "payments.gateway.client", "café-au-lait", "my-api-клиент", "İstanbul", "ıi", "Kelvin",
+        "straße", "ΣΊΣΥΦΟΣ", "emoji-😀-value", "ǅungla", "a b"
+    };
+
+    private static final char[] ALPHABET = (
+        "abcxyzABCXYZ019-_./ \t\n\u000B\f\r\u0001\u001F@#$!()+,;:'\"? "
+        + "éÉßİıΣσKſǅ😀"
+    ).toCharArray();
+
+    private DartAcdcIdentifierConverter converter;
+    private Locale defaultLocale;
+
+    @BeforeEach
+    void setUp() {
+        converter = new DartAcdcIdentifierConverter();
+        defaultLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    @DisplayName("Converter: should match the regex implementation on the fixed corpus")
+    void testMatchesLegacy_Corpus() {
+        Locale.setDefault(Locale.ROOT);
+        for (String input : CORPUS) {
+            assertConversionsMatch(input);
+        }
+    }
+
+    @Test
+    @DisplayName("Converter: should match the regex implementation on random inputs")
+    void testMatchesLegacy_Random() {
+        Locale.setDefault(Locale.ROOT);
+        for (String input : randomInputs(new Random(7), 20_000)) {
+            assertConversionsMatch(input);
+        }
+    }
+
+    @Test
+    @DisplayName("Converter: should match the regex implementation under locales with special case mapping")
+    void testMatchesLegacy_LocaleSensitive() {
+        List<String> inputs = new ArrayList<>(Arrays.asList(CORPUS));
+        inputs.addAll(randomInputs(new Random(11), 2_000));
+        for (Locale locale : new Locale[] {Locale.forLanguageTag("tr-TR"), Locale.forLanguageTag("az"),
+                                           Locale.forLanguageTag("lt"), Locale.GERMANY}) {
+            Locale.setDefault(locale);
+            for (String input : inputs) {
+                assertConversionsMatch(input);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Converter: should reuse its buffer without leaking state between calls")
+    void testNoStateBetweenCalls() {
+        assertEquals("http_response", converter.underscore("HTTPResponse"));
+        assertEquals("a", converter.underscore("A"));
+        assertEquals("pendingApproval", converter.camelCase("PENDING_APPROVAL"));
+        assertEquals("", converter.camelCase("@#$"));
+        assertEquals("my_api_client", converter.packageName("My API Client"));
+        assertEquals("", converter.packageName("___"));
+    }
+
+    private void assertConversionsMatch(String input) {
+        String printable = escape(input);
+        assertEquals(LegacyIdentifierConversions.underscore(input), converter.underscore(input), "underscore(" + printable + ")");
+        assertEquals(LegacyIdentifierConversions.camelCase(input), converter.camelCase(input), "camelCase(" + printable + ")");
+        assertEquals(LegacyIdentifierConversions.packageName(input), converter.packageName(input), "packageName(" + printable + ")");
+    }
+
+    private static List<String> randomInputs(Random random, int count) {
+        List<String> inputs = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int length = 1 + random.nextInt(16);
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            inputs.add(sb.toString());
+        }
+        return inputs;
+    }
+
+    private static String escape(String input) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : input.toCharArray()) {
+            if (c < 0x20 || c >= 0x7F) {
+                sb.append(String.format("\\u%04X", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
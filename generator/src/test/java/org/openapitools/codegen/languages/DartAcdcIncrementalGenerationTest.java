@@ -0,0 +1,216 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+
+/**
+ * Tests for incremental generation with DartAcdcDefaultGenerator.
+ * Incremental output must match a full generation; only files whose inputs changed are rendered again.
+ */
+class DartAcdcIncrementalGenerationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+        outputDir = tempDir.resolve("generated");
+    }
+
+    // ========== Incremental Runs ==========
+
+    @Test
+    @DisplayName("Incremental: first run should render every file and write the manifest")
+    void testFirstRun_WritesManifest() throws IOException {
+        GeneratorRun generator = generate(outputDir, true, Map.of());
+
+        DartAcdcIncrementalGeneration incremental = generator.getIncrementalGeneration();
+        assertNotNull(incremental);
+        assertEquals(0, incremental.unchangedCount());
+        assertTrue(incremental.renderedCount() > 0, "Model and API files should be rendered");
+
+        Path manifest = outputDir.resolve(DartAcdcIncrementalGeneration.MANIFEST_FILE_NAME);
+        assertTrue(Files.exists(manifest), "Manifest should be written");
+        String content = Files.readString(manifest);
+        assertTrue(content.contains("lib/models/pet.dart"), "Model inputs should be recorded");
+        assertTrue(content.contains("\"runHash\""), "Run hash should be recorded");
+    }
+
+    @Test
+    @DisplayName("Incremental: unchanged inputs should skip generation entirely")
+    void testUnchangedInputs_SkipsRun() throws IOException {
+        List<File> first = generate(outputDir, true, Map.of()).generatedFiles;
+        Path pet = outputDir.resolve("lib/models/pet.dart");
+        Files.writeString(pet, "// marker\n", StandardCharsets.UTF_8);
+
+        GeneratorRun second = generate(outputDir, true, Map.of());
+
+        assertEquals("// marker\n", Files.readString(pet), "No file should be rewritten");
+        assertEquals(sorted(first), sorted(second.generatedFiles), "Previous files should be reported");
+        assertEquals(0, second.getIncrementalGeneration().renderedCount());
+    }
+
+    @Test
+    @DisplayName("Incremental: schema change should only re-render dependent files")
+    void testSchemaChange_RendersDependentFilesOnly() throws IOException {
+        generate(outputDir, true, Map.of());
+        addPetProperty();
+
+        DartAcdcIncrementalGeneration incremental = generate(outputDir, true, Map.of()).getIncrementalGeneration();
+
+        assertTrue(incremental.unchangedCount() > 0, "Unrelated files should be kept");
+        assertTrue(incremental.renderedCount() > 0, "Files depending on Pet should be rendered");
+        assertTrue(Files.readString(outputDir.resolve("lib/models/pet.dart")).contains("nickname"));
+    }
+
+    @Test
+    @DisplayName("Incremental: output should match a full generation after a schema change")
+    void testSchemaChange_MatchesFullGeneration() throws IOException {
+        generate(outputDir, true, Map.of());
+        addPetProperty();
+        generate(outputDir, true, Map.of());
+
+        Path fullDir = tempDir.resolve("full");
+        generate(fullDir, false, Map.of());
+
+        assertSameFiles(fullDir.resolve("lib"), outputDir.resolve("lib"));
+    }
+
+    @Test
+    @DisplayName("Incremental: deleted file should be rendered again")
+    void testDeletedFile_RenderedAgain() throws IOException {
+        generate(outputDir, true, Map.of());
+        Path pet = outputDir.resolve("lib/models/pet.dart");
+        String expected = Files.readString(pet);
+        Files.delete(pet);
+
+        DartAcdcIncrementalGeneration incremental = generate(outputDir, true, Map.of()).getIncrementalGeneration();
+
+        assertEquals(expected, Files.readString(pet));
+        assertEquals(1, incremental.renderedCount());
+    }
+
+    @Test
+    @DisplayName("Incremental: changed generator option should re-render every file")
+    void testOptionChange_RendersEverything() throws IOException {
+        generate(outputDir, true, Map.of());
+
+        DartAcdcIncrementalGeneration incremental =
+            generate(outputDir, true, Map.of("pubVersion", "2.0.0")).getIncrementalGeneration();
+
+        assertEquals(0, incremental.unchangedCount());
+    }
+
+    @Test
+    @DisplayName("Incremental: disabled by default")
+    void testDisabledByDefault() {
+        GeneratorRun generator = generate(outputDir, false, Map.of());
+
+        assertNull(generator.getIncrementalGeneration());
+        assertFalse(Files.exists(outputDir.resolve(DartAcdcIncrementalGeneration.MANIFEST_FILE_NAME)));
+    }
+
+    // ========== Command Line ==========
+
+    @Test
+    @DisplayName("CLI: --incremental should enable incremental generation")
+    void testCli_IncrementalFlag() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "-o", outputDir.toString(), "-p", "pubName=petstore_api", "--incremental"
+        });
+
+        assertNotNull(configurator);
+        Map<String, Object> properties = configurator.toClientOptInput().getConfig().additionalProperties();
+        assertEquals(true, properties.get(DartAcdcDefaultGenerator.INCREMENTAL));
+        assertEquals("petstore_api", properties.get("pubName"));
+    }
+
+    @Test
+    @DisplayName("CLI: should generate and report the file count")
+    void testCli_Generates() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = DartAcdcCli.run(new String[] {
+            "-i", specFile.toString(), "-o", outputDir.toString(), "--incremental"
+        }, new PrintStream(out, true), new PrintStream(err, true));
+
+        assertEquals(0, status);
+        assertTrue(out.toString().startsWith("Generated "));
+        assertTrue(Files.exists(outputDir.resolve(DartAcdcIncrementalGeneration.MANIFEST_FILE_NAME)));
+    }
+
+    @Test
+    @DisplayName("CLI: missing spec should fail with usage")
+    void testCli_MissingSpec() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = DartAcdcCli.run(new String[] {"--incremental"},
+            new PrintStream(new ByteArrayOutputStream(), true), new PrintStream(err, true));
+
+        assertEquals(2, status);
+        assertTrue(err.toString().contains("--input-spec"));
+    }
+
+    @Test
+    @DisplayName("CLI: unknown option should fail with usage")
+    void testCli_UnknownOption() {
+        assertThrows(IllegalArgumentException.class, () -> DartAcdcCli.parseArguments(new String[] {"--nope"}));
+    }
+
+    // ========== Helper Methods ==========
+
+    private static final class GeneratorRun extends DartAcdcDefaultGenerator {
+        List<File> generatedFiles;
+    }
+
+    private GeneratorRun generate(Path output, boolean incremental, Map<String, String> properties) {
+        CodegenConfigurator configurator = DartAcdcTestGeneration.configurator(specFile, output, properties);
+        if (incremental) {
+            configurator.addAdditionalProperty(DartAcdcDefaultGenerator.INCREMENTAL, true);
+        }
+
+        GeneratorRun generator = new GeneratorRun();
+        generator.opts(configurator.toClientOptInput());
+        generator.generatedFiles = generator.generate();
+        return generator;
+    }
+
+    private void addPetProperty() throws IOException {
+        String spec = Files.readString(specFile);
+        String replaced = spec.replace("    NewPet:\n", "        nickname:\n          type: string\n    NewPet:\n");
+        assertNotEquals(spec, replaced, "Pet schema should be followed by NewPet");
+        Files.writeString(specFile, replaced);
+    }
+
+    private static List<String> sorted(List<File> files) {
+        List<String> paths = new ArrayList<>();
+        files.forEach(file -> paths.add(file.getAbsolutePath()));
+        Collections.sort(paths);
+        return paths;
+    }
+}
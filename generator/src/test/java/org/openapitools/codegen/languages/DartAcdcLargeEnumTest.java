@@ -0,0 +1,168 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for large enums generated as sorted value tables.
+ */
+class DartAcdcLargeEnumTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("enums.yaml");
+        Files.writeString(specFile, String.join("\n",
+            "openapi: 3.0.3",
+            "info: {title: Enums, version: 1.0.0}",
+            "paths:",
+            "  /items:",
+            "    get:",
+            "      operationId: listItems",
+            "      responses:",
+            "        '200':",
+            "          description: ok",
+            "          content:",
+            "            application/json:",
+            "              schema: {$ref: '#/components/schemas/Item'}",
+            "components:",
+            "  schemas:",
+            "    Item:",
+            "      type: object",
+            "      properties:",
+            "        currency: {$ref: '#/components/schemas/Currency'}",
+            "        code: {$ref: '#/components/schemas/Code'}",
+            "        size: {$ref: '#/components/schemas/Size'}",
+            "    Currency:",
+            "      type: string",
+            "      enum: [USD, EUR, \"it's $1\", GBP, EUR, CHF]",
+            "    Code:",
+            "      type: integer",
+            "      enum: [100, 7, 42, 9]",
+            "    Size:",
+            "      type: string",
+            "      enum: [S, M, L]",
+            ""));
+    }
+
+    // ========== Table ==========
+
+    @Test
+    @DisplayName("Table: enums above the threshold should be generated as sorted value tables")
+    void testTable_AboveThreshold() throws IOException {
+        Path output = tempDir.resolve("generated");
+        generate(output, Map.of(DartAcdcGenerator.LARGE_ENUM_THRESHOLD, "3"));
+
+        String currency = Files.readString(output.resolve("lib/models/currency.dart"));
+        assertTrue(currency.contains("class Currency implements Comparable<Currency> {"), currency);
+        assertTrue(currency.contains("static Currency? tryParse(String value) {"), currency);
+        assertTrue(currency.contains("    'CHF', 'EUR', 'GBP', 'USD', 'it\\'s \\$1',\n"), currency);
+        assertTrue(currency.contains("Its 5 values"), currency);
+
+        String code = Files.readString(output.resolve("lib/models/code.dart"));
+        assertTrue(code.contains("static const List<int> _values = <int>[\n    7, 9, 42, 100,\n  ];"), code);
+
+        String currencyTest = Files.readString(output.resolve("test/CurrencyTest_test.dart"));
+        assertTrue(currencyTest.contains("expect(Currency.values.length, equals(5));"), currencyTest);
+    }
+
+    @Test
+    @DisplayName("Table: enums at or below the threshold should stay regular enums")
+    void testTable_AtThreshold() throws IOException {
+        Path output = tempDir.resolve("generated");
+        generate(output, Map.of(DartAcdcGenerator.LARGE_ENUM_THRESHOLD, "3"));
+
+        String size = Files.readString(output.resolve("lib/models/size.dart"));
+        assertTrue(size.contains("enum Size {"), size);
+        String sizeTest = Files.readString(output.resolve("test/SizeTest_test.dart"));
+        assertTrue(sizeTest.contains("contains(Size."), sizeTest);
+    }
+
+    @Test
+    @DisplayName("Table: regular output should not change without a threshold")
+    void testTable_Disabled() throws IOException {
+        Path output = tempDir.resolve("generated");
+        generate(output, Map.of());
+
+        assertTrue(Files.readString(output.resolve("lib/models/currency.dart")).contains("enum Currency {"));
+        assertTrue(Files.readString(output.resolve("lib/models/code.dart")).contains("enum Code {"));
+    }
+
+    @Test
+    @DisplayName("Table: should pack values into lines of at most 100 characters")
+    void testTable_PacksLines() {
+        CodegenModel model = new CodegenModel();
+        model.dataType = "string";
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(String.format("CODE_%04d", i));
+        }
+
+        assertTrue(DartAcdcEnumTable.apply(model, values, 999));
+
+        String table = (String) model.vendorExtensions.get(DartAcdcEnumTable.VENDOR_EXTENSION_TABLE_VALUES);
+        assertEquals(1000, model.vendorExtensions.get(DartAcdcEnumTable.VENDOR_EXTENSION_TABLE_SIZE));
+        assertTrue(table.startsWith("    'CODE_0000', 'CODE_0001',"), table);
+        for (String line : table.split("\n")) {
+            assertTrue(line.length() <= 100, line);
+        }
+        assertTrue(table.lines().count() < 150, "values should share lines");
+    }
+
+    @Test
+    @DisplayName("Table: should keep enums of other types regular")
+    void testTable_UnsupportedType() {
+        CodegenModel model = new CodegenModel();
+        model.dataType = "number";
+
+        assertFalse(DartAcdcEnumTable.apply(model, List.of(1.5, 2.5), 1));
+        assertTrue(model.vendorExtensions.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Table: should escape values as Dart string literals")
+    void testTable_DartString() {
+        assertEquals("'plain'", DartAcdcEnumTable.dartString("plain"));
+        assertEquals("'a\\'b\\\\c\\$d'", DartAcdcEnumTable.dartString("a'b\\c$d"));
+        assertEquals("'line\\nnext\\u0001'", DartAcdcEnumTable.dartString("line\nnext\u0001"));
+    }
+
+    // ========== CLI ==========
+
+    @Test
+    @DisplayName("CLI: --large-enum-threshold should set the large enum threshold")
+    void testCli_LargeEnumThreshold() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "--large-enum-threshold", "1000"
+        });
+
+        assertNotNull(configurator);
+        assertEquals(1000, DartAcdcEnumTable.threshold(configurator.toClientOptInput().getConfig()));
+    }
+
+    // ========== Helper Methods ==========
+
+    private void generate(Path output, Map<String, String> properties) {
+        Map<String, String> withPubName = new HashMap<>(properties);
+        withPubName.put("pubName", "enums_api");
+        DartAcdcTestGeneration.generate(specFile, output, withPubName);
+    }
+}
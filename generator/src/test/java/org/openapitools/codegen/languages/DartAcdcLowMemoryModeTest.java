@@ -0,0 +1,144 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+
+/**
+ * Tests for low-memory generation: models are released once rendered, and the output is unchanged.
+ */
+class DartAcdcLowMemoryModeTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+    }
+
+    // ========== Low Memory ==========
+
+    @Test
+    @DisplayName("Low memory: output should be identical to a regular run")
+    void testLowMemory_MatchesRegularRun() throws IOException {
+        generate(tempDir.resolve("regular"), Map.of());
+        generate(tempDir.resolve("low-memory"), Map.of(DartAcdcGenerator.LOW_MEMORY, "true"));
+
+        assertSameFiles(tempDir.resolve("regular"), tempDir.resolve("low-memory"));
+    }
+
+    @Test
+    @DisplayName("Low memory: output should be identical to a regular run with parallel rendering")
+    void testLowMemory_MatchesRegularRunInParallel() throws IOException {
+        generate(tempDir.resolve("regular"), Map.of());
+        generate(tempDir.resolve("low-memory"), Map.of(
+            DartAcdcGenerator.LOW_MEMORY, "true",
+            DartAcdcDefaultGenerator.PARALLEL, "true",
+            DartAcdcDefaultGenerator.PARALLEL_THREADS, "4"));
+
+        assertSameFiles(tempDir.resolve("regular"), tempDir.resolve("low-memory"));
+    }
+
+    @Test
+    @DisplayName("Low memory: operations should only see the names of rendered models")
+    void testLowMemory_ReleasesRenderedModels() {
+        List<ModelMap> allModels = new ArrayList<>();
+        ClientOptInput input = input(tempDir.resolve("generated"), Map.of(DartAcdcGenerator.LOW_MEMORY, "true"));
+        DartAcdcGenerator generator = new DartAcdcGenerator() {
+            @Override
+            public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> models) {
+                allModels.addAll(models);
+                return super.postProcessOperationsWithModels(objs, models);
+            }
+        };
+        generator.additionalProperties().putAll(input.getConfig().additionalProperties());
+        generator.setOutputDir(input.getConfig().getOutputDir());
+        input.config(generator);
+
+        new DartAcdcDefaultGenerator().opts(input).generate();
+
+        assertFalse(allModels.isEmpty());
+        for (ModelMap modelMap : allModels) {
+            CodegenModel model = modelMap.getModel();
+            assertNotNull(model.classFilename, model.name);
+            assertTrue(model.vars.isEmpty(), model.name + " should have no properties left");
+            assertTrue(model.allVars.isEmpty(), model.name + " should have no property copies left");
+            assertTrue(model.vendorExtensions.isEmpty(), model.name + " should have no vendor extensions left");
+        }
+        assertTrue(generator.isSkipOperationExample(), "Operation examples should be skipped");
+    }
+
+    @Test
+    @DisplayName("Low memory: should keep property lists shared with vars when compacting")
+    void testLowMemory_CompactKeepsVars() {
+        CodegenModel model = new CodegenModel();
+        model.vars = new ArrayList<>(List.of(new CodegenProperty()));
+        model.allVars = model.vars;
+        model.requiredVars = model.vars;
+        model.modelJson = "{}";
+
+        DartAcdcLowMemoryMode.compact(model);
+
+        assertEquals(1, model.vars.size());
+        assertTrue(model.allVars.isEmpty());
+        assertTrue(model.requiredVars.isEmpty());
+        assertNull(model.modelJson);
+    }
+
+    @Test
+    @DisplayName("Low memory: should keep operation examples when explicitly requested")
+    void testLowMemory_KeepsRequestedExamples() {
+        ClientOptInput input = input(tempDir.resolve("generated"), Map.of(
+            DartAcdcGenerator.LOW_MEMORY, "true",
+            "skipOperationExample", "false"));
+
+        input.getConfig().processOpts();
+
+        assertFalse(((DartAcdcGenerator) input.getConfig()).isSkipOperationExample());
+    }
+
+    @Test
+    @DisplayName("CLI: --low-memory should enable low-memory generation")
+    void testCli_LowMemory() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "--low-memory"
+        });
+
+        assertNotNull(configurator);
+        assertEquals(true, configurator.toClientOptInput().getConfig().additionalProperties()
+            .get(DartAcdcGenerator.LOW_MEMORY));
+    }
+
+    // ========== Helper Methods ==========
+
+    private ClientOptInput input(Path output, Map<String, String> properties) {
+        return DartAcdcTestGeneration.configurator(specFile, output, properties).toClientOptInput();
+    }
+
+    private void generate(Path output, Map<String, String> properties) {
+        DartAcdcTestGeneration.generate(specFile, output, properties);
+    }
+}
@@ -0,0 +1,121 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+
+/**
+ * Tests for parallel rendering with DartAcdcDefaultGenerator.
+ * Parallel output must be byte-identical to sequential output.
+ */
+class DartAcdcParallelRenderingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+    }
+
+    // ========== Parallel Rendering ==========
+
+    @Test
+    @DisplayName("Parallel: output should be identical to sequential rendering")
+    void testParallel_MatchesSequential() throws IOException {
+        Path sequentialDir = tempDir.resolve("sequential");
+        Path parallelDir = tempDir.resolve("parallel");
+
+        List<File> sequentialFiles = generate(sequentialDir, Map.of());
+        List<File> parallelFiles = generate(parallelDir, Map.of(
+            DartAcdcDefaultGenerator.PARALLEL, "true",
+            DartAcdcDefaultGenerator.PARALLEL_THREADS, "4"));
+
+        assertEquals(relativePaths(sequentialDir, sequentialFiles), relativePaths(parallelDir, parallelFiles),
+            "Generated files should be reported in the same order");
+        assertSameFiles(sequentialDir, parallelDir);
+    }
+
+    @Test
+    @DisplayName("Parallel: incremental run should match a full sequential generation")
+    void testParallel_WithIncremental() throws IOException {
+        Path outputDir = tempDir.resolve("generated");
+        Map<String, String> properties = Map.of(
+            DartAcdcDefaultGenerator.PARALLEL, "true",
+            DartAcdcDefaultGenerator.PARALLEL_THREADS, "3",
+            DartAcdcDefaultGenerator.INCREMENTAL, "true");
+        generate(outputDir, properties);
+        Files.writeString(specFile, Files.readString(specFile)
+            .replace("    NewPet:\n", "        nickname:\n          type: string\n    NewPet:\n"));
+        generate(outputDir, properties);
+
+        Path fullDir = tempDir.resolve("full");
+        generate(fullDir, Map.of());
+
+        assertSameFiles(fullDir.resolve("lib"), outputDir.resolve("lib"));
+    }
+
+    @Test
+    @DisplayName("Parallel: render failure should fail the generation")
+    void testParallel_RenderFailure() throws IOException {
+        Path templateDir = Files.createDirectories(tempDir.resolve("templates"));
+        Files.writeString(templateDir.resolve("model.mustache"), "{{#unclosed}}\n");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> generate(tempDir.resolve("generated"), Map.of(
+            DartAcdcDefaultGenerator.PARALLEL, "true",
+            "templateDir", templateDir.toString())));
+
+        assertTrue(e.getMessage().contains("Could not generate"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Parallel: invalid thread count should be rejected")
+    void testParallel_InvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> generate(tempDir.resolve("generated"), Map.of(
+            DartAcdcDefaultGenerator.PARALLEL, "true",
+            DartAcdcDefaultGenerator.PARALLEL_THREADS, "0")));
+    }
+
+    @Test
+    @DisplayName("CLI: --parallel-threads should enable parallel rendering")
+    void testCli_ParallelThreads() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "--parallel-threads", "6"
+        });
+
+        assertNotNull(configurator);
+        Map<String, Object> properties = configurator.toClientOptInput().getConfig().additionalProperties();
+        assertEquals(true, properties.get(DartAcdcDefaultGenerator.PARALLEL));
+        assertEquals("6", properties.get(DartAcdcDefaultGenerator.PARALLEL_THREADS));
+    }
+
+    // ========== Helper Methods ==========
+
+    private List<File> generate(Path output, Map<String, String> properties) {
+        return DartAcdcTestGeneration.generate(specFile, output, properties);
+    }
+
+    private static List<String> relativePaths(Path dir, List<File> files) {
+        List<String> paths = new ArrayList<>();
+        files.forEach(file -> paths.add(dir.toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString()));
+        return paths;
+    }
+}
@@ -0,0 +1,117 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sharded generation: one package per tag plus a core package of shared models.
+ */
+class DartAcdcShardedGenerationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("sharded-store.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/sharded-store.yaml")) {
+            assertNotNull(in, "sharded-store.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+        outputDir = tempDir.resolve("generated");
+    }
+
+    // ========== Plan ==========
+
+    @Test
+    @DisplayName("Plan: should move shared models, their sealed families and orphans to the core package")
+    void testPlan_SharedModelsInCore() {
+        OpenAPI openAPI = new OpenAPIParser().readLocation(specFile.toString(), null, null).getOpenAPI();
+        DartAcdcGenerator generator = new DartAcdcGenerator();
+
+        DartAcdcShardPlan plan = DartAcdcShardPlan.build(openAPI, openAPI.getComponents().getSchemas(), generator::sanitizeTag);
+
+        assertEquals(Set.of("Pets", "Orders"), plan.tags());
+        assertEquals(Set.of("Pet"), plan.schemasOf("Pets"));
+        assertEquals(Set.of("Order", "OrderNote"), plan.schemasOf("Orders"));
+        assertEquals(Set.of("Address", "Circle", "Shape", "Square", "Orphan"), plan.coreSchemas(),
+            "Circle is shared, so its sealed parent Shape and sibling Square go to core with it");
+    }
+
+    // ========== Generation ==========
+
+    @Test
+    @DisplayName("Generation: should generate a package per tag that imports shared models from the core package")
+    void testGeneration_PackagePerTag() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = DartAcdcCli.run(new String[] {
+            "-i", specFile.toString(), "-o", outputDir.toString(), "-p", "pubName=store", "--shard-by-tag"
+        }, new PrintStream(out, true), System.err);
+
+        assertEquals(0, status);
+        assertTrue(out.toString().contains("store_core: generated"), out.toString());
+        Path core = outputDir.resolve("store_core");
+        Path pets = outputDir.resolve("store_pets");
+        Path orders = outputDir.resolve("store_orders");
+
+        assertTrue(Files.exists(core.resolve("lib/models/address.dart")));
+        assertTrue(Files.exists(core.resolve("lib/models/shape.dart")));
+        assertTrue(Files.exists(core.resolve("lib/models/orphan.dart")));
+        assertFalse(Files.exists(core.resolve("lib/models/pet.dart")));
+        try (var files = Files.list(core.resolve("lib/remote_data_sources"))) {
+            assertEquals(1, files.count(), "The core package has no APIs, only the empty barrel");
+        }
+
+        assertTrue(Files.exists(pets.resolve("lib/models/pet.dart")));
+        assertFalse(Files.exists(pets.resolve("lib/models/address.dart")));
+        assertFalse(Files.exists(pets.resolve("lib/models/order.dart")));
+        assertTrue(Files.exists(pets.resolve("lib/remote_data_sources/PetsApi_remote_data_source_impl.dart")));
+        assertFalse(Files.exists(pets.resolve("lib/remote_data_sources/OrdersApi_remote_data_source_impl.dart")));
+        assertTrue(Files.exists(orders.resolve("lib/models/order_note.dart")));
+
+        String pet = Files.readString(pets.resolve("lib/models/pet.dart"));
+        assertTrue(pet.contains("import 'package:store_core/models/address.dart';"), pet);
+        String pubspec = Files.readString(pets.resolve("pubspec.yaml"));
+        assertTrue(pubspec.contains("name: store_pets"), pubspec);
+        assertTrue(pubspec.contains("store_core:\n    path: ../store_core"), pubspec);
+        String orderApi = Files.readString(orders.resolve("lib/remote_data_sources/OrdersApi_remote_data_source.dart"));
+        assertTrue(orderApi.contains("import 'package:store_core/models/circle.dart';"), orderApi);
+        assertTrue(orderApi.contains("import 'package:store_orders/models/order.dart';"), orderApi);
+        assertFalse(Files.readString(core.resolve("pubspec.yaml")).contains("path: ../"));
+    }
+
+    @Test
+    @DisplayName("Generation: should generate a single package without core for a single tag")
+    void testGeneration_SingleTag() throws IOException {
+        String spec = Files.readString(specFile).replace("tags: [orders]", "tags: [pets]");
+        Files.writeString(specFile, spec);
+
+        DartAcdcCli.run(new String[] {
+            "-i", specFile.toString(), "-o", outputDir.toString(), "-p", "pubName=store,shardByTag=true"
+        }, new PrintStream(new ByteArrayOutputStream(), true), System.err);
+
+        assertFalse(Files.exists(outputDir.resolve("store_core")));
+        Path pets = outputDir.resolve("store_pets");
+        for (String model : new String[] {"pet", "order", "address", "shape", "orphan"}) {
+            assertTrue(Files.exists(pets.resolve("lib/models/" + model + ".dart")), model);
+        }
+        assertFalse(Files.readString(pets.resolve("pubspec.yaml")).contains("path: ../"));
+    }
+}
@@ -0,0 +1,189 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+
+/**
+ * Tests for spec snapshots: an unchanged spec is loaded from its snapshot instead of being parsed.
+ */
+class DartAcdcSpecSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+    private Path snapshotDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+        snapshotDir = tempDir.resolve("snapshots");
+    }
+
+    // ========== Snapshot ==========
+
+    @Test
+    @DisplayName("Snapshot: should generate the same files from the snapshot as from the spec")
+    void testSnapshot_MatchesParsedSpec() throws IOException {
+        DartAcdcSpecSnapshot snapshot = new DartAcdcSpecSnapshot(specFile.toString(), snapshotDir);
+
+        generate(snapshot, tempDir.resolve("parsed"));
+        generate(snapshot, tempDir.resolve("loaded"));
+
+        assertEquals(1, snapshot.misses());
+        assertEquals(1, snapshot.hits());
+        assertSameFiles(tempDir.resolve("parsed"), tempDir.resolve("loaded"));
+    }
+
+    @Test
+    @DisplayName("Snapshot: should keep the configured spec on the generator and the configurator")
+    void testSnapshot_KeepsInputSpec() {
+        DartAcdcSpecSnapshot snapshot = new DartAcdcSpecSnapshot(specFile.toString(), snapshotDir);
+        CodegenConfigurator configurator = configurator(tempDir.resolve("generated"));
+
+        snapshot.toClientOptInput(configurator);
+        ClientOptInput loaded = snapshot.toClientOptInput(configurator);
+
+        assertEquals(1, snapshot.hits());
+        assertEquals(specFile.toString(), loaded.getConfig().getInputSpec());
+        assertTrue(loaded.getOpenAPI().getPaths().containsKey("/pets"));
+        assertEquals(specFile.toString(), configurator.toClientOptInput().getConfig().getInputSpec());
+    }
+
+    @Test
+    @DisplayName("Snapshot: should parse the spec again once it changed")
+    void testSnapshot_SpecChanged() throws IOException {
+        DartAcdcSpecSnapshot snapshot = new DartAcdcSpecSnapshot(specFile.toString(), snapshotDir);
+        CodegenConfigurator configurator = configurator(tempDir.resolve("generated"));
+        snapshot.toClientOptInput(configurator);
+
+        Files.writeString(specFile, Files.readString(specFile).replace("/pets/batch-upload:", "/pets/bulk-upload:"));
+        ClientOptInput changed = snapshot.toClientOptInput(configurator);
+        ClientOptInput loaded = snapshot.toClientOptInput(configurator);
+
+        assertEquals(2, snapshot.misses());
+        assertEquals(1, snapshot.hits());
+        assertTrue(changed.getOpenAPI().getPaths().containsKey("/pets/bulk-upload"));
+        assertTrue(loaded.getOpenAPI().getPaths().containsKey("/pets/bulk-upload"));
+    }
+
+    @Test
+    @DisplayName("Snapshot: should parse the spec again once a referenced file changed")
+    void testSnapshot_ReferencedFileChanged() throws IOException {
+        Path spec = tempDir.resolve("api.yaml");
+        Files.writeString(spec, String.join("\n",
+            "openapi: 3.0.3",
+            "info: {title: Api, version: 1.0.0}",
+            "paths:",
+            "  /items:",
+            "    get:",
+            "      operationId: listItems",
+            "      responses:",
+            "        '200':",
+            "          description: ok",
+            "          content:",
+            "            application/json:",
+            "              schema:",
+            "                $ref: './schemas/item.yaml'",
+            ""));
+        Path item = Files.createDirectories(tempDir.resolve("schemas")).resolve("item.yaml");
+        Files.writeString(item, "type: object\nproperties:\n  name: {type: string}\n");
+        DartAcdcSpecSnapshot snapshot = new DartAcdcSpecSnapshot(spec.toString(), snapshotDir);
+        CodegenConfigurator configurator = configurator(tempDir.resolve("generated")).setInputSpec(spec.toString());
+        snapshot.toClientOptInput(configurator);
+        snapshot.toClientOptInput(configurator);
+
+        Files.writeString(item, "type: object\nproperties:\n  title: {type: string}\n");
+        ClientOptInput changed = snapshot.toClientOptInput(configurator);
+
+        assertEquals(2, snapshot.misses());
+        assertEquals(1, snapshot.hits());
+        assertTrue(changed.getOpenAPI().getComponents().getSchemas().get("item").getProperties().containsKey("title"));
+    }
+
+    @Test
+    @DisplayName("Snapshot: should always parse specs referencing remote documents")
+    void testSnapshot_RemoteReference() throws IOException {
+        Files.writeString(specFile, Files.readString(specFile)
+            + "\nx-unused:\n  $ref: 'https://example.com/schemas.yaml#/Unused'\n");
+        DartAcdcSpecSnapshot snapshot = new DartAcdcSpecSnapshot(specFile.toString(), snapshotDir);
+
+        snapshot.toClientOptInput(configurator(tempDir.resolve("generated")));
+
+        assertEquals(0, snapshot.misses());
+        assertFalse(Files.exists(snapshotDir));
+    }
+
+    // ========== CLI ==========
+
+    @Test
+    @DisplayName("CLI: --spec-snapshot should keep the snapshot in the output directory")
+    void testCli_SpecSnapshot() throws IOException {
+        Path outputDir = tempDir.resolve("generated");
+        String[] args = {"-i", specFile.toString(), "-o", outputDir.toString(), "-p", "pubName=petstore_api", "--spec-snapshot"};
+
+        assertEquals(0, DartAcdcCli.run(args, new PrintStream(new ByteArrayOutputStream(), true), System.err));
+
+        try (Stream<Path> files = Files.list(outputDir)) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().endsWith(".snapshot")).count());
+        }
+        DartAcdcCli.Generation generation = DartAcdcCli.parseBatchArguments(args).get(0);
+        generation.snapshot().toClientOptInput(generation.configurator());
+        assertEquals(1, generation.snapshot().hits());
+    }
+
+    @Test
+    @DisplayName("CLI: --spec-snapshot-dir should read the spec of each config file")
+    void testCli_SpecSnapshotDirWithConfigFiles() throws IOException {
+        Path config = tempDir.resolve("petstore-config.yaml");
+        Files.writeString(config, String.join("\n",
+            "generatorName: dart-acdc",
+            "inputSpec: " + specFile,
+            "outputDir: " + tempDir.resolve("generated"),
+            "additionalProperties:",
+            "  pubName: petstore_api",
+            ""));
+
+        List<DartAcdcCli.Generation> generations = DartAcdcCli.parseBatchArguments(new String[] {
+            "-c", config.toString(), "-c", config.toString(), "--spec-snapshot-dir", snapshotDir.toString()
+        });
+        for (DartAcdcCli.Generation generation : generations) {
+            generation.snapshot().toClientOptInput(generation.configurator());
+        }
+
+        assertEquals(1, generations.get(0).snapshot().misses());
+        assertEquals(1, generations.get(1).snapshot().hits());
+        assertNull(DartAcdcCli.parseBatchArguments(new String[] {"-c", config.toString()}).get(0).snapshot());
+    }
+
+    // ========== Helper Methods ==========
+
+    private CodegenConfigurator configurator(Path output) {
+        return DartAcdcTestGeneration.configurator(specFile, output, Map.of());
+    }
+
+    private void generate(DartAcdcSpecSnapshot snapshot, Path output) {
+        new DartAcdcDefaultGenerator().opts(snapshot.toClientOptInput(configurator(output))).generate();
+    }
+}
@@ -0,0 +1,189 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.assertSameFiles;
+import static org.openapitools.codegen.languages.DartAcdcTestGeneration.readTree;
+
+/**
+ * Tests for staged output: generation writes into a staging directory that replaces the output directory at the end.
+ */
+class DartAcdcStagedOutputTest {
+
+    private static final Map<String, String> STAGED = Map.of(DartAcdcDefaultGenerator.STAGED_OUTPUT, "true");
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+    }
+
+    // ========== Output ==========
+
+    @Test
+    @DisplayName("Output: staged output should be identical to regular output")
+    void testOutput_SameAsRegularOutput() throws IOException {
+        generate(tempDir.resolve("regular"), Map.of());
+        List<File> files = generate(tempDir.resolve("staged"), STAGED);
+        generate(tempDir.resolve("parallel"), Map.of(DartAcdcDefaultGenerator.STAGED_OUTPUT, "true",
+            DartAcdcDefaultGenerator.PARALLEL, "true", DartAcdcDefaultGenerator.PARALLEL_THREADS, "4"));
+
+        assertSameFiles(tempDir.resolve("regular"), tempDir.resolve("staged"));
+        assertSameFiles(tempDir.resolve("regular"), tempDir.resolve("parallel"));
+        assertTrue(files.stream().allMatch(file -> file.toPath().startsWith(tempDir.resolve("staged"))), files.toString());
+        assertEquals(Set.of("petstore.yaml", "regular", "staged", "parallel"), listNames(tempDir));
+    }
+
+    @Test
+    @DisplayName("Output: regenerating should keep user files and the inode and modification time of unchanged files")
+    void testOutput_KeepsExistingFiles() throws IOException {
+        Path output = tempDir.resolve("generated");
+        generate(output, STAGED);
+        Path pubspec = output.resolve("pubspec.yaml");
+        Path userFile = Files.writeString(output.resolve("lib/extensions.dart"), "// user code\n");
+        FileTime modified = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(pubspec, modified);
+        Object inode = Files.getAttribute(pubspec, "unix:ino");
+
+        generate(output, STAGED);
+
+        assertEquals("// user code\n", Files.readString(userFile));
+        assertEquals(modified, Files.getLastModifiedTime(pubspec));
+        assertEquals(inode, Files.getAttribute(pubspec, "unix:ino"));
+        assertEquals(Set.of("petstore.yaml", "generated"), listNames(tempDir));
+    }
+
+    @Test
+    @DisplayName("Output: a failed generation should leave the previous output untouched")
+    void testOutput_FailureKeepsPreviousOutput() throws IOException {
+        Path output = tempDir.resolve("generated");
+        generate(output, STAGED);
+        Map<String, byte[]> before = readTree(output);
+        Path templates = Files.createDirectories(tempDir.resolve("templates"));
+        Files.writeString(templates.resolve("model.mustache"), "{{#models}}{{>missing_partial}}{{/models}}");
+
+        CodegenConfigurator configurator = DartAcdcTestGeneration.configurator(specFile, output,
+            Map.of(DartAcdcDefaultGenerator.STAGED_OUTPUT, "true", "templateDir", templates.toString()));
+        assertThrows(RuntimeException.class,
+            () -> new DartAcdcDefaultGenerator().opts(configurator.toClientOptInput()).generate());
+
+        assertSameFiles(before, readTree(output));
+        assertEquals(Set.of("petstore.yaml", "generated", "templates"), listNames(tempDir));
+    }
+
+    @Test
+    @DisplayName("Output: a failed generation writing on the calling thread should leave the previous output untouched")
+    void testOutput_FailureWithPostProcessingKeepsPreviousOutput() throws IOException {
+        Path output = tempDir.resolve("generated");
+        generate(output, Map.of());
+        Map<String, byte[]> before = readTree(output);
+        Files.writeString(specFile, Files.readString(specFile).replace(
+            "        tag:\n          type: string\n",
+            "        tag:\n          type: integer\n"));
+        Path templates = Files.createDirectories(tempDir.resolve("templates"));
+        Files.writeString(templates.resolve("README.mustache"), "{{>missing_partial}}");
+
+        // Post-processing turns the writer thread off, so files are written by the generator thread
+        CodegenConfigurator configurator = DartAcdcTestGeneration.configurator(specFile, output,
+                Map.of(DartAcdcDefaultGenerator.STAGED_OUTPUT, "true", "templateDir", templates.toString()))
+            .setEnablePostProcessFile(true);
+        assertThrows(RuntimeException.class,
+            () -> new DartAcdcDefaultGenerator().opts(configurator.toClientOptInput()).generate());
+
+        assertSameFiles(before, readTree(output));
+        assertEquals(Set.of("petstore.yaml", "generated", "templates"), listNames(tempDir));
+    }
+
+    @Test
+    @DisplayName("Output: an up-to-date incremental run should leave the output directory in place")
+    void testOutput_UpToDateIncrementalRun() throws IOException {
+        Path output = tempDir.resolve("generated");
+        Map<String, String> properties = Map.of(DartAcdcDefaultGenerator.STAGED_OUTPUT, "true",
+            DartAcdcDefaultGenerator.INCREMENTAL, "true");
+        generate(output, properties);
+        Object inode = Files.getAttribute(output, "unix:ino");
+
+        List<File> files = generate(output, properties);
+
+        assertEquals(inode, Files.getAttribute(output, "unix:ino"));
+        assertTrue(files.stream().allMatch(file -> file.toPath().startsWith(output) && file.isFile()), files.toString());
+        assertEquals(Set.of("petstore.yaml", "generated"), listNames(tempDir));
+    }
+
+    // ========== Writer ==========
+
+    @Test
+    @DisplayName("Writer: should replace hard-linked files instead of writing through the link")
+    void testWriter_ReplacesHardLinks() throws IOException {
+        Path live = Files.writeString(tempDir.resolve("live.dart"), "live");
+        Path staged = Files.createLink(tempDir.resolve("staged.dart"), live);
+        Path same = Files.createLink(tempDir.resolve("same.dart"), live);
+        List<DartAcdcOutputWriter.Outcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+
+        try (DartAcdcOutputWriter writer = new DartAcdcOutputWriter(false, (path, outcome) -> outcomes.add(outcome))) {
+            writer.submit(staged, "first".getBytes());
+            writer.submit(staged, "staged".getBytes());
+            writer.submit(same, "live".getBytes());
+            writer.submit(tempDir.resolve("new/file.dart"), "new".getBytes());
+            writer.flush();
+            assertTrue(writer.isSubmitted(staged));
+        }
+
+        assertEquals("live", Files.readString(live));
+        assertEquals("staged", Files.readString(staged));
+        assertEquals("new", Files.readString(tempDir.resolve("new/file.dart")));
+        assertEquals(Files.getAttribute(live, "unix:ino"), Files.getAttribute(same, "unix:ino"));
+        assertEquals(List.of(DartAcdcOutputWriter.Outcome.WRITTEN, DartAcdcOutputWriter.Outcome.WRITTEN,
+            DartAcdcOutputWriter.Outcome.UNCHANGED, DartAcdcOutputWriter.Outcome.WRITTEN), outcomes);
+    }
+
+    // ========== CLI ==========
+
+    @Test
+    @DisplayName("CLI: --staged-output should enable staged output")
+    void testCli_StagedOutput() {
+        CodegenConfigurator configurator = DartAcdcCli.parseArguments(new String[] {
+            "-i", specFile.toString(), "--staged-output"
+        });
+
+        assertNotNull(configurator);
+        assertEquals(true, configurator.toClientOptInput().getConfig().additionalProperties()
+            .get(DartAcdcDefaultGenerator.STAGED_OUTPUT));
+    }
+
+    // ========== Helper Methods ==========
+
+    private List<File> generate(Path output, Map<String, String> properties) {
+        return DartAcdcTestGeneration.generate(specFile, output, properties);
+    }
+
+    private static Set<String> listNames(Path dir) throws IOException {
+        Set<String> names = new HashSet<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            paths.forEach(path -> names.add(path.getFileName().toString()));
+        }
+        return names;
+    }
+}
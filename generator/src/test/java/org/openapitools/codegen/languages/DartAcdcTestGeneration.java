@@ -0,0 +1,106 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.config.CodegenConfigurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Shared fixture of the driver tests: generates a spec with {@link DartAcdcDefaultGenerator} and compares
+ * generated trees.
+ */
+final class DartAcdcTestGeneration {
+
+    /**
+     * Package name of the generated clients, unless the properties set another one.
+     */
+    static final String PUB_NAME = "petstore_api";
+
+    private DartAcdcTestGeneration() {
+    }
+
+    /**
+     * Returns a dart-acdc configurator. The {@code templateDir} property sets the template directory; every
+     * other property is an additional property.
+     *
+     * @param spec the OpenAPI spec
+     * @param output the output directory
+     * @param properties additional properties
+     * @return the configurator
+     */
+    static CodegenConfigurator configurator(Path spec, Path output, Map<String, String> properties) {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("dart-acdc")
+            .setInputSpec(spec.toString())
+            .setOutputDir(output.toString())
+            .addAdditionalProperty("pubName", PUB_NAME);
+        properties.forEach((key, value) -> {
+            if ("templateDir".equals(key)) {
+                configurator.setTemplateDir(value);
+            } else {
+                configurator.addAdditionalProperty(key, value);
+            }
+        });
+        return configurator;
+    }
+
+    /**
+     * Generates a spec into a directory.
+     *
+     * @param spec the OpenAPI spec
+     * @param output the output directory
+     * @param properties additional properties, see {@link #configurator(Path, Path, Map)}
+     * @return the generated files
+     */
+    static List<File> generate(Path spec, Path output, Map<String, String> properties) {
+        return new DartAcdcDefaultGenerator().opts(configurator(spec, output, properties).toClientOptInput()).generate();
+    }
+
+    /**
+     * Reads every file of a directory.
+     *
+     * @param dir the directory
+     * @return file contents by path relative to the directory, in path order
+     * @throws IOException if a file cannot be read
+     */
+    static Map<String, byte[]> readTree(Path dir) throws IOException {
+        Map<String, byte[]> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path file : paths.filter(Files::isRegularFile).toList()) {
+                files.put(dir.relativize(file).toString(), Files.readAllBytes(file));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Asserts that two directories hold the same files with the same content.
+     *
+     * @param expectedDir the expected tree
+     * @param actualDir the actual tree
+     * @throws IOException if a file cannot be read
+     */
+    static void assertSameFiles(Path expectedDir, Path actualDir) throws IOException {
+        assertSameFiles(readTree(expectedDir), readTree(actualDir));
+    }
+
+    /**
+     * Asserts that two trees read with {@link #readTree(Path)} hold the same files with the same content.
+     *
+     * @param expected the expected tree
+     * @param actual the actual tree
+     */
+    static void assertSameFiles(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((path, content) -> assertArrayEquals(content, actual.get(path), path));
+    }
+}
@@ -0,0 +1,181 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the skip-unchanged writer and stale file removal of DartAcdcDefaultGenerator.
+ */
+class DartAcdcUnchangedFilesTest {
+
+    private static final Map<String, String> REMOVE_STALE = Map.of(DartAcdcDefaultGenerator.REMOVE_STALE_FILES, "true");
+
+    private static final FileTime OLD_TIME = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        specFile = tempDir.resolve("petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+        outputDir = tempDir.resolve("generated");
+    }
+
+    // ========== Unchanged Files ==========
+
+    @Test
+    @DisplayName("Writer: regeneration should leave unchanged files untouched")
+    void testRegeneration_PreservesModificationTime() throws IOException {
+        DartAcdcDefaultGenerator first = generate(Map.of());
+        assertTrue(first.getWrittenCount() > 0);
+        assertEquals(0, first.getUnchangedCount());
+
+        Path pet = outputDir.resolve("lib/models/pet.dart");
+        Files.setLastModifiedTime(pet, OLD_TIME);
+
+        DartAcdcDefaultGenerator second = generate(Map.of());
+
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(pet), "Unchanged file should not be rewritten");
+        assertTrue(second.getUnchangedCount() > 0);
+
+        DartAcdcDefaultGenerator third = generate(Map.of());
+        assertEquals(0, third.getWrittenCount(), "A no-op regeneration should not write anything");
+    }
+
+    @Test
+    @DisplayName("Writer: file with different content of the same size should be rewritten")
+    void testChangedContent_SameSize_Rewritten() throws IOException {
+        generate(Map.of());
+        // Existing tests are skipped from the second run on, which changes .openapi-generator/FILES once
+        generate(Map.of());
+        Path pet = outputDir.resolve("lib/models/pet.dart");
+        String expected = Files.readString(pet);
+        Files.writeString(pet, expected.replace("class Pet", "class Pat"));
+        assertEquals(Files.size(pet), expected.length());
+
+        DartAcdcDefaultGenerator generator = generate(Map.of());
+
+        assertEquals(expected, Files.readString(pet));
+        assertEquals(1, generator.getWrittenCount());
+    }
+
+    // ========== Stale Files ==========
+
+    @Test
+    @DisplayName("Stale files: model removed from the spec should be deleted, its test kept")
+    void testRemovedSchema_Deleted() throws IOException {
+        addSchema();
+        generate(REMOVE_STALE);
+        Path model = outputDir.resolve("lib/models/extra_thing.dart");
+        Path test = outputDir.resolve("test/ExtraThingTest_test.dart");
+        assertTrue(Files.exists(model));
+        assertTrue(Files.exists(test));
+
+        Files.write(specFile, readResource());
+        DartAcdcDefaultGenerator generator = generate(REMOVE_STALE);
+
+        assertFalse(Files.exists(model), "Stale model should be deleted");
+        assertTrue(Files.exists(test), "Tests may have been edited and are never deleted");
+        assertEquals(1, generator.getDeletedCount());
+    }
+
+    @Test
+    @DisplayName("Stale files: should be kept unless removeStaleFiles=true")
+    void testRemovedSchema_KeptByDefault() throws IOException {
+        addSchema();
+        generate(Map.of());
+
+        Files.write(specFile, readResource());
+        DartAcdcDefaultGenerator generator = generate(Map.of());
+
+        assertTrue(Files.exists(outputDir.resolve("lib/models/extra_thing.dart")));
+        assertEquals(0, generator.getDeletedCount());
+    }
+
+    @Test
+    @DisplayName("Stale files: ignored files should never be deleted")
+    void testIgnoredFile_NotDeleted() throws IOException {
+        generate(Map.of());
+        Path pet = outputDir.resolve("lib/models/pet.dart");
+        Files.writeString(outputDir.resolve(".openapi-generator-ignore"), "lib/models/pet.dart\n");
+        Files.writeString(pet, "// owned by hand\n");
+
+        DartAcdcDefaultGenerator generator = generate(REMOVE_STALE);
+
+        assertEquals("// owned by hand\n", Files.readString(pet));
+        assertEquals(0, generator.getDeletedCount());
+    }
+
+    @Test
+    @DisplayName("Stale files: a models-only run should not delete the files it did not generate")
+    void testSelectiveGeneration_NothingDeleted() throws IOException {
+        generate(REMOVE_STALE);
+        Map<String, byte[]> before = DartAcdcTestGeneration.readTree(outputDir);
+
+        DartAcdcDefaultGenerator generator = new DartAcdcDefaultGenerator();
+        generator.opts(DartAcdcTestGeneration.configurator(specFile, outputDir, REMOVE_STALE)
+            .addGlobalProperty("models", "")
+            .toClientOptInput()).generate();
+
+        assertEquals(0, generator.getDeletedCount());
+        assertEquals(before.keySet(), DartAcdcTestGeneration.readTree(outputDir).keySet());
+    }
+
+    @Test
+    @DisplayName("CLI: should report written, unchanged and deleted counts")
+    void testCli_ReportsCounts() {
+        String[] args = {"-i", specFile.toString(), "-o", outputDir.toString()};
+        DartAcdcCli.run(args, new PrintStream(new ByteArrayOutputStream(), true), System.err);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int status = DartAcdcCli.run(args, new PrintStream(out, true), System.err);
+
+        assertEquals(0, status);
+        assertTrue(out.toString().matches("(?s)Generated \\d+ files \\(\\d+ written, \\d+ unchanged, 0 deleted\\).*"),
+            out.toString());
+    }
+
+    // ========== Helper Methods ==========
+
+    private DartAcdcDefaultGenerator generate(Map<String, String> properties) {
+        DartAcdcDefaultGenerator generator = new DartAcdcDefaultGenerator();
+        generator.opts(DartAcdcTestGeneration.configurator(specFile, outputDir, properties).toClientOptInput()).generate();
+        return generator;
+    }
+
+    private void addSchema() throws IOException {
+        String spec = Files.readString(specFile);
+        String replaced = spec.replace("    NewPet:\n",
+            "    ExtraThing:\n      type: object\n      properties:\n        name:\n          type: string\n    NewPet:\n");
+        assertNotEquals(spec, replaced, "Spec should contain NewPet");
+        Files.writeString(specFile, replaced);
+    }
+
+    private byte[] readResource() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in);
+            return in.readAllBytes();
+        }
+    }
+}
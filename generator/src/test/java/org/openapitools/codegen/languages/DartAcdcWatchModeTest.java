@@ -0,0 +1,183 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for watch mode: regeneration on spec and template changes.
+ */
+class DartAcdcWatchModeTest {
+
+    private static final long TIMEOUT_MILLIS = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path specFile;
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(tempDir.resolve("spec"));
+        specFile = tempDir.resolve("spec/petstore.yaml");
+        try (InputStream in = getClass().getResourceAsStream("/petstore-with-upload.yaml")) {
+            assertNotNull(in, "petstore-with-upload.yaml should be on the test classpath");
+            Files.write(specFile, in.readAllBytes());
+        }
+        outputDir = tempDir.resolve("generated");
+    }
+
+    // ========== Watch ==========
+
+    @Test
+    @DisplayName("Watch: should regenerate the affected files when the spec changes")
+    void testWatch_RegeneratesOnSpecChange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stdout = new PrintStream(out, true);
+        Thread watcher = new Thread(() -> DartAcdcCli.run(new String[] {
+            "-i", specFile.toString(), "-o", outputDir.toString(), "-p", "pubName=petstore_api", "--watch"
+        }, stdout, System.err));
+        watcher.start();
+        try {
+            awaitTrue(() -> out.toString().contains("Watching "));
+            Path pet = outputDir.resolve("lib/models/pet.dart");
+            assertFalse(Files.readString(pet).contains("nickname"));
+
+            Files.writeString(specFile, Files.readString(specFile).replace(
+                "        tag:\n          type: string\n",
+                "        tag:\n          type: string\n        nickname:\n          type: string\n"));
+
+            awaitTrue(() -> out.toString().contains("Regenerated in "));
+            assertTrue(Files.readString(pet).contains("nickname"));
+            assertTrue(out.toString().contains("Generated "), out.toString());
+        } finally {
+            watcher.interrupt();
+            watcher.join(TIMEOUT_MILLIS);
+        }
+        assertFalse(watcher.isAlive(), "Interrupting the watch should stop it");
+    }
+
+    @Test
+    @DisplayName("Watch: should ignore other files and keep watching after a failed run")
+    void testWatch_IgnoresOtherFilesAndSurvivesFailures() throws Exception {
+        Path templateDir = Files.createDirectories(tempDir.resolve("templates"));
+        AtomicInteger runs = new AtomicInteger();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        DartAcdcWatchMode watchMode = new DartAcdcWatchMode(specFile, templateDir, () -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new IllegalStateException("invalid spec");
+            }
+        }, new PrintStream(new ByteArrayOutputStream(), true), new PrintStream(err, true));
+        Thread watcher = new Thread(watchMode::run);
+        watcher.start();
+        try {
+            Files.writeString(specFile.resolveSibling("notes.txt"), "not the spec");
+            Thread.sleep(DartAcdcWatchMode.QUIET_PERIOD_MILLIS * 5);
+            assertEquals(0, runs.get(), "Other files next to the spec should not trigger a run");
+
+            Files.writeString(specFile, Files.readString(specFile) + "\n");
+            awaitTrue(() -> runs.get() == 1);
+            awaitTrue(() -> err.toString().contains("Generation failed: invalid spec"));
+
+            Files.writeString(templateDir.resolve("model.mustache"), "{{classname}}");
+            awaitTrue(() -> runs.get() == 2);
+        } finally {
+            watchMode.close();
+            watcher.join(TIMEOUT_MILLIS);
+        }
+        assertFalse(watcher.isAlive(), "Closing the watch should stop it");
+    }
+
+    @Test
+    @DisplayName("Watch: should regenerate when a file the spec references changes, including newly referenced ones")
+    void testWatch_FollowsLocalReferences() throws Exception {
+        Path schemas = Files.createDirectories(tempDir.resolve("spec/schemas"));
+        Path shared = Files.createDirectories(tempDir.resolve("shared"));
+        Path pet = schemas.resolve("pet.yaml");
+        Path error = shared.resolve("error.yaml");
+        Files.writeString(pet, "type: object\n");
+        Files.writeString(error, "type: object\n");
+        Files.writeString(specFile, Files.readString(specFile) + "# $ref: 'schemas/pet.yaml'\n");
+        AtomicInteger runs = new AtomicInteger();
+        DartAcdcWatchMode watchMode = new DartAcdcWatchMode(specFile, null, runs::incrementAndGet,
+            new PrintStream(new ByteArrayOutputStream(), true), System.err);
+        Thread watcher = new Thread(watchMode::run);
+        watcher.start();
+        try {
+            Files.writeString(pet, "type: string\n");
+            awaitTrue(() -> runs.get() == 1);
+
+            Files.writeString(error, "type: string\n");
+            Thread.sleep(DartAcdcWatchMode.QUIET_PERIOD_MILLIS * 5);
+            assertEquals(1, runs.get(), "Files the spec does not reference should not trigger a run");
+
+            Files.writeString(specFile, Files.readString(specFile) + "# $ref: '../shared/error.yaml'\n");
+            awaitTrue(() -> runs.get() == 2);
+            // The references are found again once the run ends
+            Thread.sleep(DartAcdcWatchMode.QUIET_PERIOD_MILLIS * 5);
+
+            Files.writeString(error, "type: integer\n");
+            awaitTrue(() -> runs.get() == 3);
+        } finally {
+            watchMode.close();
+            watcher.join(TIMEOUT_MILLIS);
+        }
+        assertFalse(watcher.isAlive(), "Closing the watch should stop it");
+    }
+
+    @Test
+    @DisplayName("Watch: should keep watching after a stack overflow and report other errors before stopping")
+    void testWatch_ReportsErrors() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        DartAcdcWatchMode watchMode = new DartAcdcWatchMode(specFile, null, () -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new StackOverflowError("recursive schema");
+            }
+            throw new InternalError("broken generator");
+        }, new PrintStream(new ByteArrayOutputStream(), true), new PrintStream(err, true));
+        AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        Thread watcher = new Thread(watchMode::run);
+        watcher.setUncaughtExceptionHandler((thread, e) -> uncaught.set(e));
+        watcher.start();
+        try {
+            Files.writeString(specFile, Files.readString(specFile) + "\n");
+            awaitTrue(() -> err.toString().contains("Generation failed: recursive schema"));
+
+            Files.writeString(specFile, Files.readString(specFile) + "\n");
+            watcher.join(TIMEOUT_MILLIS);
+        } finally {
+            watchMode.close();
+        }
+        assertFalse(watcher.isAlive(), "An error should stop the watch");
+        assertEquals(2, runs.get());
+        assertInstanceOf(InternalError.class, uncaught.get());
+        assertTrue(err.toString().contains("Generation failed, stopped watching: java.lang.InternalError: broken generator"),
+            err.toString());
+    }
+
+    // ========== Helper Methods ==========
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the watch");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.openapitools.codegen.languages;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based conversions that {@link DartAcdcIdentifierConverter} replaced, kept as the reference of
+ * {@link DartAcdcIdentifierConverterTest} and as the baseline of the benchmarks' {@code IdentifierConversionBenchmark},
+ * which use it through the test jar.
+ */
+final class LegacyIdentifierConversions {
+
+    private static final Pattern PATTERN_SPACES_HYPHENS = Pattern.compile("[ -]");
+    private static final Pattern PATTERN_NON_ALPHANUMERIC_PACKAGE = Pattern.compile("[^a-z0-9_]");
+    private static final Pattern PATTERN_CONSECUTIVE_UNDERSCORES = Pattern.compile("_+");
+    private static final Pattern PATTERN_LEADING_TRAILING_UNDERSCORES = Pattern.compile("^_+|_+$");
+    private static final Pattern PATTERN_SEPARATORS = Pattern.compile("[-_./\\s]+");
+    private static final Pattern PATTERN_WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PATTERN_NON_ALPHANUMERIC_CAMEL = Pattern.compile("[^a-zA-Z0-9]");
+    private static final Pattern PATTERN_LOWERCASE_UPPERCASE = Pattern.compile("([a-z0-9])([A-Z])");
+    private static final Pattern PATTERN_UPPERCASE_SEQUENCE = Pattern.compile("([A-Z])([A-Z][a-z])");
+
+    private LegacyIdentifierConversions() {
+    }
+
+    static String underscore(String name) {
+        String result = PATTERN_LOWERCASE_UPPERCASE.matcher(name).replaceAll("$1_$2");
+        result = PATTERN_UPPERCASE_SEQUENCE.matcher(result).replaceAll("$1_$2");
+        return result.toLowerCase();
+    }
+
+    static String camelCase(String input) {
+        String processed = PATTERN_SEPARATORS.matcher(input).replaceAll(" ").trim();
+        if (processed.isEmpty()) {
+            return "";
+        }
+
+        String[] words = PATTERN_WHITESPACE.split(processed);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (i == 0) {
+                result.append(word.toLowerCase());
+            } else {
+                String lower = word.toLowerCase();
+                result.append(lower.substring(0, 1).toUpperCase()).append(lower.substring(1));
+            }
+        }
+        return PATTERN_NON_ALPHANUMERIC_CAMEL.matcher(result.toString()).replaceAll("");
+    }
+
+    static String packageName(String name) {
+        String sanitized = name.toLowerCase();
+        sanitized = PATTERN_SPACES_HYPHENS.matcher(sanitized).replaceAll("_");
+        sanitized = PATTERN_NON_ALPHANUMERIC_PACKAGE.matcher(sanitized).replaceAll("");
+        sanitized = PATTERN_CONSECUTIVE_UNDERSCORES.matcher(sanitized).replaceAll("_");
+        return PATTERN_LEADING_TRAILING_UNDERSCORES.matcher(sanitized).replaceAll("");
+    }
+}
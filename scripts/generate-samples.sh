@@ -33,23 +33,22 @@ fi
 # Create output directory
 mkdir -p "$OUTPUT_DIR"
 
-# Function to generate a single spec
-generate_spec() {
-    local spec_name=$1
-    local config_file="$PROJECT_ROOT/bin/configs/dart-acdc-${spec_name}.yaml"
-
-    if [ ! -f "$config_file" ]; then
-        echo "Error: Config file not found: $config_file"
-        return 1
-    fi
+# Function to generate one or more specs in one JVM, concurrently
+generate_specs() {
+    local config_args=()
+    local spec_name
+    for spec_name in "$@"; do
+        local config_file="$PROJECT_ROOT/bin/configs/dart-acdc-${spec_name}.yaml"
+        if [ ! -f "$config_file" ]; then
+            echo "Error: Config file not found: $config_file"
+            return 1
+        fi
+        config_args+=(-c "$config_file")
+    done
 
-    echo "Generating $spec_name..."
     java -cp "$CLI_JAR:$GENERATOR_JAR" \
-        org.openapitools.codegen.OpenAPIGenerator \
-        generate \
-        -g dart-acdc \
-        -c "$config_file"
-    echo "✓ $spec_name generated"
+        org.openapitools.codegen.languages.DartAcdcCli \
+        "${config_args[@]}"
     echo ""
 }
 
@@ -61,14 +60,11 @@ if [ -n "$1" ]; then
     SPEC_NAME="$1"
     echo "Generating only: $SPEC_NAME"
     echo ""
-    generate_spec "$SPEC_NAME"
+    generate_specs "$SPEC_NAME"
 else
-    # Generate all specs
     echo "Generating all sample specs..."
     echo ""
-    for spec in "${ALL_SPECS[@]}"; do
-        generate_spec "$spec"
-    done
+    generate_specs "${ALL_SPECS[@]}"
 fi
 
 echo "======================================"